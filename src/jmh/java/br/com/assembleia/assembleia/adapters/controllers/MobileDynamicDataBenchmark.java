@@ -0,0 +1,221 @@
+package br.com.assembleia.assembleia.adapters.controllers;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import br.com.assembleia.assembleia.adapters.dtos.MobileDynamicDataDTO;
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.gateways.AgendaGatewayImpl;
+import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.adapters.gateways.SessionGatewayImpl;
+import br.com.assembleia.assembleia.adapters.repositories.AgendaRepository;
+import br.com.assembleia.assembleia.adapters.repositories.SessionRepository;
+import br.com.assembleia.assembleia.application.jobs.SessionStatusResolver;
+import br.com.assembleia.assembleia.infra.cache.ActiveSessionIndex;
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Dados dinâmicos do mobile com um histórico de {@code agendas} sessões encerradas (uma agenda por
+ * sessão, como no esquema) e algumas sessões atuais, em H2 com Hibernate e Spring Data.
+ *
+ * {@code entityGraph} é o caminho anterior: findAll de sessões e de agendas como entidades, com a
+ * associação com a sessão, em um único EntityManager (como no open-in-view). {@code projection} é o
+ * controller atual: uma consulta com join restrita às sessões relevantes. Os dois montam a mesma
+ * resposta, com a descrição das agendas, e incluem a serialização em JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MobileDynamicDataBenchmark {
+
+    private static final int CURRENT_SESSIONS = 20;
+    private static final String DESCRIPTION = "Descrição detalhada da pauta. ".repeat(20);
+
+    @Param({"1000", "10000"})
+    private int agendas;
+
+    private AnnotationConfigApplicationContext context;
+    private SessionGateway sessionGateway;
+    private AgendaGateway agendaGateway;
+    private SessionStatusResolver sessionStatusResolver;
+    private MobileConfigController controller;
+    private TransactionTemplate requestScope;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(PersistenceConfig.class);
+        sessionGateway = context.getBean(SessionGateway.class);
+        agendaGateway = context.getBean(AgendaGateway.class);
+        requestScope = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        requestScope.setReadOnly(true);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        // Sem o ciclo de vida, o status vem das datas, igual para os dois caminhos
+        sessionStatusResolver = SessionStatusResolver.byDates();
+        controller = new MobileConfigController(sessionGateway, sessionStatusResolver, objectMapper, Duration.ofDays(1));
+
+        populate(context.getBean(DataSource.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entityGraph() throws Exception {
+        MobileDynamicDataDTO data = requestScope.execute(status -> legacyDynamicData());
+        return objectMapper.writeValueAsBytes(data);
+    }
+
+    @Benchmark
+    public byte[] projection() throws Exception {
+        return objectMapper.writeValueAsBytes(controller.getDynamicData().getBody());
+    }
+
+    /**
+     * Montagem dos dados dinâmicos antes do modelo de leitura, mantida aqui como referência
+     */
+    private MobileDynamicDataDTO legacyDynamicData() {
+        List<MobileDynamicDataDTO.SessionOption> sessions = new ArrayList<>();
+        List<MobileDynamicDataDTO.AgendaOption> agendaOptions = new ArrayList<>();
+
+        for (Session session : sessionGateway.findAll()) {
+            SessionStatus status = sessionStatusResolver.status(
+                session.getId(), session.getStartDate(), session.getEndDate());
+            sessions.add(new MobileDynamicDataDTO.SessionOption(
+                session.getId(),
+                "Sessão - " + session.getStartDate().toLocalDate(),
+                session.getStartDate(),
+                session.getEndDate(),
+                status.name()));
+        }
+
+        for (Agenda agenda : agendaGateway.findAll()) {
+            Session session = agenda.getSession();
+            SessionStatus status = sessionStatusResolver.status(
+                session.getId(), session.getStartDate(), session.getEndDate());
+            agendaOptions.add(new MobileDynamicDataDTO.AgendaOption(
+                agenda.getId(),
+                agenda.getTitle(),
+                agenda.getDescription(),
+                session.getId(),
+                status.name(),
+                status == SessionStatus.ATIVA));
+        }
+
+        return new MobileDynamicDataDTO(sessions, agendaOptions,
+            new MobileDynamicDataDTO.GeneralSettings("1.0", 60, 255, 1000));
+    }
+
+    /**
+     * Histórico de sessões de 4 horas, uma a cada 6 horas, terminando antes do lookback, seguido de
+     * sessões atuais e futuras
+     */
+    private void populate(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // O hbm2ddl cria descricao como VARCHAR(255) (no banco ela é TEXT) e não cria o índice da V9
+        jdbcTemplate.execute("ALTER TABLE votacao.pautas ALTER COLUMN descricao SET DATA TYPE VARCHAR(4000)");
+        jdbcTemplate.execute("CREATE INDEX idx_sessoes_data_fim_data_inicio ON votacao.sessoes (data_fim, data_inicio)");
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> sessionRows = new ArrayList<>();
+        List<Object[]> agendaRows = new ArrayList<>();
+        for (int i = 0; i < agendas; i++) {
+            LocalDateTime start = i < agendas - CURRENT_SESSIONS
+                ? now.minusDays(2).minusHours(6L * (agendas - i))
+                : now.minusHours(2).plusHours(6L * (i - (agendas - CURRENT_SESSIONS)));
+            UUID sessionId = UUID.randomUUID();
+            sessionRows.add(new Object[] {sessionId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(4))});
+            agendaRows.add(new Object[] {UUID.randomUUID(), "Pauta " + i, DESCRIPTION, sessionId});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO votacao.sessoes (id, data_inicio, data_fim, version) VALUES (?, ?, ?, 0)", sessionRows);
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO votacao.pautas (id, titulo, descricao, sessao_id) VALUES (?, ?, ?, ?)", agendaRows);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(
+        basePackageClasses = SessionRepository.class,
+        includeFilters = @ComponentScan.Filter(
+            type = FilterType.ASSIGNABLE_TYPE, classes = {SessionRepository.class, AgendaRepository.class}))
+    static class PersistenceConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource("jdbc:h2:mem:mobile-dynamic-data;DB_CLOSE_DELAY=-1", "sa", "");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan(Session.class.getPackageName());
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.getJpaPropertyMap().put("hibernate.hbm2ddl.auto", "create-only");
+            factory.getJpaPropertyMap().put("hibernate.hbm2ddl.create_namespaces", "true");
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory.getObject());
+        }
+
+        @Bean
+        SessionGatewayImpl sessionGateway(SessionRepository sessionRepository) {
+            return new SessionGatewayImpl(sessionRepository, new ActiveSessionIndex(new SimpleMeterRegistry(), false));
+        }
+
+        @Bean
+        AgendaGatewayImpl agendaGateway(AgendaRepository agendaRepository) {
+            return new AgendaGatewayImpl(agendaRepository);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.assembleia.assembleia.adapters.controllers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.application.utils.CpfValidator;
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
+import br.com.assembleia.assembleia.infra.messaging.serialization.VoteEventSerializer;
+
+/**
+ * Compara o pool fixo de threads de plataforma (padrão do Tomcat, 200 threads) com uma thread
+ * virtual por requisição, para uma rajada de requisições simultâneas que validam o CPF e publicam
+ * o voto pelo {@link AssembleiaEventProducer} com um KafkaTemplate real. O broker configurado não
+ * responde, então cada send bloqueia até {@code max.block.ms} esperando metadados, como acontece
+ * com o Kafka fora do ar. Essa espera é um wait dentro de synchronized no cliente Kafka, que no
+ * Java 21 prende a thread virtual à portadora.
+ *
+ * Cada invocação só termina quando a última requisição da rajada termina, então os percentis do
+ * modo SampleTime (p99 incluso) equivalem à latência da requisição mais lenta. Os contadores
+ * auxiliares trazem o pico de requisições em andamento e os envios que estouraram o max.block.ms;
+ * o JMH soma contadores de eventos entre iterações, por isso a medição tem uma única iteração.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 1, time = 10)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final String UNREACHABLE_BROKER = "127.0.0.1:9";
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"200", "1000", "5000"})
+    private int concurrentRequests;
+
+    @Param({"5"})
+    private long maxBlockMillis;
+
+    private ExecutorService executor;
+    private DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private AssembleiaEventProducer eventProducer;
+    private final AtomicLong inFlight = new AtomicLong();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RequestCounters {
+        public long peakInFlight;
+        public long timedOutSends;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakInFlight = 0;
+            timedOutSends = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        producerFactory = new DefaultKafkaProducerFactory<>(Map.of(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, UNREACHABLE_BROKER,
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, VoteEventSerializer.class,
+            ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMillis));
+        eventProducer = new AssembleiaEventProducer(
+            new KafkaTemplate<>(producerFactory), Runnable::run, new VoteEventSharding(16));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        producerFactory.destroy();
+    }
+
+    @Benchmark
+    public long burst(RequestCounters counters) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(concurrentRequests);
+        AtomicLong peak = new AtomicLong();
+        AtomicLong timedOut = new AtomicLong();
+        for (int i = 0; i < concurrentRequests; i++) {
+            long cpf = 10_000_000_000L + i;
+            executor.execute(() -> {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    if (!handleRequest(cpf)) {
+                        timedOut.incrementAndGet();
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        counters.peakInFlight = Math.max(counters.peakInFlight, peak.get());
+        counters.timedOutSends += timedOut.get();
+        return timedOut.get();
+    }
+
+    /**
+     * Valida o CPF e publica o voto, esperando a confirmação do envio
+     */
+    private boolean handleRequest(long cpf) {
+        if (!CpfValidator.isValid("082.238.619-41")) {
+            return false;
+        }
+        VoteRegisteredEventDTO event = VoteRegisteredEventDTO.from(
+            UUID.randomUUID(), UUID.randomUUID(), cpf, VoteStatus.YES, LocalDateTime.now());
+        try {
+            eventProducer.publishVoteRegisteredEvents(List.of(event)).join();
+            return true;
+        } catch (CompletionException e) {
+            return false;
+        }
+    }
+}
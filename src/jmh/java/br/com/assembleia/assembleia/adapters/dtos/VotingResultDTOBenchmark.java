@@ -0,0 +1,37 @@
+package br.com.assembleia.assembleia.adapters.dtos;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Montagem do resultado de votação servido por /v1/votes/results
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VotingResultDTOBenchmark {
+
+    @Param({"false", "true"})
+    private boolean sessionEnded;
+
+    private final UUID agendaId = UUID.randomUUID();
+
+    @Benchmark
+    public VotingResultDTO create() {
+        return VotingResultDTO.create(agendaId, "Aprovação do novo orçamento", 15_321, 8_107, sessionEnded);
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.assembleia.assembleia.application.usecases;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.gateways.VoteGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteOutboxGateway;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.ImportResult;
+import br.com.assembleia.assembleia.adapters.repositories.VoteOutboxRepository.OutboxEntry;
+import br.com.assembleia.assembleia.infra.cache.PendingVoteRegistry;
+import br.com.assembleia.assembleia.infra.cache.VoteBloomFilter;
+import br.com.assembleia.assembleia.infra.cache.VoteStatusStore;
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import br.com.assembleia.assembleia.infra.db.entities.Vote;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Registro de voto com gateways substituídos por stubs, medindo apenas o custo do próprio caso
+ * de uso: validação do CPF, checagem de voto duplicado e montagem do evento
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteUseCaseBenchmark {
+
+    private static final String CPF = "08223861941";
+
+    private VoteUseCase voteUseCase;
+    private PendingVoteRegistry pendingVoteRegistry;
+    private Agenda agenda;
+
+    @Setup
+    public void setUp() {
+        VoteGateway voteGateway = new StubVoteGateway();
+        VoteBloomFilter voteBloomFilter = new VoteBloomFilter(
+            voteGateway, null, Runnable::run, new SimpleMeterRegistry(), false, 1, 0.01, 1);
+
+        // Os demais colaboradores só participam da consulta de resultados
+        pendingVoteRegistry = new PendingVoteRegistry(Duration.ofMinutes(2), 100_000);
+        voteUseCase = new VoteUseCase(voteGateway, null, new StubVoteOutboxGateway(), voteBloomFilter,
+            null, null, null, null, new VoteStatusStore(Duration.ofMinutes(15), 100_000), pendingVoteRegistry, null);
+
+        LocalDateTime now = LocalDateTime.now();
+        Session session = new Session(now.minusHours(1), now.plusDays(1));
+        session.setId(UUID.randomUUID());
+        agenda = new Agenda("Agenda", "Descrição", session);
+        agenda.setId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Vote registerVote() {
+        Vote vote = voteUseCase.registerVote(agenda, CPF, VoteStatus.YES);
+        // O mesmo participante vota a cada invocação, como se o consumidor tivesse confirmado o voto anterior
+        pendingVoteRegistry.release(vote.getAgenda().getId(), vote.getCpf());
+        return vote;
+    }
+
+    private static final class StubVoteOutboxGateway implements VoteOutboxGateway {
+
+        private volatile VoteRegisteredEventDTO lastEvent;
+
+        @Override
+        public void save(VoteRegisteredEventDTO event) {
+            lastEvent = event;
+        }
+
+        @Override
+        public int relay(int batchSize, Consumer<List<OutboxEntry>> publisher) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsPendingByAgendaId(UUID agendaId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class StubVoteGateway implements VoteGateway {
+
+        @Override
+        public boolean existsByAgendaIdAndCpf(UUID agendaId, long cpf) {
+            return false;
+        }
+
+        @Override
+        public boolean existsById(UUID voteId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void save(Vote vote) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<UUID> saveAllIgnoringDuplicates(List<Vote> votes) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<UUID> findExistingIds(List<UUID> voteIds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ImportResult importVotes(Stream<VoteRegisteredEventDTO> votes) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long countByAgendaIdAndVote(UUID agendaId, VoteStatus vote) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long countByAgendaId(UUID agendaId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forEachVoter(UUID agendaId, ObjLongConsumer<UUID> action) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forEachVoterOfSessionsEndingAfter(LocalDateTime dateTime, ObjLongConsumer<UUID> action) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.assembleia.assembleia.application.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validação de CPF executada em toda requisição de voto: CPF válido, formatado, com dígito
+ * verificador errado e com todos os dígitos repetidos. {@code legacyIsValid} mantém a
+ * implementação anterior (replaceAll + matches) como referência.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfValidatorBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"08223861941", "082.238.619-41", "12345678901", "11111111111"})
+    private String cpf;
+
+    private CharSequence[] batch;
+
+    @Setup
+    public void setUp() {
+        batch = new CharSequence[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch[i] = cpf;
+        }
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return CpfValidator.isValid(cpf);
+    }
+
+    @Benchmark
+    public long normalize() {
+        return CpfValidator.normalize(cpf);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public boolean[] validateAll() {
+        return CpfValidator.validateAll(batch);
+    }
+
+    @Benchmark
+    public boolean legacyIsValid() {
+        return legacyIsValid(cpf);
+    }
+
+    private static boolean legacyIsValid(String cpf) {
+        if (cpf == null) {
+            return false;
+        }
+
+        cpf = cpf.replaceAll("[^0-9]", "");
+
+        if (cpf.length() != 11) {
+            return false;
+        }
+
+        if (cpf.matches("(\\d)\\1{10}")) {
+            return false;
+        }
+
+        int soma = 0;
+        for (int i = 0; i < 9; i++) {
+            soma += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
+        }
+        int primeiroDigitoVerificador = 11 - (soma % 11);
+        if (primeiroDigitoVerificador >= 10) {
+            primeiroDigitoVerificador = 0;
+        }
+
+        if (Character.getNumericValue(cpf.charAt(9)) != primeiroDigitoVerificador) {
+            return false;
+        }
+
+        soma = 0;
+        for (int i = 0; i < 10; i++) {
+            soma += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
+        }
+        int segundoDigitoVerificador = 11 - (soma % 11);
+        if (segundoDigitoVerificador >= 10) {
+            segundoDigitoVerificador = 0;
+        }
+
+        return Character.getNumericValue(cpf.charAt(10)) == segundoDigitoVerificador;
+    }
+}
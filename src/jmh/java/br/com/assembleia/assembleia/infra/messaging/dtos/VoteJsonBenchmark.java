@@ -0,0 +1,72 @@
+package br.com.assembleia.assembleia.infra.messaging.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import br.com.assembleia.assembleia.adapters.dtos.VoteRequestDTO;
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+
+/**
+ * Serialização JSON do caminho do voto: corpo da requisição HTTP e evento publicado em vote-events
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private VoteRegisteredEventDTO event;
+    private byte[] eventJson;
+    private VoteRequestDTO request;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        event = VoteRegisteredEventDTO.from(UUID.randomUUID(), UUID.randomUUID(), 8223861941L,
+            VoteStatus.YES, LocalDateTime.of(2025, 1, 25, 10, 30));
+        eventJson = objectMapper.writeValueAsBytes(event);
+
+        request = new VoteRequestDTO(UUID.randomUUID(), "08223861941", VoteStatus.NO);
+        requestJson = objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] serializeEvent() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public VoteRegisteredEventDTO deserializeEvent() throws Exception {
+        return objectMapper.readValue(eventJson, VoteRegisteredEventDTO.class);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public VoteRequestDTO deserializeRequest() throws Exception {
+        return objectMapper.readValue(requestJson, VoteRequestDTO.class);
+    }
+}
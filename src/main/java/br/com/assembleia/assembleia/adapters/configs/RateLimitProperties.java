@@ -0,0 +1,54 @@
+package br.com.assembleia.assembleia.adapters.configs;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração do limite de requisições (assembleia.rate-limit.*).
+ *
+ * Cada rota define método, padrão de caminho (relativo ao context-path), chave do bucket (IP do
+ * cliente ou CPF do voto) e a taxa permitida. Uma requisição precisa passar em todas as rotas que
+ * casam com ela.
+ */
+@ConfigurationProperties(prefix = "assembleia.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("redis") Mode mode,
+        @DefaultValue("100ms") Duration redisTimeout,
+        @DefaultValue("30s") Duration redisRetryInterval,
+        @DefaultValue("100000") int localMaxBuckets,
+        @DefaultValue("4096") int maxInspectedBodySize,
+        List<Route> routes) {
+
+    public RateLimitProperties {
+        routes = routes != null ? List.copyOf(routes) : List.of();
+    }
+
+    /**
+     * redis: buckets compartilhados por todas as réplicas; local: buckets em memória desta instância
+     */
+    public enum Mode {
+        REDIS,
+        LOCAL
+    }
+
+    public enum KeyType {
+        IP,
+        CPF
+    }
+
+    /**
+     * Limite de uma rota: capacity requisições por period, por chave. Sem method a rota vale para
+     * qualquer método.
+     */
+    public record Route(
+            String name,
+            String method,
+            @DefaultValue("/**") String pattern,
+            @DefaultValue("ip") KeyType key,
+            long capacity,
+            @DefaultValue("1m") Duration period) {}
+}
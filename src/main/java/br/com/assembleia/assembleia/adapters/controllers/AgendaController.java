@@ -4,7 +4,10 @@ import br.com.assembleia.assembleia.application.usecases.AgendaUseCase;
 import br.com.assembleia.assembleia.adapters.dtos.ResponseDTO;
 import br.com.assembleia.assembleia.adapters.dtos.AgendaRequestDTO;
 import br.com.assembleia.assembleia.adapters.dtos.AgendaResponseDTO;
+import br.com.assembleia.assembleia.adapters.dtos.PageDTO;
 import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.repositories.ListingCursor;
+import br.com.assembleia.assembleia.adapters.repositories.ListingFilter;
 import br.com.assembleia.assembleia.infra.db.entities.Agenda;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,11 +20,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -32,11 +42,13 @@ public class AgendaController {
 
     private final AgendaUseCase agendaUseCase;
     private final AgendaGateway agendaGateway;
+    private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(AgendaController.class);
 
-    public AgendaController(AgendaUseCase agendaUseCase, AgendaGateway agendaGateway) {
+    public AgendaController(AgendaUseCase agendaUseCase, AgendaGateway agendaGateway, ObjectMapper objectMapper) {
         this.agendaUseCase = agendaUseCase;
         this.agendaGateway = agendaGateway;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -69,6 +81,82 @@ public class AgendaController {
         }
     }
 
+    @Operation(summary = "Listar agendas",
+               description = "Lista agendas em páginas ordenadas pelo início da sessão, com filtros opcionais de status "
+                   + "(PROGRAMADA, ATIVA, ENCERRADA) e período (sessões que se sobrepõem a from..to). "
+                   + "Para a próxima página, repita a consulta com cursor=nextCursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página obtida com sucesso",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = PageDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Filtro, cursor ou limite inválido",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class))),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class)))
+    })
+    @GetMapping
+    public ResponseEntity<Object> list(
+            @Parameter(description = "Status da sessão", example = "ATIVA")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Início do período (ISO-8601)", example = "2025-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fim do período (ISO-8601)", example = "2025-12-31T23:59:59")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Cursor devolvido em nextCursor pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (1 a " + ListingResponses.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + ListingResponses.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            ListingFilter filter = ListingFilter.of(status, from, to);
+            int pageSize = ListingResponses.pageSize(limit);
+            List<Agenda> rows = agendaGateway.findAgendaPage(filter, ListingResponses.cursor(cursor), pageSize + 1);
+            return ResponseEntity.ok(ListingResponses.page(rows, pageSize, AgendaController::cursorOf,
+                AgendaController::toResponse));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid agenda listing request: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ResponseDTO.of(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Unexpected error listing agendas: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal server error"));
+        }
+    }
+
+    @Operation(summary = "Exportar agendas em NDJSON",
+               description = "Mesmos filtros da listagem, sem paginação: um objeto JSON por linha, escrito à medida que "
+                   + "as linhas são lidas do banco")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream iniciado",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+        @ApiResponse(responseCode = "400", description = "Filtro ou cursor inválido",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class)))
+    })
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor) {
+        try {
+            ListingFilter filter = ListingFilter.of(status, from, to);
+            ListingCursor after = ListingResponses.cursor(cursor);
+            StreamingResponseBody body = ListingResponses.ndjson(objectMapper, sink ->
+                agendaGateway.forEachAgenda(filter, after, agenda -> sink.accept(toResponse(agenda))));
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid agenda stream request: {}", e.getMessage());
+            return ListingResponses.badRequest(objectMapper, e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> findById(@PathVariable String id) {
         try {
@@ -81,15 +169,7 @@ public class AgendaController {
                     .body(ResponseDTO.of(HttpStatus.NOT_FOUND.value(), "Agenda not found"));
             }
             
-            Agenda agenda = agendaOpt.get();
-            AgendaResponseDTO response = new AgendaResponseDTO(
-                agenda.getId(),
-                agenda.getTitle(),
-                agenda.getDescription(),
-                agenda.getSession().getId()
-            );
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(toResponse(agendaOpt.get()));
         } catch (IllegalArgumentException e) {
             logger.error("Invalid UUID: {}", id);
             return ResponseEntity
@@ -102,4 +182,17 @@ public class AgendaController {
                 .body(ResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal server error"));
         }
     }
+
+    private static ListingCursor cursorOf(Agenda agenda) {
+        return new ListingCursor(agenda.getSession().getStartDate(), agenda.getSession().getId());
+    }
+
+    private static AgendaResponseDTO toResponse(Agenda agenda) {
+        return new AgendaResponseDTO(
+            agenda.getId(),
+            agenda.getTitle(),
+            agenda.getDescription(),
+            agenda.getSession().getId()
+        );
+    }
 }
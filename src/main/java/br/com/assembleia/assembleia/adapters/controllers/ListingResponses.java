@@ -0,0 +1,90 @@
+package br.com.assembleia.assembleia.adapters.controllers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.assembleia.assembleia.adapters.dtos.PageDTO;
+import br.com.assembleia.assembleia.adapters.dtos.ResponseDTO;
+import br.com.assembleia.assembleia.adapters.repositories.ListingCursor;
+
+/**
+ * Partes comuns das listagens de sessões e agendas: tamanho de página, montagem da página com o
+ * cursor seguinte e escrita em NDJSON
+ */
+final class ListingResponses {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private ListingResponses() {
+    }
+
+    static int pageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return limit;
+    }
+
+    static ListingCursor cursor(String token) {
+        return token == null || token.isBlank() ? null : ListingCursor.decode(token);
+    }
+
+    /**
+     * A resposta do stream é sempre um StreamingResponseBody, então o erro de validação é escrito por ele
+     */
+    static ResponseEntity<StreamingResponseBody> badRequest(ObjectMapper objectMapper, String message) {
+        ResponseDTO body = ResponseDTO.of(HttpStatus.BAD_REQUEST.value(), message);
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(outputStream -> objectMapper.writeValue(outputStream, body));
+    }
+
+    /**
+     * Recebe até limit + 1 linhas: a linha extra só indica que há próxima página
+     */
+    static <E, T> PageDTO<T> page(List<E> rows, int limit, Function<E, ListingCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> items = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(items.get(limit - 1)).encode() : null;
+        return new PageDTO<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Escreve um objeto JSON por linha à medida que as linhas chegam do cursor, sem acumular a
+     * resposta. Sem flush por linha: o buffer do gerador e o do container mandam os dados ao
+     * cliente em blocos. O separador entre valores raiz do Jackson (um espaço) é desligado, cada
+     * linha termina com o próprio '\n'.
+     */
+    static StreamingResponseBody ndjson(ObjectMapper objectMapper, Consumer<Consumer<Object>> source) {
+        ObjectWriter writer = objectMapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("");
+        return outputStream -> {
+            JsonGenerator generator = writer.createGenerator(outputStream);
+            source.accept(item -> {
+                try {
+                    writer.writeValue(generator, item);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        };
+    }
+}
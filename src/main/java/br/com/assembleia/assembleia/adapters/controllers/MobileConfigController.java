@@ -3,25 +3,35 @@ package br.com.assembleia.assembleia.adapters.controllers;
 import br.com.assembleia.assembleia.adapters.dtos.MobileConfigDTO;
 import br.com.assembleia.assembleia.adapters.dtos.MobileDynamicDataDTO;
 import br.com.assembleia.assembleia.adapters.dtos.ResponseDTO;
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
 import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
-import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.repositories.SessionOptionRepository.SessionAgendaOption;
+import br.com.assembleia.assembleia.application.jobs.SessionStatusResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.UUID;
 
 @Tag(name = "Mobile Config", description = "Configurações para aplicação mobile")
 @RestController
@@ -30,11 +40,21 @@ public class MobileConfigController {
 
     private static final Logger logger = LoggerFactory.getLogger(MobileConfigController.class);
     private final SessionGateway sessionGateway;
-    private final AgendaGateway agendaGateway;
+    private final SessionStatusResolver sessionStatusResolver;
+    private final Duration endedLookback;
+    private final PrecomputedResponse mobileConfig;
 
-    public MobileConfigController(SessionGateway sessionGateway, AgendaGateway agendaGateway) {
+    /**
+     * A configuração só depende das definições de formulário e telas abaixo, então é serializada e
+     * comprimida uma vez ao subir; muda apenas com uma nova versão da aplicação
+     */
+    public MobileConfigController(SessionGateway sessionGateway, SessionStatusResolver sessionStatusResolver,
+            ObjectMapper objectMapper,
+            @Value("${assembleia.mobile.dynamic-data.ended-lookback:1d}") Duration endedLookback) {
         this.sessionGateway = sessionGateway;
-        this.agendaGateway = agendaGateway;
+        this.sessionStatusResolver = sessionStatusResolver;
+        this.endedLookback = endedLookback;
+        this.mobileConfig = PrecomputedResponse.render(objectMapper, createMobileConfig());
     }
 
     @Operation(summary = "Obter configurações da aplicação mobile", 
@@ -43,23 +63,21 @@ public class MobileConfigController {
         @ApiResponse(responseCode = "200", description = "Configurações obtidas com sucesso", 
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = MobileConfigDTO.class))),
-        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+        @ApiResponse(responseCode = "304", description = "Configuração não mudou desde o ETag informado em If-None-Match")
     })
-    @GetMapping
-    public ResponseEntity<MobileConfigDTO> getMobileConfig() {
-        try {
-            logger.info("Generating mobile configuration");
-            
-            MobileConfigDTO config = createMobileConfig();
-            
-            logger.info("Mobile configuration generated successfully");
-            return ResponseEntity.ok(config);
-        } catch (Exception e) {
-            logger.error("Error generating mobile configuration: {}", e.getMessage());
-            return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .build();
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getMobileConfig(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = PrecomputedResponse.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(mobileConfig.etag(gzip))
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
         }
+        return response.body(mobileConfig.body(gzip));
     }
 
     @Operation(summary = "Obter dados dinâmicos para formulários", 
@@ -73,7 +91,7 @@ public class MobileConfigController {
                     schema = @Schema(implementation = ResponseDTO.class)))
     })
     @GetMapping("/dynamic-data")
-    public ResponseEntity<MobileDynamicDataDTO> getDynamicData() {
+    public ResponseEntity<Object> getDynamicData() {
         try {
             logger.info("Generating dynamic data for mobile forms");
             
@@ -85,7 +103,7 @@ public class MobileConfigController {
             logger.error("Error generating dynamic data: {}", e.getMessage());
             return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .build();
+                .body(ResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Error generating dynamic data"));
         }
     }
 
@@ -361,120 +379,49 @@ public class MobileConfigController {
         );
     }
 
+    /**
+     * Uma consulta com as sessões relevantes (ainda não encerradas ou encerradas dentro do
+     * lookback, para a tela de resultados) e as agendas delas; as linhas de cada sessão vêm
+     * em sequência, então sessões e agendas são montadas em uma passada
+     */
     private MobileDynamicDataDTO createDynamicData() {
-        try {
-            List<MobileDynamicDataDTO.SessionOption> sessions = new ArrayList<>();
-            List<MobileDynamicDataDTO.AgendaOption> agendas = new ArrayList<>();
-            
-            List<br.com.assembleia.assembleia.infra.db.entities.Session> allSessions = sessionGateway.findAll();
-            LocalDateTime now = LocalDateTime.now();
-            
-            for (var session : allSessions) {
-                String status;
-                if (now.isBefore(session.getStartDate())) {
-                    status = "PROGRAMADA";
-                } else if (now.isAfter(session.getEndDate())) {
-                    status = "ENCERRADA";
-                } else {
-                    status = "ATIVA";
-                }
-                
+        List<SessionAgendaOption> rows = sessionGateway.findSessionAgendaOptions(LocalDateTime.now().minus(endedLookback));
+        List<MobileDynamicDataDTO.SessionOption> sessions = new ArrayList<>();
+        List<MobileDynamicDataDTO.AgendaOption> agendas = new ArrayList<>(rows.size());
+
+        UUID currentSessionId = null;
+        SessionStatus status = null;
+        for (SessionAgendaOption row : rows) {
+            if (!row.sessionId().equals(currentSessionId)) {
+                currentSessionId = row.sessionId();
+                status = sessionStatusResolver.status(row.sessionId(), row.startDate(), row.endDate());
                 sessions.add(new MobileDynamicDataDTO.SessionOption(
-                    session.getId(),
-                    "Sessão - " + session.getStartDate().toLocalDate(),
-                    session.getStartDate(),
-                    session.getEndDate(),
-                    status
+                    row.sessionId(),
+                    "Sessão - " + row.startDate().toLocalDate(),
+                    row.startDate(),
+                    row.endDate(),
+                    status.name()
                 ));
             }
-            
-            List<br.com.assembleia.assembleia.infra.db.entities.Agenda> allAgendas = agendaGateway.findAll();
-            
-            for (var agenda : allAgendas) {
-                String status;
-                boolean canVote = false;
-                
-                if (now.isBefore(agenda.getSession().getStartDate())) {
-                    status = "PROGRAMADA";
-                } else if (now.isAfter(agenda.getSession().getEndDate())) {
-                    status = "ENCERRADA";
-                } else {
-                    status = "ATIVA";
-                    canVote = true;
-                }
-                
+            if (row.agendaId() != null) {
                 agendas.add(new MobileDynamicDataDTO.AgendaOption(
-                    agenda.getId(),
-                    agenda.getTitle(),
-                    agenda.getDescription(),
-                    agenda.getSession().getId(),
-                    status,
-                    canVote
+                    row.agendaId(),
+                    row.agendaTitle(),
+                    row.agendaDescription(),
+                    row.sessionId(),
+                    status.name(),
+                    status == SessionStatus.ATIVA
                 ));
             }
-            
-            var settings = new MobileDynamicDataDTO.GeneralSettings(
-                "1.0",
-                60,
-                255,
-                1000
-            );
-            
-            return new MobileDynamicDataDTO(sessions, agendas, settings);
-            
-        } catch (Exception e) {
-            logger.warn("Error fetching real data, falling back to mock data: {}", e.getMessage());
-            return createMockDynamicData();
         }
-    }
 
-    private MobileDynamicDataDTO createMockDynamicData() {
-        var sessions = new ArrayList<MobileDynamicDataDTO.SessionOption>();
-        var agendas = new ArrayList<MobileDynamicDataDTO.AgendaOption>();
-        
-        var now = LocalDateTime.now();
-        
-        sessions.add(new MobileDynamicDataDTO.SessionOption(
-            java.util.UUID.randomUUID(),
-            "Sessão de Votação - " + now.getMonth() + "/" + now.getYear(),
-            now.plusDays(1),
-            now.plusDays(1).plusHours(2),
-            "PROGRAMADA"
-        ));
-        
-        sessions.add(new MobileDynamicDataDTO.SessionOption(
-            java.util.UUID.randomUUID(),
-            "Sessão Extraordinária - " + now.getMonth(),
-            now.minusHours(1),
-            now.plusHours(1),
-            "ATIVA"
-        ));
-        
-        agendas.add(new MobileDynamicDataDTO.AgendaOption(
-            java.util.UUID.randomUUID(),
-            "Aprovação do Orçamento 2025",
-            "Votação para aprovação do orçamento anual",
-            sessions.get(1).id(),
-            "ATIVA",
-            true
-        ));
-        
-        agendas.add(new MobileDynamicDataDTO.AgendaOption(
-            java.util.UUID.randomUUID(),
-            "Mudança de Estatuto",
-            "Alterações propostas no estatuto da assembleia",
-            sessions.get(0).id(),
-            "PROGRAMADA",
-            false
-        ));
-        
         var settings = new MobileDynamicDataDTO.GeneralSettings(
             "1.0",
             60,
             255,
             1000
         );
-        
+
         return new MobileDynamicDataDTO(sessions, agendas, settings);
     }
 }
@@ -4,7 +4,10 @@ import br.com.assembleia.assembleia.application.usecases.SessionUseCase;
 import br.com.assembleia.assembleia.adapters.dtos.ResponseDTO;
 import br.com.assembleia.assembleia.adapters.dtos.SessionRequestDTO;
 import br.com.assembleia.assembleia.adapters.dtos.SessionResponseDTO;
+import br.com.assembleia.assembleia.adapters.dtos.PageDTO;
 import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.adapters.repositories.ListingCursor;
+import br.com.assembleia.assembleia.adapters.repositories.ListingFilter;
 import br.com.assembleia.assembleia.infra.db.entities.Session;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,11 +20,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -32,11 +42,13 @@ public class SessionController {
 
     private final SessionUseCase sessionUseCase;
     private final SessionGateway sessionGateway;
+    private final ObjectMapper objectMapper;
     private static final Logger logger = LoggerFactory.getLogger(SessionController.class);
 
-    public SessionController(SessionUseCase sessionUseCase, SessionGateway sessionGateway) {
+    public SessionController(SessionUseCase sessionUseCase, SessionGateway sessionGateway, ObjectMapper objectMapper) {
         this.sessionUseCase = sessionUseCase;
         this.sessionGateway = sessionGateway;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Criar nova sessão", description = "Cria uma nova sessão de votação com data de início e fim")
@@ -79,6 +91,82 @@ public class SessionController {
         }
     }
 
+    @Operation(summary = "Listar sessões",
+               description = "Lista sessões em páginas ordenadas pelo início da sessão, com filtros opcionais de status "
+                   + "(PROGRAMADA, ATIVA, ENCERRADA) e período (sessões que se sobrepõem a from..to). "
+                   + "Para a próxima página, repita a consulta com cursor=nextCursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página obtida com sucesso",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = PageDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Filtro, cursor ou limite inválido",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class))),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class)))
+    })
+    @GetMapping
+    public ResponseEntity<Object> list(
+            @Parameter(description = "Status da sessão", example = "ATIVA")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Início do período (ISO-8601)", example = "2025-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fim do período (ISO-8601)", example = "2025-12-31T23:59:59")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Cursor devolvido em nextCursor pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (1 a " + ListingResponses.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + ListingResponses.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            ListingFilter filter = ListingFilter.of(status, from, to);
+            int pageSize = ListingResponses.pageSize(limit);
+            List<Session> rows = sessionGateway.findSessionPage(filter, ListingResponses.cursor(cursor), pageSize + 1);
+            return ResponseEntity.ok(ListingResponses.page(rows, pageSize, SessionController::cursorOf,
+                SessionController::toResponse));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid session listing request: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ResponseDTO.of(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Unexpected error listing sessions: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal server error"));
+        }
+    }
+
+    @Operation(summary = "Exportar sessões em NDJSON",
+               description = "Mesmos filtros da listagem, sem paginação: um objeto JSON por linha, escrito à medida que "
+                   + "as linhas são lidas do banco")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream iniciado",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)),
+        @ApiResponse(responseCode = "400", description = "Filtro ou cursor inválido",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class)))
+    })
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor) {
+        try {
+            ListingFilter filter = ListingFilter.of(status, from, to);
+            ListingCursor after = ListingResponses.cursor(cursor);
+            StreamingResponseBody body = ListingResponses.ndjson(objectMapper, sink ->
+                sessionGateway.forEachSession(filter, after, session -> sink.accept(toResponse(session))));
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid session stream request: {}", e.getMessage());
+            return ListingResponses.badRequest(objectMapper, e.getMessage());
+        }
+    }
+
     @Operation(summary = "Buscar sessão por ID", description = "Retorna uma sessão específica pelo seu ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Sessão encontrada", 
@@ -108,15 +196,7 @@ public class SessionController {
                     .body(ResponseDTO.of(HttpStatus.NOT_FOUND.value(), "Session not found"));
             }
             
-            Session session = sessionOpt.get();
-            SessionResponseDTO response = new SessionResponseDTO(
-                session.getId(),
-                session.getStartDate(),
-                session.getEndDate(),
-                session.getVersion()
-            );
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(toResponse(sessionOpt.get()));
         } catch (IllegalArgumentException e) {
             logger.error("Invalid UUID: {}", id);
             return ResponseEntity
@@ -129,4 +209,17 @@ public class SessionController {
                 .body(ResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal server error"));
         }
     }
+
+    private static ListingCursor cursorOf(Session session) {
+        return new ListingCursor(session.getStartDate(), session.getId());
+    }
+
+    private static SessionResponseDTO toResponse(Session session) {
+        return new SessionResponseDTO(
+            session.getId(),
+            session.getStartDate(),
+            session.getEndDate(),
+            session.getVersion()
+        );
+    }
 }
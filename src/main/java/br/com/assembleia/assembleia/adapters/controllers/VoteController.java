@@ -1,12 +1,18 @@
 package br.com.assembleia.assembleia.adapters.controllers;
 
+import br.com.assembleia.assembleia.application.usecases.VoteImportUseCase;
 import br.com.assembleia.assembleia.application.usecases.VoteUseCase;
 import br.com.assembleia.assembleia.adapters.dtos.ResponseDTO;
+import br.com.assembleia.assembleia.adapters.dtos.VoteImportSummaryDTO;
 import br.com.assembleia.assembleia.adapters.dtos.VoteRequestDTO;
+import br.com.assembleia.assembleia.adapters.dtos.VoteStatusResponseDTO;
 import br.com.assembleia.assembleia.adapters.dtos.VotingResultDTO;
-import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
-import br.com.assembleia.assembleia.infra.db.entities.Agenda;
-import br.com.assembleia.assembleia.infra.db.entities.Vote;
+import br.com.assembleia.assembleia.adapters.enums.VoteImportFormat;
+import br.com.assembleia.assembleia.adapters.sse.VotingResultBroadcaster;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
+import br.com.assembleia.assembleia.infra.cache.AgendaSnapshot;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache.FinalVotingResult;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,12 +22,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -31,18 +49,29 @@ import java.util.UUID;
 public class VoteController {
 
     private final VoteUseCase voteUseCase;
-    private final AgendaGateway agendaGateway;
+    private final VoteImportUseCase voteImportUseCase;
+    private final AgendaNearCache agendaNearCache;
+    private final VotingResultBroadcaster votingResultBroadcaster;
     private static final Logger logger = LoggerFactory.getLogger(VoteController.class);
     private static final String INTERNAL_SERVER_ERROR_MSG = "Internal server error";
+    private static final String VOTE_ID_HEADER = "X-Vote-ID";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final CacheControl FINAL_RESULT_CACHE_CONTROL =
+        CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
 
-    public VoteController(VoteUseCase voteUseCase, AgendaGateway agendaGateway) {
+    public VoteController(VoteUseCase voteUseCase, VoteImportUseCase voteImportUseCase,
+            AgendaNearCache agendaNearCache, VotingResultBroadcaster votingResultBroadcaster) {
         this.voteUseCase = voteUseCase;
-        this.agendaGateway = agendaGateway;
+        this.voteImportUseCase = voteImportUseCase;
+        this.agendaNearCache = agendaNearCache;
+        this.votingResultBroadcaster = votingResultBroadcaster;
     }
 
-    @Operation(summary = "Registrar voto", description = "Registra um voto para uma agenda específica com validação de CPF")
+    @Operation(summary = "Registrar voto",
+               description = "Valida e aceita um voto para uma agenda específica; o voto é gravado de forma assíncrona "
+                   + "e a situação pode ser consultada na URL do cabeçalho Location")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Voto registrado com sucesso", 
+        @ApiResponse(responseCode = "202", description = "Voto aceito para processamento", 
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = ResponseDTO.class))),
         @ApiResponse(responseCode = "400", description = "CPF inválido ou dados incorretos", 
@@ -66,7 +95,7 @@ public class VoteController {
             logger.info("Registering vote: agendaId={}, cpf={}, vote={}", 
                        voteRequestDTO.agendaId(), voteRequestDTO.cpf(), voteRequestDTO.vote());
             
-            Optional<Agenda> agendaOpt = agendaGateway.findById(voteRequestDTO.agendaId());
+            Optional<AgendaSnapshot> agendaOpt = agendaNearCache.find(voteRequestDTO.agendaId());
             if (agendaOpt.isEmpty()) {
                 logger.error("Agenda not found: {}", voteRequestDTO.agendaId());
                 return ResponseEntity
@@ -74,18 +103,22 @@ public class VoteController {
                     .body(ResponseDTO.of(HttpStatus.NOT_FOUND.value(), "Agenda not found"));
             }
             
-            Agenda agenda = agendaOpt.get();
-            
-            voteUseCase.registerVote(
-                agenda,
+            VoteRegisteredEventDTO event = voteUseCase.registerVote(
+                agendaOpt.get(),
                 voteRequestDTO.cpf(),
                 voteRequestDTO.vote()
             );
             
-            logger.info("Vote registered successfully for CPF: {}", voteRequestDTO.cpf());
+            logger.info("Vote {} accepted for CPF: {}", event.voteId(), voteRequestDTO.cpf());
+            URI statusLocation = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/v1/votes/{voteId}/status")
+                .buildAndExpand(event.voteId())
+                .toUri();
             return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ResponseDTO.of(HttpStatus.CREATED.value(), "Vote registered successfully"));
+                .status(HttpStatus.ACCEPTED)
+                .location(statusLocation)
+                .header(VOTE_ID_HEADER, event.voteId().toString())
+                .body(ResponseDTO.of(HttpStatus.ACCEPTED.value(), "Vote accepted for processing"));
         } catch (IllegalArgumentException e) {
             logger.error("Validation error registering vote: {}", e.getMessage());
             return ResponseEntity
@@ -104,6 +137,98 @@ public class VoteController {
         }
     }
 
+    @Operation(summary = "Importar votos em lote",
+               description = "Importa votos coletados offline, um por linha, em NDJSON (application/x-ndjson) "
+                   + "ou CSV (text/csv, colunas agendaId,cpf,vote[,votedAt] com cabeçalho opcional). "
+                   + "O corpo é processado em stream e gravado de forma síncrona")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importação concluída",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = VoteImportSummaryDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Corpo ausente ou ilegível",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class))),
+        @ApiResponse(responseCode = "415", description = "Formato não suportado"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class)))
+    })
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    public ResponseEntity<Object> importVotes(HttpServletRequest request) {
+        try {
+            MediaType contentType = MediaType.parseMediaType(request.getContentType());
+            VoteImportFormat format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? VoteImportFormat.NDJSON
+                : VoteImportFormat.CSV;
+            Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+            logger.info("Importing votes in bulk ({})", format);
+            Reader body = new InputStreamReader(request.getInputStream(), charset);
+            VoteImportSummaryDTO summary = voteImportUseCase.importVotes(body, format);
+
+            logger.info("Bulk import finished: {} accepted, {} duplicates, {} invalid",
+                       summary.accepted(), summary.duplicates(), summary.invalid());
+            return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(summary);
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error importing votes: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ResponseDTO.of(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Unexpected error importing votes: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), INTERNAL_SERVER_ERROR_MSG));
+        }
+    }
+
+    @Operation(summary = "Consultar situação do voto",
+               description = "Retorna a situação de um voto aceito: PENDING, PERSISTED ou REJECTED")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Situação obtida com sucesso",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = VoteStatusResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "ID de voto inválido",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Voto não encontrado",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class))),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor",
+                    content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ResponseDTO.class)))
+    })
+    @GetMapping("/{voteId}/status")
+    public ResponseEntity<Object> getVoteStatus(
+            @Parameter(description = "ID do voto (cabeçalho X-Vote-ID)", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String voteId) {
+        try {
+            UUID id = UUID.fromString(voteId);
+            var status = voteUseCase.findVoteStatus(id);
+            if (status.isEmpty()) {
+                return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDTO.of(HttpStatus.NOT_FOUND.value(), "Vote not found"));
+            }
+
+            return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new VoteStatusResponseDTO(id, status.get()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid vote ID: {}", voteId);
+            return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ResponseDTO.of(HttpStatus.BAD_REQUEST.value(), "Invalid vote ID"));
+        } catch (Exception e) {
+            logger.error("Unexpected error getting vote status: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), INTERNAL_SERVER_ERROR_MSG));
+        }
+    }
+
     @Operation(summary = "Verificar se já votou", description = "Verifica se um CPF já votou em uma agenda específica")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Consulta realizada com sucesso", 
@@ -151,6 +276,7 @@ public class VoteController {
         @ApiResponse(responseCode = "200", description = "Resultados obtidos com sucesso", 
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = VotingResultDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Resultado final inalterado (If-None-Match)"),
         @ApiResponse(responseCode = "400", description = "ID de agenda inválido ou agenda não encontrada", 
                     content = @Content(mediaType = "application/json", 
                     schema = @Schema(implementation = ResponseDTO.class))),
@@ -165,10 +291,20 @@ public class VoteController {
         try {
             logger.info("Getting voting results for agenda: {}", agendaId);
             
-            VotingResultDTO results = voteUseCase.getVotingResults(UUID.fromString(agendaId));
+            UUID id = UUID.fromString(agendaId);
+            VotingResultDTO results = voteUseCase.getVotingResults(id);
             
             logger.info("Retrieved voting results for agenda {}: {} YES, {} NO", 
                        agendaId, results.yesCount(), results.noCount());
+
+            Optional<FinalVotingResult> finalResult = voteUseCase.findFinalVotingResults(id);
+            if (finalResult.isPresent()) {
+                return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .eTag(finalResult.get().etag())
+                    .cacheControl(FINAL_RESULT_CACHE_CONTROL)
+                    .body(finalResult.get().result());
+            }
             
             return ResponseEntity
                 .status(HttpStatus.OK)
@@ -185,4 +321,37 @@ public class VoteController {
                 .body(ResponseDTO.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), INTERNAL_SERVER_ERROR_MSG));
         }
     }
+
+    @Operation(summary = "Acompanhar resultados da votação",
+               description = "Abre um stream SSE que envia o resultado (evento 'result') sempre que a apuração muda, "
+                   + "no máximo uma vez por intervalo, e o resultado final (evento 'final') quando a sessão termina")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream aberto",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = VotingResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "ID de agenda inválido ou agenda não encontrada"),
+        @ApiResponse(responseCode = "503", description = "Limite de conexões de stream atingido nesta instância"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    @GetMapping(value = "/results/{agendaId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamVotingResults(
+            @Parameter(description = "ID da agenda", required = true, example = "550e8400-e29b-41d4-a716-446655440000")
+            @PathVariable String agendaId) {
+        try {
+            logger.info("Opening voting results stream for agenda: {}", agendaId);
+            return ResponseEntity
+                .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noStore())
+                .body(votingResultBroadcaster.subscribe(UUID.fromString(agendaId)));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error opening voting results stream: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (IllegalStateException e) {
+            logger.warn("Rejecting voting results stream for agenda {}: {}", agendaId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            logger.error("Unexpected error opening voting results stream: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -7,7 +7,7 @@ import java.util.UUID;
 
 @Schema(description = "Dados dinâmicos para formulários mobile")
 public record MobileDynamicDataDTO(
-    @Schema(description = "Lista de sessões disponíveis")
+    @Schema(description = "Sessões ainda não encerradas ou encerradas recentemente")
     List<SessionOption> sessions,
     
     @Schema(description = "Lista de agendas disponíveis")
@@ -0,0 +1,12 @@
+package br.com.assembleia.assembleia.adapters.dtos;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por keyset; {@code nextCursor} é nulo na última página
+ */
+public record PageDTO<T>(
+    List<T> items,
+    String nextCursor
+) {
+}
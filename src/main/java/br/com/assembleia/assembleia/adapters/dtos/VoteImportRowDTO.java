@@ -0,0 +1,23 @@
+package br.com.assembleia.assembleia.adapters.dtos;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Linha de uma importação de votos em lote (uma linha NDJSON ou CSV)")
+public record VoteImportRowDTO(
+    @Schema(description = "ID da agenda", example = "550e8400-e29b-41d4-a716-446655440000")
+    UUID agendaId,
+
+    @Schema(description = "CPF do participante", example = "12345678901")
+    String cpf,
+
+    @Schema(description = "Voto do participante", allowableValues = {"YES", "NO"})
+    VoteStatus vote,
+
+    @Schema(description = "Momento do voto; se ausente, o momento da importação", example = "2025-01-25T10:30:00", nullable = true)
+    LocalDateTime votedAt
+) {
+}
@@ -0,0 +1,21 @@
+package br.com.assembleia.assembleia.adapters.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resumo de uma importação de votos em lote")
+public record VoteImportSummaryDTO(
+    @Schema(description = "Votos gravados", example = "9870")
+    long accepted,
+
+    @Schema(description = "Votos ignorados porque o participante já tinha votado na agenda", example = "112")
+    long duplicates,
+
+    @Schema(description = "Linhas rejeitadas na validação", example = "18")
+    long invalid,
+
+    @Schema(description = "Primeiras linhas rejeitadas, com o motivo", example = "[\"Line 12: Invalid CPF provided\"]")
+    List<String> errors
+) {
+}
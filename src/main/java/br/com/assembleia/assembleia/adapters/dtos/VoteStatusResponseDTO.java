@@ -0,0 +1,11 @@
+package br.com.assembleia.assembleia.adapters.dtos;
+
+import java.util.UUID;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteProcessingStatus;
+
+public record VoteStatusResponseDTO(
+    UUID voteId,
+    VoteProcessingStatus status
+) {
+}
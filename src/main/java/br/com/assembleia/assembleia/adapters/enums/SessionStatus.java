@@ -0,0 +1,7 @@
+package br.com.assembleia.assembleia.adapters.enums;
+
+public enum SessionStatus {
+    PROGRAMADA,
+    ATIVA,
+    ENCERRADA
+}
@@ -0,0 +1,6 @@
+package br.com.assembleia.assembleia.adapters.enums;
+
+public enum VoteImportFormat {
+    NDJSON,
+    CSV
+}
@@ -3,69 +3,315 @@ package br.com.assembleia.assembleia.adapters.filters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.assembleia.assembleia.adapters.configs.RateLimitProperties;
+import br.com.assembleia.assembleia.adapters.configs.RateLimitProperties.KeyType;
 import br.com.assembleia.assembleia.adapters.dtos.ResponseDTO;
-import jakarta.servlet.Filter;
+import br.com.assembleia.assembleia.application.utils.CpfValidator;
+import br.com.assembleia.assembleia.infra.ratelimit.RateLimiter;
 import jakarta.servlet.FilterChain;
-import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.ServletRequest;
-import jakarta.servlet.ServletResponse;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.servlet.http.HttpSession;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.time.Duration;
-import io.github.bucket4j.Bucket;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
 
-public class RateLimitFilter implements Filter {
+/**
+ * Limite de requisições por rota, com buckets por IP do cliente e, nas rotas configuradas com
+ * chave cpf (escrita de votos), por CPF do corpo da requisição. Os buckets ficam no RateLimiter
+ * (Redis ou memória local) e não na sessão HTTP, então o limite vale para clientes sem cookie e
+ * para o conjunto de réplicas.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String TIMESTAMP_FIELD = "\"timestamp\":";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final List<Rule> rules;
+    private final int maxInspectedBodySize;
+    private final byte[] rejectedBodyPrefix;
+    private final byte[] rejectedBodySuffix;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.maxInspectedBodySize = properties.maxInspectedBodySize();
+        this.rules = properties.routes().stream().map(Rule::of).toList();
 
-    private Bucket createNewBucket() {
-        return Bucket.builder()
-            .addLimit(limit -> limit.capacity(20)
-            .refillGreedy(20, Duration.ofSeconds(60*5)))
-            .build();
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(new ResponseDTO(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded", 0L));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize rate limit response.", e);
+        }
+        int timestampAt = body.lastIndexOf(TIMESTAMP_FIELD) + TIMESTAMP_FIELD.length();
+        this.rejectedBodyPrefix = body.substring(0, timestampAt).getBytes(StandardCharsets.UTF_8);
+        this.rejectedBodySuffix = body.substring(timestampAt + 1).getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
-    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
-            throws IOException, ServletException {
-        HttpServletRequest httpRequest = (HttpServletRequest) servletRequest;
-        
-            logger.debug("Requisição permitida para o IP: {}", "teste");
-            filterChain.doFilter(servletRequest, servletResponse);
-        HttpSession session = httpRequest.getSession(true);
-        String appKey = "assembleia-v1";
-        Bucket bucket = (Bucket) session.getAttribute("throttler-" + appKey);
-        if (bucket == null) {
-            logger.debug("Criando novo bucket para o IP: {}", appKey);
-            bucket = createNewBucket();
-            session.setAttribute("throttler-" + appKey, bucket);
-        }
-        if (bucket.tryConsume(10)) {
-            logger.debug("Requisição permitida para o IP: {}", appKey);
-            filterChain.doFilter(servletRequest, servletResponse);
-        } else {
-            logger.warn("Limite de requisições excedido para o IP: {}", httpRequest.getRemoteAddr());
-            HttpServletResponse httpResponse = (HttpServletResponse) servletResponse;
-            httpResponse.setHeader("Content-Type", "application/json");
-            httpResponse.setContentType("application/json");
-            httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            httpResponse.getWriter().write(new ObjectMapper().writeValueAsString(new ResponseDTO(
-                HttpStatus.TOO_MANY_REQUESTS.value(),
-                "Rate limit exceeded",
-                System.currentTimeMillis()
-            )));
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        String method = request.getMethod();
+        boolean matched = false;
+        boolean needsCpf = false;
+        for (Rule rule : rules) {
+            if (rule.matches(method, path)) {
+                matched = true;
+                needsCpf |= rule.key() == KeyType.CPF;
+            }
+        }
+        if (!matched) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest target = request;
+        String cpf = null;
+        if (needsCpf) {
+            CachedBodyRequest cached = CachedBodyRequest.of(request, maxInspectedBodySize);
+            target = cached;
+            cpf = cached.isComplete() ? extractCpf(cached.body()) : null;
         }
+
+        String clientIp = request.getRemoteAddr();
+        long remaining = Long.MAX_VALUE;
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            String value = rule.key() == KeyType.CPF ? cpf : clientIp;
+            if (value == null || !rule.matches(method, path)) {
+                continue;
+            }
+            ConsumptionProbe probe = rateLimiter.tryConsume(rule.keyPrefix() + value, rule.configuration());
+            if (!probe.isConsumed()) {
+                logger.warn("Limite de requisições '{}' excedido para o IP {}", rule.name(), clientIp);
+                refund(i, method, path, cpf, clientIp);
+                reject(response, probe);
+                return;
+            }
+            remaining = Math.min(remaining, probe.getRemainingTokens());
+        }
+
+        if (remaining != Long.MAX_VALUE) {
+            response.setHeader(REMAINING_HEADER, Long.toString(remaining));
+        }
+        filterChain.doFilter(target, response);
     }
 
-    @Override
-    public void init(FilterConfig filterConfig) throws ServletException {}
+    /**
+     * Devolve os tokens já consumidos pelas regras anteriores à que rejeitou, para que uma requisição
+     * rejeitada não conte em nenhum limite. Só a rejeição paga o custo extra; a requisição aceita
+     * continua com uma única operação por regra
+     */
+    private void refund(int rejectedAt, String method, PathContainer path, String cpf, String clientIp) {
+        for (int i = 0; i < rejectedAt; i++) {
+            Rule rule = rules.get(i);
+            String value = rule.key() == KeyType.CPF ? cpf : clientIp;
+            if (value != null && rule.matches(method, path)) {
+                rateLimiter.refund(rule.keyPrefix() + value, rule.configuration());
+            }
+        }
+    }
 
-    @Override
-    public void destroy() {}
+    /**
+     * CPF normalizado do campo "cpf" do corpo JSON; CPF ausente ou inválido não é limitado aqui,
+     * a requisição segue só com o limite por IP e é rejeitada pela validação do endpoint
+     */
+    private String extractCpf(byte[] body) {
+        try {
+            JsonNode cpf = objectMapper.readTree(body).get("cpf");
+            long normalized = cpf != null && cpf.isTextual() ? CpfValidator.normalize(cpf.asText()) : CpfValidator.INVALID;
+            return normalized == CpfValidator.INVALID ? null : Long.toString(normalized);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * O corpo do 429 é o ResponseDTO serializado na construção do filtro; só o timestamp é escrito
+     * por resposta
+     */
+    private void reject(HttpServletResponse response, ConsumptionProbe probe) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999L));
+        byte[] timestamp = Long.toString(System.currentTimeMillis()).getBytes(StandardCharsets.US_ASCII);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setContentLength(rejectedBodyPrefix.length + timestamp.length + rejectedBodySuffix.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(rejectedBodyPrefix);
+        out.write(timestamp);
+        out.write(rejectedBodySuffix);
+    }
+
+    private record Rule(String name, String keyPrefix, String method, PathPattern pattern, KeyType key,
+            BucketConfiguration configuration) {
+
+        static Rule of(RateLimitProperties.Route route) {
+            if (route.name() == null || route.capacity() <= 0) {
+                throw new IllegalArgumentException("Rate limit routes need a name and a positive capacity.");
+            }
+            BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(route.capacity()).refillGreedy(route.capacity(), route.period()))
+                .build();
+            return new Rule(route.name(), route.name() + ":", route.method(), PathPatternParser.defaultInstance.parse(route.pattern()),
+                route.key(), configuration);
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+    /**
+     * Lê até o tamanho máximo do corpo para extrair o CPF e devolve esses bytes, seguidos do
+     * restante do corpo original, para o controller
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+        private final boolean complete;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body, boolean complete) {
+            super(request);
+            this.body = body;
+            this.complete = complete;
+        }
+
+        static CachedBodyRequest of(HttpServletRequest request, int maxSize) throws IOException {
+            byte[] head = request.getInputStream().readNBytes(maxSize + 1);
+            return new CachedBodyRequest(request, head, head.length <= maxSize);
+        }
+
+        byte[] body() {
+            return body;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            return new ReplayInputStream(body, complete ? null : super.getInputStream());
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : "UTF-8";
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+
+    /**
+     * Devolve os bytes já lidos e depois o restante do stream original. Na leitura assíncrona o
+     * listener é registrado no stream original; com o corpo inteiro em memória os eventos são
+     * disparados na hora, já que não há mais nada a esperar do container
+     */
+    private static final class ReplayInputStream extends ServletInputStream {
+        private final ByteArrayInputStream head;
+        private final ServletInputStream rest;
+
+        private ReplayInputStream(byte[] head, ServletInputStream rest) {
+            this.head = new ByteArrayInputStream(head);
+            this.rest = rest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = head.read();
+            return read >= 0 || rest == null ? read : rest.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (head.available() > 0) {
+                return head.read(buffer, offset, length);
+            }
+            return rest == null ? -1 : rest.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return head.available() == 0 && (rest == null || rest.isFinished());
+        }
+
+        @Override
+        public boolean isReady() {
+            return head.available() > 0 || rest == null || rest.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (rest != null) {
+                rest.setReadListener(new HeadFirstReadListener(readListener));
+                return;
+            }
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException | RuntimeException e) {
+                readListener.onError(e);
+            }
+        }
+
+        /**
+         * O container só avisa sobre o stream original; se ele terminar antes de o listener ler os
+         * bytes já consumidos pelo filtro, o listener recebe um onDataAvailable antes do fim
+         */
+        private final class HeadFirstReadListener implements ReadListener {
+            private final ReadListener delegate;
+
+            private HeadFirstReadListener(ReadListener delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                delegate.onDataAvailable();
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                if (head.available() > 0) {
+                    delegate.onDataAvailable();
+                }
+                delegate.onAllDataRead();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                delegate.onError(throwable);
+            }
+        }
+    }
 }
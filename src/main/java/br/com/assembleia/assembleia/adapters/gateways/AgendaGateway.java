@@ -1,11 +1,15 @@
 package br.com.assembleia.assembleia.adapters.gateways;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Component;
 
+import br.com.assembleia.assembleia.adapters.repositories.ListingCursor;
+import br.com.assembleia.assembleia.adapters.repositories.ListingFilter;
 import br.com.assembleia.assembleia.infra.db.entities.Agenda;
 
 @Component
@@ -13,5 +17,8 @@ public interface AgendaGateway {
     void save(Agenda agenda);
     Optional<Agenda> findById(UUID id);
     List<Agenda> findAll();
+    List<Agenda> findAgendaPage(ListingFilter filter, ListingCursor after, int limit);
+    void forEachAgenda(ListingFilter filter, ListingCursor after, Consumer<Agenda> action);
     List<Agenda> findBySessionId(UUID sessionId);
+    List<UUID> findIdsOfSessionsEndingAfter(LocalDateTime dateTime);
 }
@@ -1,14 +1,18 @@
 package br.com.assembleia.assembleia.adapters.gateways;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import br.com.assembleia.assembleia.adapters.repositories.AgendaRepository;
+import br.com.assembleia.assembleia.adapters.repositories.ListingCursor;
+import br.com.assembleia.assembleia.adapters.repositories.ListingFilter;
 import br.com.assembleia.assembleia.infra.db.entities.Agenda;
 
 @Component
@@ -37,9 +41,30 @@ public class AgendaGatewayImpl implements AgendaGateway {
         return agendaRepository.findAll();
     }
 
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public List<Agenda> findAgendaPage(ListingFilter filter, ListingCursor after, int limit) {
+        return agendaRepository.findAgendaPage(filter, after, limit);
+    }
+
+    /**
+     * Transação só leitura para o driver ler por cursor em vez de trazer o resultado inteiro
+     */
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public void forEachAgenda(ListingFilter filter, ListingCursor after, Consumer<Agenda> action) {
+        agendaRepository.forEachAgenda(filter, after, action);
+    }
+
     @Override
     @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
     public List<Agenda> findBySessionId(UUID sessionId) {
         return agendaRepository.findBySessionId(sessionId);
     }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public List<UUID> findIdsOfSessionsEndingAfter(LocalDateTime dateTime) {
+        return agendaRepository.findIdsOfSessionsEndingAfter(dateTime);
+    }
 }
@@ -0,0 +1,17 @@
+package br.com.assembleia.assembleia.adapters.gateways;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.infra.db.entities.FinalResult;
+
+@Component
+public interface FinalResultGateway {
+    Optional<FinalResult> findByAgendaId(UUID agendaId);
+    FinalResult saveIfAbsent(FinalResult finalResult);
+    boolean claimPublication(UUID agendaId, LocalDateTime publishedAt);
+    void releasePublication(UUID agendaId);
+}
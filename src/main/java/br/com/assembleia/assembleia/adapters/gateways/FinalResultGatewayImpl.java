@@ -0,0 +1,63 @@
+package br.com.assembleia.assembleia.adapters.gateways;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.assembleia.assembleia.adapters.repositories.FinalResultRepository;
+import br.com.assembleia.assembleia.infra.db.entities.FinalResult;
+
+@Component
+public class FinalResultGatewayImpl implements FinalResultGateway {
+    private final FinalResultRepository finalResultRepository;
+
+    public FinalResultGatewayImpl(FinalResultRepository finalResultRepository) {
+        this.finalResultRepository = finalResultRepository;
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public Optional<FinalResult> findByAgendaId(UUID agendaId) {
+        return finalResultRepository.findById(agendaId);
+    }
+
+    /**
+     * Grava o resultado final somente se a agenda ainda não tiver um. Retorna o registro que ficou
+     * no banco, então réplicas que apuram ao mesmo tempo acabam servindo o mesmo resultado.
+     */
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
+    public FinalResult saveIfAbsent(FinalResult finalResult) {
+        finalResultRepository.insertIfAbsent(
+            finalResult.getAgendaId(),
+            finalResult.getAgendaTitle(),
+            finalResult.getYesCount(),
+            finalResult.getNoCount(),
+            finalResult.getSessionEndedAt(),
+            finalResult.getComputedAt());
+        return finalResultRepository.findById(finalResult.getAgendaId()).orElseThrow();
+    }
+
+    /**
+     * Marca o resultado como publicado se nenhuma réplica o marcou antes. Só quem consegue a marcação
+     * publica o evento, então o voting-results recebe um resultado final por agenda.
+     */
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
+    public boolean claimPublication(UUID agendaId, LocalDateTime publishedAt) {
+        return finalResultRepository.claimPublication(agendaId, publishedAt) == 1;
+    }
+
+    /**
+     * Desfaz a marcação quando o envio falha, para que a próxima tentativa publique
+     */
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
+    public void releasePublication(UUID agendaId) {
+        finalResultRepository.releasePublication(agendaId);
+    }
+}
@@ -1,11 +1,16 @@
 package br.com.assembleia.assembleia.adapters.gateways;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Component;
 
+import br.com.assembleia.assembleia.adapters.repositories.ListingCursor;
+import br.com.assembleia.assembleia.adapters.repositories.ListingFilter;
+import br.com.assembleia.assembleia.adapters.repositories.SessionOptionRepository.SessionAgendaOption;
 import br.com.assembleia.assembleia.infra.db.entities.Session;
 
 @Component
@@ -13,5 +18,9 @@ public interface SessionGateway {
     void save(Session session);
     Optional<Session> findById(UUID id);
     List<Session> findAll();
+    List<Session> findSessionPage(ListingFilter filter, ListingCursor after, int limit);
+    void forEachSession(ListingFilter filter, ListingCursor after, Consumer<Session> action);
     List<Session> findActiveSessions();
+    List<Session> findSessionsEndingAfter(LocalDateTime dateTime);
+    List<SessionAgendaOption> findSessionAgendaOptions(LocalDateTime endingAfter);
 }
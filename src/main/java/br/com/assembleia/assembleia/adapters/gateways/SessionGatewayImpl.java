@@ -4,21 +4,29 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+import br.com.assembleia.assembleia.adapters.repositories.ListingCursor;
+import br.com.assembleia.assembleia.adapters.repositories.ListingFilter;
+import br.com.assembleia.assembleia.adapters.repositories.SessionOptionRepository.SessionAgendaOption;
 import br.com.assembleia.assembleia.adapters.repositories.SessionRepository;
+import br.com.assembleia.assembleia.infra.cache.ActiveSessionIndex;
 import br.com.assembleia.assembleia.infra.db.entities.Session;
 
 @Component
 public class SessionGatewayImpl implements SessionGateway {
     
     private final SessionRepository sessionRepository;
+    private final ActiveSessionIndex activeSessionIndex;
     
-    public SessionGatewayImpl(SessionRepository sessionRepository) {
+    public SessionGatewayImpl(SessionRepository sessionRepository, ActiveSessionIndex activeSessionIndex) {
         this.sessionRepository = sessionRepository;
+        this.activeSessionIndex = activeSessionIndex;
     }
     
     @Override
@@ -39,10 +47,67 @@ public class SessionGatewayImpl implements SessionGateway {
         return sessionRepository.findAll();
     }
 
+    /**
+     * A listagem só de sessões ativas vem do índice em memória; SUPPORTS para não abrir transação
+     * quando o índice responde
+     */
+    @Override
+    @Transactional(propagation=Propagation.SUPPORTS, readOnly=true)
+    public List<Session> findSessionPage(ListingFilter filter, ListingCursor after, int limit) {
+        return findIndexedActive(filter, after)
+            .map(active -> active.size() > limit ? List.copyOf(active.subList(0, limit)) : active)
+            .orElseGet(() -> sessionRepository.findSessionPage(filter, after, limit));
+    }
+
+    /**
+     * Transação só leitura para o driver ler por cursor em vez de trazer o resultado inteiro
+     */
     @Override
     @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public void forEachSession(ListingFilter filter, ListingCursor after, Consumer<Session> action) {
+        Optional<List<Session>> active = findIndexedActive(filter, after);
+        if (active.isPresent()) {
+            active.get().forEach(action);
+            return;
+        }
+        sessionRepository.forEachSession(filter, after, action);
+    }
+
+    /**
+     * Responde pelo índice em memória; o banco (índice em data_fim, data_inicio) só é consultado
+     * enquanto o índice não foi carregado. SUPPORTS para não abrir transação quando o índice responde.
+     * As sessões do índice são cópias desanexadas, sem as agendas.
+     */
+    @Override
+    @Transactional(propagation=Propagation.SUPPORTS, readOnly=true)
     public List<Session> findActiveSessions() {
         LocalDateTime now = LocalDateTime.now();
-        return sessionRepository.findActiveSessions(now);
+        return activeSessionIndex.findActive(now)
+            .orElseGet(() -> sessionRepository.findActiveSessions(now));
+    }
+
+    /**
+     * Sessões ativas pelo índice, na ordem da listagem e a partir do cursor, quando o filtro é só
+     * status=ATIVA; vazio para outros filtros ou com o índice ainda não carregado
+     */
+    private Optional<List<Session>> findIndexedActive(ListingFilter filter, ListingCursor after) {
+        if (filter.status() != SessionStatus.ATIVA || filter.from() != null || filter.to() != null) {
+            return Optional.empty();
+        }
+        return after == null
+            ? activeSessionIndex.findActive(LocalDateTime.now())
+            : activeSessionIndex.findActive(LocalDateTime.now(), after.startDate(), after.id());
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public List<Session> findSessionsEndingAfter(LocalDateTime dateTime) {
+        return sessionRepository.findSessionsEndingAfter(dateTime);
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public List<SessionAgendaOption> findSessionAgendaOptions(LocalDateTime endingAfter) {
+        return sessionRepository.findSessionAgendaOptions(endingAfter);
     }
 }
@@ -1,16 +1,29 @@
 package br.com.assembleia.assembleia.adapters.gateways;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 
 import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.ImportResult;
 import br.com.assembleia.assembleia.infra.db.entities.Vote;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
 
 @Component
 public interface VoteGateway {
-    boolean existsByAgendaIdAndCpf(UUID agendaId, String cpf);
+    boolean existsByAgendaIdAndCpf(UUID agendaId, long cpf);
+    boolean existsById(UUID voteId);
     void save(Vote vote);
+    Set<UUID> saveAllIgnoringDuplicates(List<Vote> votes);
+    Set<UUID> findExistingIds(List<UUID> voteIds);
+    ImportResult importVotes(Stream<VoteRegisteredEventDTO> votes);
     long countByAgendaIdAndVote(UUID agendaId, VoteStatus vote);
     long countByAgendaId(UUID agendaId);
+    void forEachVoter(UUID agendaId, ObjLongConsumer<UUID> action);
+    void forEachVoterOfSessionsEndingAfter(LocalDateTime dateTime, ObjLongConsumer<UUID> action);
 }
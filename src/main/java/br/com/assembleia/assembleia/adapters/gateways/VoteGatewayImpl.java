@@ -1,33 +1,113 @@
 package br.com.assembleia.assembleia.adapters.gateways;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.ImportResult;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.TallyDelta;
 import br.com.assembleia.assembleia.adapters.repositories.VoteRepository;
+import br.com.assembleia.assembleia.adapters.repositories.VoteTallyRepository;
 import br.com.assembleia.assembleia.infra.db.entities.Vote;
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
 
 @Component
 public class VoteGatewayImpl implements VoteGateway {
     private final VoteRepository voteRepository;
+    private final VoteTallyRepository voteTallyRepository;
+    private final VoteEventSharding voteEventSharding;
 
-    public VoteGatewayImpl(VoteRepository voteRepository) {
+    public VoteGatewayImpl(VoteRepository voteRepository, VoteTallyRepository voteTallyRepository,
+            VoteEventSharding voteEventSharding) {
         this.voteRepository = voteRepository;
+        this.voteTallyRepository = voteTallyRepository;
+        this.voteEventSharding = voteEventSharding;
     }
 
     @Override
     @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
-    public boolean existsByAgendaIdAndCpf(UUID agendaId, String cpf) {
+    public boolean existsByAgendaIdAndCpf(UUID agendaId, long cpf) {
         return voteRepository.existsByAgendaIdAndCpf(agendaId, cpf);
     }
 
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public boolean existsById(UUID voteId) {
+        return voteRepository.existsById(voteId);
+    }
+
     @Override
     @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
     public void save(Vote vote) {
         voteRepository.save(vote);
+        voteTallyRepository.lockAgendaShared(vote.getAgenda().getId());
+        voteTallyRepository.increment(
+            vote.getAgenda().getId(),
+            voteEventSharding.bucket(vote.getCpf()),
+            vote.getVote() == VoteStatus.YES ? 1 : 0,
+            vote.getVote() == VoteStatus.NO ? 1 : 0,
+            LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
+    public Set<UUID> saveAllIgnoringDuplicates(List<Vote> votes) {
+        Set<UUID> inserted = voteRepository.insertIgnoringDuplicates(votes);
+
+        // Ordenado por agenda e fatia para que lotes concorrentes bloqueiem as linhas da apuração na mesma ordem
+        Map<UUID, Map<Integer, long[]>> deltas = new TreeMap<>();
+        for (Vote vote : votes) {
+            if (inserted.contains(vote.getId())) {
+                long[] delta = deltas.computeIfAbsent(vote.getAgenda().getId(), id -> new TreeMap<>())
+                    .computeIfAbsent(voteEventSharding.bucket(vote.getCpf()), bucket -> new long[2]);
+                delta[vote.getVote() == VoteStatus.YES ? 0 : 1]++;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // O bloqueio compartilhado da agenda exclui a reconciliação (ver VoteTallyGatewayImpl.reconcile)
+        deltas.forEach((agendaId, buckets) -> {
+            voteTallyRepository.lockAgendaShared(agendaId);
+            buckets.forEach((bucket, delta) ->
+                voteTallyRepository.increment(agendaId, bucket, delta[0], delta[1], now));
+        });
+
+        return inserted;
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public Set<UUID> findExistingIds(List<UUID> voteIds) {
+        return voteRepository.findExistingIds(voteIds);
+    }
+
+    /**
+     * A apuração é incrementada na mesma transação do COPY, já em ordem de agenda e fatia
+     */
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
+    public ImportResult importVotes(Stream<VoteRegisteredEventDTO> votes) {
+        ImportResult result = voteRepository.importVotes(votes);
+        LocalDateTime now = LocalDateTime.now();
+        UUID locked = null;
+        for (TallyDelta tally : result.tallies()) {
+            if (!tally.agendaId().equals(locked)) {
+                voteTallyRepository.lockAgendaShared(tally.agendaId());
+                locked = tally.agendaId();
+            }
+            voteTallyRepository.increment(tally.agendaId(), tally.bucket(), tally.yesCount(), tally.noCount(), now);
+        }
+        return result;
     }
 
     @Override
@@ -41,4 +121,16 @@ public class VoteGatewayImpl implements VoteGateway {
     public long countByAgendaId(UUID agendaId) {
         return voteRepository.countByAgendaId(agendaId);
     }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public void forEachVoter(UUID agendaId, ObjLongConsumer<UUID> action) {
+        voteRepository.forEachVoter(agendaId, action);
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public void forEachVoterOfSessionsEndingAfter(LocalDateTime dateTime, ObjLongConsumer<UUID> action) {
+        voteRepository.forEachVoterOfSessionsEndingAfter(dateTime, action);
+    }
 }
@@ -0,0 +1,20 @@
+package br.com.assembleia.assembleia.adapters.gateways;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.repositories.VoteOutboxRepository.OutboxEntry;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+@Component
+public interface VoteOutboxGateway {
+    void save(VoteRegisteredEventDTO event);
+    int relay(int batchSize, Consumer<List<OutboxEntry>> publisher);
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+    boolean existsPendingByAgendaId(UUID agendaId);
+}
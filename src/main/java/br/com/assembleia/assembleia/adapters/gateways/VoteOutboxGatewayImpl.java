@@ -0,0 +1,58 @@
+package br.com.assembleia.assembleia.adapters.gateways;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.assembleia.assembleia.adapters.repositories.VoteOutboxRepository;
+import br.com.assembleia.assembleia.adapters.repositories.VoteOutboxRepository.OutboxEntry;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+@Component
+public class VoteOutboxGatewayImpl implements VoteOutboxGateway {
+    private final VoteOutboxRepository voteOutboxRepository;
+
+    public VoteOutboxGatewayImpl(VoteOutboxRepository voteOutboxRepository) {
+        this.voteOutboxRepository = voteOutboxRepository;
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
+    public void save(VoteRegisteredEventDTO event) {
+        voteOutboxRepository.insertOutbox(event, LocalDateTime.now());
+    }
+
+    /**
+     * Bloqueia um lote do outbox, entrega ao publisher e apaga o lote na mesma transação. Se o
+     * publisher lançar exceção o lote volta para o outbox e é reenviado na próxima rodada.
+     */
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
+    public int relay(int batchSize, Consumer<List<OutboxEntry>> publisher) {
+        List<OutboxEntry> batch = voteOutboxRepository.lockOutboxBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        publisher.accept(batch);
+        voteOutboxRepository.deleteOutbox(batch.stream().map(OutboxEntry::id).toList());
+        return batch.size();
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.SUPPORTS, readOnly=true)
+    public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+        return voteOutboxRepository.findOldestOutboxCreatedAt();
+    }
+
+    @Override
+    @Transactional(propagation=Propagation.SUPPORTS, readOnly=true)
+    public boolean existsPendingByAgendaId(UUID agendaId) {
+        return voteOutboxRepository.existsOutboxByAgendaId(agendaId);
+    }
+}
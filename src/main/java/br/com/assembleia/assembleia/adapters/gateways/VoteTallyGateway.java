@@ -0,0 +1,14 @@
+package br.com.assembleia.assembleia.adapters.gateways;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.infra.db.entities.VoteTally;
+
+@Component
+public interface VoteTallyGateway {
+    Optional<VoteTally> findByAgendaId(UUID agendaId);
+    boolean reconcile(UUID agendaId);
+}
@@ -0,0 +1,70 @@
+package br.com.assembleia.assembleia.adapters.gateways;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.assembleia.assembleia.adapters.repositories.VoteTallyRepository;
+import br.com.assembleia.assembleia.infra.db.entities.VoteTally;
+
+@Component
+public class VoteTallyGatewayImpl implements VoteTallyGateway {
+    private final VoteTallyRepository voteTallyRepository;
+
+    public VoteTallyGatewayImpl(VoteTallyRepository voteTallyRepository) {
+        this.voteTallyRepository = voteTallyRepository;
+    }
+
+    /**
+     * Soma as fatias da apuração da agenda
+     */
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=true)
+    public Optional<VoteTally> findByAgendaId(UUID agendaId) {
+        Object[] sum = voteTallyRepository.sumByAgendaId(agendaId).get(0);
+        if (((Number) sum[3]).longValue() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new VoteTally(
+            agendaId,
+            ((Number) sum[0]).longValue(),
+            ((Number) sum[1]).longValue(),
+            toLocalDateTime(sum[2])));
+    }
+
+    /**
+     * Recalcula a apuração da agenda a partir da tabela votos. A linha da agenda é bloqueada com FOR
+     * UPDATE antes da contagem: quem grava votos ou incrementa fatias segura um bloqueio compartilhado
+     * na mesma linha (a FK de votos e VoteGatewayImpl), então nenhum voto é confirmado entre a
+     * contagem e a troca das fatias por uma única fatia 0 com o total.
+     */
+    @Override
+    @Transactional(propagation=Propagation.REQUIRED, readOnly=false)
+    public boolean reconcile(UUID agendaId) {
+        voteTallyRepository.lockAgenda(agendaId);
+
+        Object[] counts = voteTallyRepository.countVotesByAgendaId(agendaId).get(0);
+        long yesCount = ((Number) counts[0]).longValue();
+        long noCount = ((Number) counts[1]).longValue();
+
+        Object[] sum = voteTallyRepository.sumByAgendaId(agendaId).get(0);
+        if (((Number) sum[0]).longValue() == yesCount && ((Number) sum[1]).longValue() == noCount) {
+            return false;
+        }
+        voteTallyRepository.deleteByAgendaId(agendaId);
+        voteTallyRepository.increment(agendaId, 0, yesCount, noCount, LocalDateTime.now());
+        return true;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
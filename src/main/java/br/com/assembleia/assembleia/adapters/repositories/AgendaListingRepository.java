@@ -0,0 +1,16 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+
+/**
+ * Listagem de agendas (com a sessão) por keyset, em páginas ou em streaming, filtrada pela sessão
+ */
+public interface AgendaListingRepository {
+
+    List<Agenda> findAgendaPage(ListingFilter filter, ListingCursor after, int limit);
+
+    void forEachAgenda(ListingFilter filter, ListingCursor after, Consumer<Agenda> action);
+}
@@ -0,0 +1,58 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+
+public class AgendaListingRepositoryImpl implements AgendaListingRepository {
+
+    // Com autocommit desligado (dentro de uma transação) o driver do PostgreSQL lê por cursor neste tamanho
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT =
+        "SELECT p.id, p.titulo, p.descricao, s.id, s.data_inicio, s.data_fim, s.version "
+            + "FROM votacao.pautas p JOIN votacao.sessoes s ON s.id = p.sessao_id";
+
+    private static final RowMapper<Agenda> AGENDA_MAPPER = (rs, rowNum) -> new Agenda(
+        rs.getObject(1, UUID.class),
+        rs.getString(2),
+        rs.getString(3),
+        new Session(
+            rs.getObject(4, UUID.class),
+            rs.getTimestamp(5).toLocalDateTime(),
+            rs.getTimestamp(6).toLocalDateTime(),
+            rs.getLong(7)));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AgendaListingRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public List<Agenda> findAgendaPage(ListingFilter filter, ListingCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT + ListingQueries.where(filter, after, args) + " LIMIT ?";
+        args.add(limit);
+        return jdbcTemplate.query(sql, AGENDA_MAPPER, args.toArray());
+    }
+
+    @Override
+    public void forEachAgenda(ListingFilter filter, ListingCursor after, Consumer<Agenda> action) {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT + ListingQueries.where(filter, after, args);
+        RowCallbackHandler handler = rs -> action.accept(AGENDA_MAPPER.mapRow(rs, 0));
+        jdbcTemplate.query(sql, handler, args.toArray());
+    }
+}
@@ -1,12 +1,18 @@
 package br.com.assembleia.assembleia.adapters.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import br.com.assembleia.assembleia.infra.db.entities.Agenda;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
-public interface AgendaRepository extends JpaRepository<Agenda, UUID> {
+public interface AgendaRepository extends JpaRepository<Agenda, UUID>, AgendaListingRepository {
     List<Agenda> findBySessionId(UUID sessionId);
+
+    @Query("SELECT a.id FROM Agenda a WHERE a.session.endDate >= :currentTime")
+    List<UUID> findIdsOfSessionsEndingAfter(@Param("currentTime") LocalDateTime currentTime);
 }
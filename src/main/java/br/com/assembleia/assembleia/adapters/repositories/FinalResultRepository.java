@@ -0,0 +1,35 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.assembleia.assembleia.infra.db.entities.FinalResult;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface FinalResultRepository extends JpaRepository<FinalResult, UUID> {
+
+    @Modifying
+    @Query(value = "INSERT INTO votacao.resultados_finais "
+            + "(pauta_id, titulo, votos_sim, votos_nao, sessao_encerrada_em, apurado_em) "
+            + "VALUES (:agendaId, :title, :yes, :no, :sessionEndedAt, :computedAt) "
+            + "ON CONFLICT (pauta_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("agendaId") UUID agendaId, @Param("title") String title,
+            @Param("yes") long yes, @Param("no") long no,
+            @Param("sessionEndedAt") LocalDateTime sessionEndedAt, @Param("computedAt") LocalDateTime computedAt);
+
+    @Modifying
+    @Query(value = "UPDATE votacao.resultados_finais SET publicado_em = :publishedAt "
+            + "WHERE pauta_id = :agendaId AND publicado_em IS NULL",
+            nativeQuery = true)
+    int claimPublication(@Param("agendaId") UUID agendaId, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query(value = "UPDATE votacao.resultados_finais SET publicado_em = NULL WHERE pauta_id = :agendaId",
+            nativeQuery = true)
+    int releasePublication(@Param("agendaId") UUID agendaId);
+}
@@ -0,0 +1,30 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.time.LocalDateTime;
+
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+
+/**
+ * Filtros das listagens de sessões e agendas. Todos são opcionais: {@code status} é avaliado pelas
+ * datas da sessão no momento da consulta e {@code from}/{@code to} selecionam as sessões cujo
+ * período se sobrepõe ao intervalo informado.
+ */
+public record ListingFilter(SessionStatus status, LocalDateTime from, LocalDateTime to) {
+
+    public ListingFilter {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("The end of the date range must not be before its start.");
+        }
+    }
+
+    public static ListingFilter of(String status, LocalDateTime from, LocalDateTime to) {
+        if (status == null || status.isBlank()) {
+            return new ListingFilter(null, from, to);
+        }
+        try {
+            return new ListingFilter(SessionStatus.valueOf(status.trim().toUpperCase()), from, to);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status. Use PROGRAMADA, ATIVA or ENCERRADA.");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Monta o WHERE das listagens por keyset sobre votacao.sessoes (alias {@code s}). A ordem é sempre
+ * (s.data_inicio, s.id), coberta pelo índice (data_inicio, id): cada página é uma busca no índice a
+ * partir do cursor, sem OFFSET, então o custo não cresce com a profundidade da página. A listagem
+ * de agendas usa a mesma chave, já que cada sessão tem no máximo uma agenda (pautas.sessao_id é
+ * UNIQUE).
+ */
+final class ListingQueries {
+
+    private ListingQueries() {
+    }
+
+    static String where(ListingFilter filter, ListingCursor after, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (filter.status() != null) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            switch (filter.status()) {
+                case PROGRAMADA -> {
+                    where.append(" AND s.data_inicio > ?");
+                    args.add(now);
+                }
+                case ATIVA -> {
+                    where.append(" AND s.data_inicio <= ? AND s.data_fim >= ?");
+                    args.add(now);
+                    args.add(now);
+                }
+                case ENCERRADA -> {
+                    where.append(" AND s.data_fim < ?");
+                    args.add(now);
+                }
+            }
+        }
+        if (filter.from() != null) {
+            where.append(" AND s.data_fim >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            where.append(" AND s.data_inicio <= ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        if (after != null) {
+            where.append(" AND (s.data_inicio, s.id) > (?, ?)");
+            args.add(Timestamp.valueOf(after.startDate()));
+            args.add(after.id());
+        }
+        return where.append(" ORDER BY s.data_inicio, s.id").toString();
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+
+/**
+ * Listagem de sessões por keyset, em páginas ou em streaming, sem carregar a tabela inteira
+ */
+public interface SessionListingRepository {
+
+    List<Session> findSessionPage(ListingFilter filter, ListingCursor after, int limit);
+
+    void forEachSession(ListingFilter filter, ListingCursor after, Consumer<Session> action);
+}
@@ -0,0 +1,51 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+
+public class SessionListingRepositoryImpl implements SessionListingRepository {
+
+    // Com autocommit desligado (dentro de uma transação) o driver do PostgreSQL lê por cursor neste tamanho
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT = "SELECT s.id, s.data_inicio, s.data_fim, s.version FROM votacao.sessoes s";
+
+    private static final RowMapper<Session> SESSION_MAPPER = (rs, rowNum) -> new Session(
+        rs.getObject(1, UUID.class),
+        rs.getTimestamp(2).toLocalDateTime(),
+        rs.getTimestamp(3).toLocalDateTime(),
+        rs.getLong(4));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SessionListingRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public List<Session> findSessionPage(ListingFilter filter, ListingCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT + ListingQueries.where(filter, after, args) + " LIMIT ?";
+        args.add(limit);
+        return jdbcTemplate.query(sql, SESSION_MAPPER, args.toArray());
+    }
+
+    @Override
+    public void forEachSession(ListingFilter filter, ListingCursor after, Consumer<Session> action) {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT + ListingQueries.where(filter, after, args);
+        RowCallbackHandler handler = rs -> action.accept(SESSION_MAPPER.mapRow(rs, 0));
+        jdbcTemplate.query(sql, handler, args.toArray());
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Modelo de leitura das opções de sessão e agenda dos formulários mobile: uma consulta com join,
+ * só as colunas usadas e só as sessões relevantes
+ */
+public interface SessionOptionRepository {
+
+    /**
+     * Sessões que terminam a partir de {@code endingAfter}, ordenadas por início, com as agendas de
+     * cada uma; as linhas de uma mesma sessão são consecutivas
+     */
+    List<SessionAgendaOption> findSessionAgendaOptions(LocalDateTime endingAfter);
+
+    /**
+     * Uma linha por sessão e agenda; os campos da agenda são nulos para sessão sem agenda
+     */
+    record SessionAgendaOption(UUID sessionId, LocalDateTime startDate, LocalDateTime endDate,
+                               UUID agendaId, String agendaTitle, String agendaDescription) {}
+}
@@ -0,0 +1,40 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+public class SessionOptionRepositoryImpl implements SessionOptionRepository {
+
+    // Filtra pelo índice (data_fim, data_inicio)
+    private static final String SELECT_OPTIONS =
+        "SELECT s.id, s.data_inicio, s.data_fim, p.id, p.titulo, p.descricao "
+            + "FROM votacao.sessoes s LEFT JOIN votacao.pautas p ON p.sessao_id = s.id "
+            + "WHERE s.data_fim >= ? "
+            + "ORDER BY s.data_inicio, s.id";
+
+    private static final RowMapper<SessionAgendaOption> OPTION_MAPPER = (rs, rowNum) -> new SessionAgendaOption(
+        rs.getObject(1, UUID.class),
+        rs.getTimestamp(2).toLocalDateTime(),
+        rs.getTimestamp(3).toLocalDateTime(),
+        rs.getObject(4, UUID.class),
+        rs.getString(5),
+        rs.getString(6));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SessionOptionRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<SessionAgendaOption> findSessionAgendaOptions(LocalDateTime endingAfter) {
+        return jdbcTemplate.query(SELECT_OPTIONS, OPTION_MAPPER, Timestamp.valueOf(endingAfter));
+    }
+}
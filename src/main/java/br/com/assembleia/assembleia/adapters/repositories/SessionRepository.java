@@ -10,8 +10,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
-public interface SessionRepository extends JpaRepository<Session, UUID> {
+public interface SessionRepository extends JpaRepository<Session, UUID>, SessionListingRepository,
+        SessionOptionRepository {
     
     @Query("SELECT s FROM Session s WHERE s.startDate <= :currentTime AND s.endDate >= :currentTime")
     List<Session> findActiveSessions(@Param("currentTime") LocalDateTime currentTime);
+
+    @Query("SELECT s FROM Session s WHERE s.endDate >= :currentTime")
+    List<Session> findSessionsEndingAfter(@Param("currentTime") LocalDateTime currentTime);
 }
@@ -0,0 +1,25 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import br.com.assembleia.assembleia.infra.db.entities.Vote;
+
+/**
+ * Escrita em lote de votos, fora do ciclo de vida do JPA
+ */
+public interface VoteBatchRepository {
+
+    /**
+     * Insere os votos com INSERTs multi-linha, ignorando os que já existem para o mesmo participante e pauta.
+     * Retorna os ids dos votos efetivamente inseridos.
+     */
+    Set<UUID> insertIgnoringDuplicates(List<Vote> votes);
+
+    /**
+     * Dos ids informados, os que já estão gravados. Separa um voto reentregue (mesmo id já no banco)
+     * de um segundo voto do mesmo participante, que foi descartado pelo ON CONFLICT.
+     */
+    Set<UUID> findExistingIds(List<UUID> voteIds);
+}
@@ -0,0 +1,76 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.assembleia.assembleia.infra.db.entities.Vote;
+
+public class VoteBatchRepositoryImpl implements VoteBatchRepository {
+
+    // O PostgreSQL aceita no máximo 32767 parâmetros por comando
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final String INSERT_PREFIX =
+        "INSERT INTO votacao.votos (id, pauta_id, cpf, voto, data_hora, version) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_SUFFIX = " ON CONFLICT (pauta_id, cpf) DO NOTHING RETURNING id";
+    private static final String EXISTING_PREFIX = "SELECT id FROM votacao.votos WHERE id IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VoteBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<UUID> insertIgnoringDuplicates(List<Vote> votes) {
+        Set<UUID> inserted = new HashSet<>(votes.size() * 2);
+        for (int from = 0; from < votes.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Vote> chunk = votes.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, votes.size()));
+            inserted.addAll(insertChunk(chunk));
+        }
+        return inserted;
+    }
+
+    @Override
+    public Set<UUID> findExistingIds(List<UUID> voteIds) {
+        Set<UUID> existing = new HashSet<>();
+        for (int from = 0; from < voteIds.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<UUID> chunk = voteIds.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, voteIds.size()));
+            StringBuilder sql = new StringBuilder(EXISTING_PREFIX.length() + chunk.size() * 3);
+            sql.append(EXISTING_PREFIX);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+            existing.addAll(jdbcTemplate.queryForList(sql.toString(), UUID.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    private List<UUID> insertChunk(List<Vote> chunk) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length()
+            + chunk.size() * (ROW_PLACEHOLDER.length() + 2) + INSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(chunk.size() * 5);
+        for (int i = 0; i < chunk.size(); i++) {
+            Vote vote = chunk.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args.add(vote.getId());
+            args.add(vote.getAgenda().getId());
+            args.add(vote.getCpf());
+            args.add(vote.getVote().name());
+            args.add(Timestamp.valueOf(vote.getDateTime()));
+        }
+        sql.append(INSERT_SUFFIX);
+        return jdbcTemplate.queryForList(sql.toString(), UUID.class, args.toArray());
+    }
+}
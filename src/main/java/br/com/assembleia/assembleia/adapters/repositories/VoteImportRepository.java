@@ -0,0 +1,35 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+/**
+ * Importação de votos em lote pelo COPY do PostgreSQL
+ */
+public interface VoteImportRepository {
+
+    /**
+     * Copia os votos para uma tabela temporária à medida que o stream é consumido e os insere em
+     * votacao.votos ignorando participantes que já votaram na pauta (inclusive repetidos na própria
+     * importação, onde vale a primeira linha). Os votos inseridos também entram no outbox na mesma
+     * instrução, para chegarem ao vote-events como os votos da API. Precisa rodar dentro de uma
+     * transação.
+     */
+    ImportResult importVotes(Stream<VoteRegisteredEventDTO> votes);
+
+    /**
+     * @param staged votos copiados para a tabela temporária
+     * @param tallies votos efetivamente inseridos, por agenda e fatia da apuração
+     */
+    record ImportResult(long staged, List<TallyDelta> tallies) {
+
+        public long accepted() {
+            return tallies.stream().mapToLong(tally -> tally.yesCount() + tally.noCount()).sum();
+        }
+    }
+
+    record TallyDelta(UUID agendaId, int bucket, long yesCount, long noCount) {}
+}
@@ -0,0 +1,113 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+public class VoteImportRepositoryImpl implements VoteImportRepository {
+
+    private static final String CREATE_STAGING =
+        "CREATE TEMP TABLE votos_importacao (linha BIGINT NOT NULL, id UUID NOT NULL, pauta_id UUID NOT NULL, "
+            + "cpf BIGINT NOT NULL, voto VARCHAR(3) NOT NULL, data_hora TIMESTAMP NOT NULL, fatia SMALLINT NOT NULL) "
+            + "ON COMMIT DROP";
+    private static final String COPY_STAGING =
+        "COPY votos_importacao (linha, id, pauta_id, cpf, voto, data_hora, fatia) FROM STDIN (FORMAT csv)";
+    private static final String MERGE = """
+        WITH inseridos AS (
+            INSERT INTO votacao.votos (id, pauta_id, cpf, voto, data_hora, version)
+            SELECT DISTINCT ON (pauta_id, cpf) id, pauta_id, cpf, voto, data_hora, 0
+            FROM votos_importacao
+            ORDER BY pauta_id, cpf, linha
+            ON CONFLICT ON CONSTRAINT un_participante_pauta DO NOTHING
+            RETURNING id, pauta_id, cpf, voto, data_hora
+        ), publicados AS (
+            INSERT INTO votacao.votos_outbox (voto_id, pauta_id, cpf, voto, data_hora, criado_em)
+            SELECT id, pauta_id, cpf, voto, data_hora, ?
+            FROM inseridos
+        )
+        SELECT s.pauta_id, s.fatia,
+               COUNT(*) FILTER (WHERE i.voto = 'YES') AS sim,
+               COUNT(*) FILTER (WHERE i.voto = 'NO') AS nao
+        FROM inseridos i
+        JOIN votos_importacao s ON s.id = i.id
+        GROUP BY s.pauta_id, s.fatia
+        ORDER BY s.pauta_id, s.fatia
+        """;
+
+    // Linhas são enviadas ao COPY em blocos deste tamanho; nada além de um bloco fica em memória
+    private static final int COPY_CHUNK_CHARS = 64 * 1024;
+
+    private static final RowMapper<TallyDelta> TALLY_MAPPER = (rs, rowNum) -> new TallyDelta(
+        rs.getObject("pauta_id", UUID.class),
+        rs.getInt("fatia"),
+        rs.getLong("sim"),
+        rs.getLong("nao"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VoteEventSharding voteEventSharding;
+
+    public VoteImportRepositoryImpl(JdbcTemplate jdbcTemplate, VoteEventSharding voteEventSharding) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.voteEventSharding = voteEventSharding;
+    }
+
+    @Override
+    public ImportResult importVotes(Stream<VoteRegisteredEventDTO> votes) {
+        jdbcTemplate.execute(CREATE_STAGING);
+        Long staged = jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+            copy(connection.unwrap(PGConnection.class), votes));
+        List<TallyDelta> tallies = jdbcTemplate.query(MERGE, TALLY_MAPPER, Timestamp.valueOf(LocalDateTime.now()));
+        return new ImportResult(staged != null ? staged : 0L, tallies);
+    }
+
+    private long copy(PGConnection connection, Stream<VoteRegisteredEventDTO> votes) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_STAGING);
+        try {
+            StringBuilder chunk = new StringBuilder(COPY_CHUNK_CHARS + 256);
+            long line = 0;
+            Iterator<VoteRegisteredEventDTO> iterator = votes.iterator();
+            while (iterator.hasNext()) {
+                VoteRegisteredEventDTO vote = iterator.next();
+                chunk.append(++line).append(',')
+                    .append(vote.voteId()).append(',')
+                    .append(vote.agendaId()).append(',')
+                    .append(vote.cpf()).append(',')
+                    .append(vote.vote().name()).append(',')
+                    .append(vote.votedAt()).append(',')
+                    .append(voteEventSharding.bucket(vote.cpf())).append('\n');
+                if (chunk.length() >= COPY_CHUNK_CHARS) {
+                    write(copyIn, chunk);
+                }
+            }
+            write(copyIn, chunk);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+/**
+ * Outbox dos eventos de voto: gravado na requisição e drenado para o vote-events pelo relay. É um
+ * repositório próprio sobre votacao.votos_outbox, fora do repositório JPA de votos.
+ */
+public interface VoteOutboxRepository {
+
+    void insertOutbox(VoteRegisteredEventDTO event, LocalDateTime createdAt);
+
+    /**
+     * Bloqueia as entradas mais antigas do outbox, pulando as que já estão com outra réplica.
+     * Precisa rodar dentro de uma transação.
+     */
+    List<OutboxEntry> lockOutboxBatch(int limit);
+
+    void deleteOutbox(List<Long> ids);
+
+    /**
+     * Data de gravação da entrada mais antiga ainda no outbox, vazio se o outbox estiver vazio
+     */
+    Optional<LocalDateTime> findOldestOutboxCreatedAt();
+
+    /**
+     * Indica se ainda há votos da agenda no outbox, isto é, ainda não enviados ao vote-events
+     */
+    boolean existsOutboxByAgendaId(UUID agendaId);
+
+    record OutboxEntry(long id, VoteRegisteredEventDTO event, LocalDateTime createdAt) {}
+}
@@ -0,0 +1,88 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+@Repository
+public class VoteOutboxRepositoryImpl implements VoteOutboxRepository {
+
+    private static final String INSERT =
+        "INSERT INTO votacao.votos_outbox (voto_id, pauta_id, cpf, voto, data_hora, criado_em) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String LOCK_BATCH =
+        "SELECT id, voto_id, pauta_id, cpf, voto, data_hora, criado_em FROM votacao.votos_outbox "
+            + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String OLDEST =
+        "SELECT criado_em FROM votacao.votos_outbox ORDER BY id LIMIT 1";
+    // Servida pelo índice em pauta_id (V12)
+    private static final String EXISTS_BY_AGENDA =
+        "SELECT 1 FROM votacao.votos_outbox WHERE pauta_id = ? LIMIT 1";
+    private static final String DELETE_PREFIX = "DELETE FROM votacao.votos_outbox WHERE id IN (";
+
+    private static final RowMapper<OutboxEntry> ENTRY_MAPPER = (rs, rowNum) -> new OutboxEntry(
+        rs.getLong("id"),
+        VoteRegisteredEventDTO.from(
+            rs.getObject("voto_id", UUID.class),
+            rs.getObject("pauta_id", UUID.class),
+            rs.getLong("cpf"),
+            VoteStatus.valueOf(rs.getString("voto")),
+            rs.getTimestamp("data_hora").toLocalDateTime()),
+        rs.getTimestamp("criado_em").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VoteOutboxRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertOutbox(VoteRegisteredEventDTO event, LocalDateTime createdAt) {
+        jdbcTemplate.update(INSERT,
+            event.voteId(),
+            event.agendaId(),
+            event.cpf(),
+            event.vote().name(),
+            Timestamp.valueOf(event.votedAt()),
+            Timestamp.valueOf(createdAt));
+    }
+
+    @Override
+    public List<OutboxEntry> lockOutboxBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH, ENTRY_MAPPER, limit);
+    }
+
+    @Override
+    public void deleteOutbox(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(DELETE_PREFIX.length() + ids.size() * 3);
+        sql.append(DELETE_PREFIX);
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        jdbcTemplate.update(sql.toString(), ids.toArray());
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestOutboxCreatedAt() {
+        return jdbcTemplate.query(OLDEST, (rs, rowNum) -> rs.getTimestamp("criado_em").toLocalDateTime())
+            .stream()
+            .findFirst();
+    }
+
+    @Override
+    public boolean existsOutboxByAgendaId(UUID agendaId) {
+        return !jdbcTemplate.queryForList(EXISTS_BY_AGENDA, Integer.class, agendaId).isEmpty();
+    }
+}
@@ -8,8 +8,9 @@ import br.com.assembleia.assembleia.infra.db.entities.Vote;
 import java.util.List;
 import java.util.UUID;
 
-public interface VoteRepository extends JpaRepository<Vote, UUID> {
-    boolean existsByAgendaIdAndCpf(UUID agendaId, String cpf);
+public interface VoteRepository extends JpaRepository<Vote, UUID>, VoteBatchRepository, VoterScanRepository,
+        VoteImportRepository {
+    boolean existsByAgendaIdAndCpf(UUID agendaId, long cpf);
     long countByAgendaIdAndVote(UUID agendaId, VoteStatus vote);
     long countByAgendaId(UUID agendaId);
     List<Vote> findByAgendaId(UUID agendaId);
@@ -0,0 +1,57 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.assembleia.assembleia.infra.db.entities.VoteTally;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface VoteTallyRepository extends JpaRepository<VoteTally, VoteTally.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO votacao.apuracao_fatias AS a (pauta_id, fatia, votos_sim, votos_nao, atualizado_em) "
+            + "VALUES (:agendaId, :bucket, :yes, :no, :updatedAt) "
+            + "ON CONFLICT (pauta_id, fatia) DO UPDATE SET "
+            + "votos_sim = a.votos_sim + EXCLUDED.votos_sim, "
+            + "votos_nao = a.votos_nao + EXCLUDED.votos_nao, "
+            + "atualizado_em = EXCLUDED.atualizado_em",
+            nativeQuery = true)
+    void increment(@Param("agendaId") UUID agendaId, @Param("bucket") int bucket, @Param("yes") long yes,
+            @Param("no") long no, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Bloqueio da agenda usado pela reconciliação: exclusivo, espera as transações que estão gravando
+     * votos ou fatias da agenda e impede novas até o commit
+     */
+    @Query(value = "SELECT 1 FROM votacao.pautas WHERE id = :agendaId FOR UPDATE", nativeQuery = true)
+    List<Integer> lockAgenda(@Param("agendaId") UUID agendaId);
+
+    /**
+     * Bloqueio da agenda usado por quem incrementa as fatias: compartilhado entre os consumidores,
+     * mas exclusivo com a reconciliação
+     */
+    @Query(value = "SELECT 1 FROM votacao.pautas WHERE id = :agendaId FOR SHARE", nativeQuery = true)
+    List<Integer> lockAgendaShared(@Param("agendaId") UUID agendaId);
+
+    @Modifying
+    @Query(value = "DELETE FROM votacao.apuracao_fatias WHERE pauta_id = :agendaId", nativeQuery = true)
+    void deleteByAgendaId(@Param("agendaId") UUID agendaId);
+
+    /**
+     * Soma das fatias da agenda: votos sim, votos não, última atualização e quantidade de fatias
+     */
+    @Query(value = "SELECT COALESCE(SUM(votos_sim), 0), COALESCE(SUM(votos_nao), 0), MAX(atualizado_em), COUNT(*) "
+            + "FROM votacao.apuracao_fatias WHERE pauta_id = :agendaId",
+            nativeQuery = true)
+    List<Object[]> sumByAgendaId(@Param("agendaId") UUID agendaId);
+
+    @Query(value = "SELECT COUNT(*) FILTER (WHERE voto = 'YES'), COUNT(*) FILTER (WHERE voto = 'NO') "
+            + "FROM votacao.votos WHERE pauta_id = :agendaId",
+            nativeQuery = true)
+    List<Object[]> countVotesByAgendaId(@Param("agendaId") UUID agendaId);
+}
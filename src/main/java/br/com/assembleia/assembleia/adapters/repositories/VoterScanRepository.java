@@ -0,0 +1,15 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Varredura em streaming dos participantes que já votaram, sem materializar entidades
+ */
+public interface VoterScanRepository {
+
+    void forEachVoter(UUID agendaId, ObjLongConsumer<UUID> action);
+
+    void forEachVoterOfSessionsEndingAfter(LocalDateTime dateTime, ObjLongConsumer<UUID> action);
+}
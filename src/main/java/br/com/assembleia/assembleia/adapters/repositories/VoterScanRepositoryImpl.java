@@ -0,0 +1,46 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+public class VoterScanRepositoryImpl implements VoterScanRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VoterScanRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public void forEachVoter(UUID agendaId, ObjLongConsumer<UUID> action) {
+        jdbcTemplate.query(
+            "SELECT pauta_id, cpf FROM votacao.votos WHERE pauta_id = ?",
+            voterHandler(action),
+            agendaId);
+    }
+
+    @Override
+    public void forEachVoterOfSessionsEndingAfter(LocalDateTime dateTime, ObjLongConsumer<UUID> action) {
+        jdbcTemplate.query(
+            "SELECT v.pauta_id, v.cpf FROM votacao.votos v "
+                + "JOIN votacao.pautas p ON p.id = v.pauta_id "
+                + "JOIN votacao.sessoes s ON s.id = p.sessao_id "
+                + "WHERE s.data_fim >= ?",
+            voterHandler(action),
+            Timestamp.valueOf(dateTime));
+    }
+
+    private static RowCallbackHandler voterHandler(ObjLongConsumer<UUID> action) {
+        return rs -> action.accept(rs.getObject(1, UUID.class), rs.getLong(2));
+    }
+}
@@ -0,0 +1,249 @@
+package br.com.assembleia.assembleia.adapters.sse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.assembleia.assembleia.adapters.dtos.VotingResultDTO;
+import br.com.assembleia.assembleia.application.usecases.VoteUseCase;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache.FinalVotingResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Distribui o resultado das votações para os inscritos em GET /v1/votes/results/{agendaId}/stream.
+ *
+ * Cada pauta com inscritos tem um único canal: a cada intervalo mínimo o resultado é lido uma vez
+ * (contadores do Redis ou apuração), serializado uma vez e enviado a todos os inscritos só se mudou,
+ * então o custo por intervalo não depende do número de conexões. As conexões são assíncronas
+ * (SseEmitter), sem thread presa por inscrito. Quando o resultado final é congelado ele é enviado
+ * como evento "final" e todas as conexões da pauta são encerradas.
+ */
+@Component
+public class VotingResultBroadcaster {
+
+    public static final String RESULT_EVENT = "result";
+    public static final String FINAL_EVENT = "final";
+
+    private static final Logger logger = LoggerFactory.getLogger(VotingResultBroadcaster.class);
+
+    private final VoteUseCase voteUseCase;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Executor publishExecutor;
+    private final Duration minInterval;
+    private final long heartbeatNanos;
+    private final long timeoutMillis;
+    private final int maxSubscribers;
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public VotingResultBroadcaster(
+            VoteUseCase voteUseCase,
+            ObjectMapper objectMapper,
+            TaskScheduler taskScheduler,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor publishExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${assembleia.votes.results-sse.min-interval:1s}") Duration minInterval,
+            @Value("${assembleia.votes.results-sse.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${assembleia.votes.results-sse.timeout:30m}") Duration timeout,
+            @Value("${assembleia.votes.results-sse.max-subscribers:10000}") int maxSubscribers) {
+        this.voteUseCase = voteUseCase;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.publishExecutor = publishExecutor;
+        this.minInterval = minInterval;
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.timeoutMillis = timeout.toMillis();
+        this.maxSubscribers = maxSubscribers;
+
+        Gauge.builder("assembleia.votes.results-sse.subscribers", subscribers, AtomicInteger::get)
+            .description("Conexões SSE abertas de resultados de votação")
+            .register(meterRegistry);
+        Gauge.builder("assembleia.votes.results-sse.channels", channels, Map::size)
+            .description("Pautas com inscritos no SSE de resultados")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Inscreve uma nova conexão e envia o resultado atual. Lança IllegalArgumentException se a
+     * pauta não existe e IllegalStateException se o limite de conexões desta instância foi atingido.
+     */
+    public SseEmitter subscribe(UUID agendaId) {
+        Channel active = channels.get(agendaId);
+        VotingResultDTO current = active != null && active.lastSent != null
+            ? active.lastSent
+            : voteUseCase.getVotingResults(agendaId);
+        Optional<FinalVotingResult> finalResult = voteUseCase.findFinalVotingResults(agendaId);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        if (finalResult.isPresent()) {
+            send(emitter, event(FINAL_EVENT, finalResult.get().result()));
+            emitter.complete();
+            return emitter;
+        }
+
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new IllegalStateException("Too many result stream subscribers.");
+        }
+
+        Channel channel = channels.compute(agendaId, (id, existing) -> {
+            Channel target = existing != null ? existing : open(id, current);
+            target.subscribers.add(emitter);
+            return target;
+        });
+        emitter.onCompletion(() -> unsubscribe(channel, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(channel, emitter));
+
+        if (!send(emitter, event(RESULT_EVENT, current))) {
+            close(channel, emitter);
+        }
+        return emitter;
+    }
+
+    private Channel open(UUID agendaId, VotingResultDTO current) {
+        Channel channel = new Channel(agendaId);
+        channel.lastSent = current;
+        channel.lastSentAt = System.nanoTime();
+        channel.task = taskScheduler.scheduleWithFixedDelay(() -> {
+            if (channel.publishing.compareAndSet(false, true)) {
+                publishExecutor.execute(() -> {
+                    try {
+                        publish(channel);
+                    } finally {
+                        channel.publishing.set(false);
+                    }
+                });
+            }
+        }, minInterval);
+        logger.debug("Canal SSE de resultados aberto para a pauta {}", agendaId);
+        return channel;
+    }
+
+    private void unsubscribe(Channel channel, SseEmitter emitter) {
+        if (channel.subscribers.remove(emitter)) {
+            subscribers.decrementAndGet();
+        }
+        channels.computeIfPresent(channel.agendaId, (id, existing) -> {
+            if (existing != channel || !existing.subscribers.isEmpty()) {
+                return existing;
+            }
+            existing.task.cancel(false);
+            logger.debug("Canal SSE de resultados fechado para a pauta {}", id);
+            return null;
+        });
+    }
+
+    void publish(Channel channel) {
+        if (channel.subscribers.isEmpty()) {
+            return;
+        }
+
+        VotingResultDTO result;
+        Optional<FinalVotingResult> finalResult;
+        try {
+            result = voteUseCase.getVotingResults(channel.agendaId);
+            finalResult = voteUseCase.findFinalVotingResults(channel.agendaId);
+        } catch (Exception e) {
+            logger.warn("Erro ao ler resultado da pauta {} para o SSE: {}", channel.agendaId, e.getMessage());
+            return;
+        }
+
+        if (finalResult.isPresent()) {
+            Set<DataWithMediaType> event = event(FINAL_EVENT, finalResult.get().result());
+            for (SseEmitter emitter : channel.subscribers) {
+                send(emitter, event);
+                close(channel, emitter);
+            }
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (!result.equals(channel.lastSent)) {
+            channel.lastSent = result;
+            channel.lastSentAt = now;
+            broadcast(channel, event(RESULT_EVENT, result));
+        } else if (now - channel.lastSentAt >= heartbeatNanos) {
+            channel.lastSentAt = now;
+            broadcast(channel, SseEmitter.event().comment("heartbeat").build());
+        }
+    }
+
+    private void broadcast(Channel channel, Set<DataWithMediaType> event) {
+        for (SseEmitter emitter : channel.subscribers) {
+            if (!send(emitter, event)) {
+                close(channel, emitter);
+            }
+        }
+    }
+
+    private void close(Channel channel, SseEmitter emitter) {
+        emitter.complete();
+        unsubscribe(channel, emitter);
+    }
+
+    /**
+     * O evento é montado e serializado uma vez por intervalo e reaproveitado para todos os inscritos
+     */
+    private Set<DataWithMediaType> event(String name, VotingResultDTO result) {
+        try {
+            return SseEmitter.event()
+                .name(name)
+                .data(objectMapper.writeValueAsString(result), MediaType.APPLICATION_JSON)
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize voting result.", e);
+        }
+    }
+
+    private static boolean send(SseEmitter emitter, Set<DataWithMediaType> event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Conexão SSE de resultados encerrada: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.get();
+    }
+
+    static final class Channel {
+        final UUID agendaId;
+        final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+        final AtomicBoolean publishing = new AtomicBoolean();
+        volatile ScheduledFuture<?> task;
+        volatile VotingResultDTO lastSent;
+        volatile long lastSentAt;
+
+        Channel(UUID agendaId) {
+            this.agendaId = agendaId;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.assembleia.assembleia.application.jobs;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.infra.cache.ActiveSessionIndex;
+
+/**
+ * Carrega o índice de sessões não encerradas na inicialização e o recarrega periodicamente, para
+ * incluir sessões gravadas por outras réplicas
+ */
+@Component
+public class ActiveSessionIndexRefreshJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveSessionIndexRefreshJob.class);
+
+    private final SessionGateway sessionGateway;
+    private final ActiveSessionIndex activeSessionIndex;
+
+    public ActiveSessionIndexRefreshJob(SessionGateway sessionGateway, ActiveSessionIndex activeSessionIndex) {
+        this.sessionGateway = sessionGateway;
+        this.activeSessionIndex = activeSessionIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+        logger.info("Índice de sessões ativas carregado com {} sessões", activeSessionIndex.size());
+    }
+
+    @Scheduled(fixedDelayString = "${assembleia.sessions.active-index.refresh-interval:1m}",
+               initialDelayString = "${assembleia.sessions.active-index.refresh-interval:1m}")
+    public void refresh() {
+        try {
+            long mark = activeSessionIndex.loadMark();
+            activeSessionIndex.load(sessionGateway.findSessionsEndingAfter(LocalDateTime.now()), mark);
+        } catch (Exception e) {
+            logger.warn("Erro ao recarregar o índice de sessões ativas: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package br.com.assembleia.assembleia.application.jobs;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.application.usecases.VoteUseCase;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache;
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VotingResultFinalEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
+import br.com.assembleia.assembleia.infra.scheduling.TimerWheel;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Reage à abertura e ao encerramento das sessões com uma roda de temporização sobre as datas de
+ * início e fim das sessões ainda não encerradas.
+ *
+ * Na abertura aquece o cache de agendas e os contadores do Redis das agendas da sessão; no fim
+ * marca a sessão como encerrada; depois do settle-delay congela, grava e publica no voting-results
+ * o resultado final de cada agenda, tentando de novo a cada finalize-retry as agendas que ainda não
+ * puderam ser congeladas ou publicadas; é o único ponto que congela resultados, as requisições só
+ * leem o resultado já gravado. O status mantido aqui é o que as telas consultam, sem comparar
+ * datas a cada requisição. As sessões são carregadas na inicialização, registradas por
+ * SessionUseCase.save e ressincronizadas periodicamente com o banco para incluir sessões criadas
+ * por outras réplicas.
+ */
+@Component
+public class SessionLifecycleScheduler implements SessionStatusResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionLifecycleScheduler.class);
+
+    private final SessionGateway sessionGateway;
+    private final AgendaGateway agendaGateway;
+    private final VoteUseCase voteUseCase;
+    private final AssembleiaEventProducer eventProducer;
+    private final TaskScheduler taskScheduler;
+    private final Executor transitionExecutor;
+    private final boolean enabled;
+    private final Duration tick;
+    private final Duration settleDelay;
+    private final Duration lookback;
+    private final Duration finalizeRetry;
+    private final TimerWheel<Transition> wheel;
+    private final Map<UUID, TrackedSession> sessions = new ConcurrentHashMap<>();
+    private volatile ScheduledFuture<?> ticking;
+
+    public SessionLifecycleScheduler(
+            SessionGateway sessionGateway,
+            AgendaGateway agendaGateway,
+            VoteUseCase voteUseCase,
+            AssembleiaEventProducer eventProducer,
+            FinalResultCache finalResultCache,
+            TaskScheduler taskScheduler,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor transitionExecutor,
+            @Value("${assembleia.sessions.lifecycle.enabled:true}") boolean enabled,
+            @Value("${assembleia.sessions.lifecycle.tick:1s}") Duration tick,
+            @Value("${assembleia.sessions.lifecycle.wheel-size:512}") int wheelSize,
+            @Value("${assembleia.sessions.lifecycle.lookback:1d}") Duration lookback,
+            @Value("${assembleia.sessions.lifecycle.finalize-retry:5s}") Duration finalizeRetry) {
+        this.sessionGateway = sessionGateway;
+        this.agendaGateway = agendaGateway;
+        this.voteUseCase = voteUseCase;
+        this.eventProducer = eventProducer;
+        this.taskScheduler = taskScheduler;
+        this.transitionExecutor = transitionExecutor;
+        this.enabled = enabled;
+        this.tick = tick;
+        this.settleDelay = finalResultCache.settleDelay();
+        this.lookback = lookback;
+        this.finalizeRetry = finalizeRetry;
+        this.wheel = new TimerWheel<>(tick, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * Carrega as sessões encerradas dentro do lookback (para pré-calcular os resultados finais que
+     * ainda não estão em memória) e as que ainda vão abrir ou fechar, e começa a girar a roda
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            sessionGateway.findSessionsEndingAfter(LocalDateTime.now().minus(lookback)).forEach(this::track);
+        } catch (Exception e) {
+            logger.error("Erro ao carregar sessões para o agendador de ciclo de vida: {}", e.getMessage());
+        }
+        ticking = taskScheduler.scheduleAtFixedRate(this::advance, tick);
+        logger.info("Agendador de ciclo de vida das sessões iniciado com {} sessões", sessions.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        ScheduledFuture<?> current = ticking;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    /**
+     * Inclui sessões gravadas por outras réplicas desde a última sincronização. Sessões já
+     * finalizadas (fim + settle-delay no passado) não voltam para a roda.
+     */
+    @Scheduled(fixedDelayString = "${assembleia.sessions.lifecycle.resync-interval:1m}",
+               initialDelayString = "${assembleia.sessions.lifecycle.resync-interval:1m}")
+    public void resync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (Session session : sessionGateway.findSessionsEndingAfter(LocalDateTime.now().minus(settleDelay))) {
+                TrackedSession tracked = sessions.get(session.getId());
+                if (tracked == null || !tracked.matches(session.getStartDate(), session.getEndDate())) {
+                    track(session);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Erro ao ressincronizar sessões do agendador de ciclo de vida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registra (ou reagenda, se as datas mudaram) as transições de uma sessão. Transições já
+     * agendadas com as datas antigas são descartadas quando vencem.
+     */
+    public void track(Session session) {
+        if (!enabled || session.getId() == null) {
+            return;
+        }
+        UUID sessionId = session.getId();
+        LocalDateTime startDate = session.getStartDate();
+        LocalDateTime endDate = session.getEndDate();
+        LocalDateTime finalizeAt = endDate.plus(settleDelay);
+        SessionStatus status = SessionStatusResolver.statusAt(startDate, endDate, LocalDateTime.now());
+        sessions.put(sessionId, new TrackedSession(startDate, endDate, status));
+
+        if (status == SessionStatus.PROGRAMADA) {
+            wheel.schedule(new Transition(sessionId, Phase.OPEN, startDate), epochMillis(startDate));
+        } else if (status == SessionStatus.ATIVA) {
+            dispatch(new Transition(sessionId, Phase.OPEN, startDate));
+        }
+        if (status != SessionStatus.ENCERRADA) {
+            wheel.schedule(new Transition(sessionId, Phase.END, endDate), epochMillis(endDate));
+        }
+        // +1 ms: o resultado só é congelado estritamente depois de fim + settle-delay
+        wheel.schedule(new Transition(sessionId, Phase.FINALIZE, endDate), epochMillis(finalizeAt) + 1);
+    }
+
+    /**
+     * Status da sessão pelas transições já disparadas. Sessões fora da roda (encerradas antes do
+     * lookback ou criadas em outra réplica desde a última sincronização) são avaliadas pelas datas.
+     */
+    @Override
+    public SessionStatus status(UUID sessionId, LocalDateTime startDate, LocalDateTime endDate) {
+        TrackedSession tracked = sessions.get(sessionId);
+        if (tracked != null && tracked.matches(startDate, endDate)) {
+            return tracked.status();
+        }
+        return SessionStatusResolver.statusAt(startDate, endDate, LocalDateTime.now());
+    }
+
+    int trackedSessions() {
+        return sessions.size();
+    }
+
+    void advance() {
+        try {
+            wheel.advance(System.currentTimeMillis()).forEach(this::dispatch);
+        } catch (Exception e) {
+            logger.error("Erro ao avançar o agendador de ciclo de vida das sessões: {}", e.getMessage(), e);
+        }
+    }
+
+    private void dispatch(Transition transition) {
+        transitionExecutor.execute(() -> {
+            try {
+                run(transition);
+            } catch (Exception e) {
+                logger.error("Erro na transição {} da sessão {}: {}",
+                       transition.phase(), transition.sessionId(), e.getMessage(), e);
+            }
+        });
+    }
+
+    void run(Transition transition) {
+        TrackedSession tracked = sessions.get(transition.sessionId());
+        if (tracked == null || !tracked.isCurrent(transition)) {
+            return;
+        }
+
+        switch (transition.phase()) {
+            case OPEN -> {
+                setStatus(transition.sessionId(), tracked, SessionStatus.ATIVA);
+                List<Agenda> agendas = agendaGateway.findBySessionId(transition.sessionId());
+                for (Agenda agenda : agendas) {
+                    try {
+                        voteUseCase.getVotingResults(agenda.getId());
+                    } catch (IllegalArgumentException e) {
+                        logger.debug("Agenda {} não encontrada ao abrir a sessão: {}", agenda.getId(), e.getMessage());
+                    }
+                }
+                logger.info("Sessão {} aberta: {} agendas aquecidas", transition.sessionId(), agendas.size());
+            }
+            case END -> {
+                setStatus(transition.sessionId(), tracked, SessionStatus.ENCERRADA);
+                logger.info("Sessão {} encerrada", transition.sessionId());
+            }
+            case FINALIZE -> {
+                setStatus(transition.sessionId(), tracked, SessionStatus.ENCERRADA);
+                LocalDateTime finalizedAt = LocalDateTime.now();
+                int pending = 0;
+                for (Agenda agenda : agendaGateway.findBySessionId(transition.sessionId())) {
+                    if (!finalizeAgenda(agenda.getId(), finalizedAt)) {
+                        pending++;
+                    }
+                }
+                if (pending > 0) {
+                    wheel.schedule(transition, System.currentTimeMillis() + finalizeRetry.toMillis());
+                    logger.info("Sessão {}: {} agendas ainda sem resultado final, nova tentativa em {}",
+                           transition.sessionId(), pending, finalizeRetry);
+                    return;
+                }
+                sessions.computeIfPresent(transition.sessionId(),
+                    (id, current) -> current.matches(tracked.startDate(), tracked.endDate()) ? null : current);
+                logger.info("Resultados finais da sessão {} congelados", transition.sessionId());
+            }
+        }
+    }
+
+    /**
+     * Congela o resultado da agenda e, se esta réplica conseguir a marcação de publicação, publica o
+     * evento final esperando a confirmação do broker. Retorna false quando a agenda precisa de nova
+     * tentativa: votos ainda em trânsito, erro ao congelar ou envio com falha.
+     */
+    private boolean finalizeAgenda(UUID agendaId, LocalDateTime finalizedAt) {
+        try {
+            var finalResult = voteUseCase.finalizeVotingResults(agendaId);
+            if (finalResult.isEmpty()) {
+                return false;
+            }
+            if (voteUseCase.claimFinalResultPublication(agendaId, finalizedAt)) {
+                try {
+                    eventProducer.publishVotingResultFinalEvent(
+                        VotingResultFinalEventDTO.from(finalResult.get().result(), finalizedAt)).join();
+                } catch (RuntimeException e) {
+                    voteUseCase.releaseFinalResultPublication(agendaId);
+                    throw e;
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            logger.error("Erro ao finalizar o resultado da agenda {}: {}", agendaId, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void setStatus(UUID sessionId, TrackedSession tracked, SessionStatus status) {
+        sessions.replace(sessionId, tracked, tracked.withStatus(status));
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    enum Phase {
+        OPEN,
+        END,
+        FINALIZE
+    }
+
+    /**
+     * Transição agendada com a data da sessão que a originou, para descartar transições de datas antigas
+     */
+    record Transition(UUID sessionId, Phase phase, LocalDateTime at) {}
+
+    private record TrackedSession(LocalDateTime startDate, LocalDateTime endDate, SessionStatus status) {
+
+        boolean matches(LocalDateTime start, LocalDateTime end) {
+            return startDate.equals(start) && endDate.equals(end);
+        }
+
+        boolean isCurrent(Transition transition) {
+            return transition.at().equals(transition.phase() == Phase.OPEN ? startDate : endDate);
+        }
+
+        TrackedSession withStatus(SessionStatus newStatus) {
+            return new TrackedSession(startDate, endDate, newStatus);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.assembleia.assembleia.application.jobs;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+
+/**
+ * Status de uma sessão como as telas o exibem. Quem só consulta o status depende desta interface e
+ * não do ciclo de vida inteiro (SessionLifecycleScheduler).
+ */
+@FunctionalInterface
+public interface SessionStatusResolver {
+
+    SessionStatus status(UUID sessionId, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Status calculado só pelas datas da sessão, no instante da consulta
+     */
+    static SessionStatusResolver byDates() {
+        return (sessionId, startDate, endDate) -> statusAt(startDate, endDate, LocalDateTime.now());
+    }
+
+    static SessionStatus statusAt(LocalDateTime startDate, LocalDateTime endDate, LocalDateTime now) {
+        if (now.isBefore(startDate)) {
+            return SessionStatus.PROGRAMADA;
+        }
+        if (now.isAfter(endDate)) {
+            return SessionStatus.ENCERRADA;
+        }
+        return SessionStatus.ATIVA;
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.assembleia.assembleia.application.jobs;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.gateways.VoteOutboxGateway;
+import br.com.assembleia.assembleia.adapters.repositories.VoteOutboxRepository.OutboxEntry;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drena o outbox de votos para o vote-events em lotes.
+ *
+ * Cada lote é bloqueado com FOR UPDATE SKIP LOCKED, então várias réplicas drenam em paralelo sem
+ * enviar a mesma linha duas vezes; o lote só sai do outbox depois que o broker confirma todos os
+ * envios. Se o envio falhar no meio do lote, parte dele pode ser reenviada: o consumidor ignora
+ * votos duplicados.
+ *
+ * O relay roda em um agendador próprio, de uma thread, e não no agendador compartilhado dos
+ * @Scheduled: com o broker fora do ar um lote pode segurar a thread até o send-timeout, e isso não
+ * deve atrasar os outros jobs. A idade da entrada mais antiga do outbox é exposta como gauge.
+ */
+@Component
+public class VoteOutboxRelayJob implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteOutboxRelayJob.class);
+
+    private final VoteOutboxGateway voteOutboxGateway;
+    private final AssembleiaEventProducer eventProducer;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration sendTimeout;
+    private final Duration relayInterval;
+
+    private final DistributionSummary batchSizes;
+    private final Timer lag;
+    private volatile LocalDateTime oldestPending;
+    private volatile ThreadPoolTaskScheduler scheduler;
+
+    public VoteOutboxRelayJob(
+            VoteOutboxGateway voteOutboxGateway,
+            AssembleiaEventProducer eventProducer,
+            MeterRegistry meterRegistry,
+            @Value("${assembleia.votes.outbox.batch-size:1000}") int batchSize,
+            @Value("${assembleia.votes.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${assembleia.votes.outbox.send-timeout:10s}") Duration sendTimeout,
+            @Value("${assembleia.votes.outbox.relay-interval:100ms}") Duration relayInterval) {
+        this.voteOutboxGateway = voteOutboxGateway;
+        this.eventProducer = eventProducer;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeout = sendTimeout;
+        this.relayInterval = relayInterval;
+
+        this.batchSizes = DistributionSummary.builder("assembleia.votes.outbox.batch.size")
+            .description("Eventos enviados por lote do relay do outbox")
+            .register(meterRegistry);
+        this.lag = Timer.builder("assembleia.votes.outbox.lag")
+            .description("Tempo entre a gravação no outbox e a confirmação do envio ao Kafka")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        Gauge.builder("assembleia.votes.outbox.oldest.age", this, VoteOutboxRelayJob::oldestPendingAgeSeconds)
+            .description("Idade da entrada mais antiga ainda no outbox, medida na última rodada do relay")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        ThreadPoolTaskScheduler relayScheduler = new ThreadPoolTaskScheduler();
+        relayScheduler.setPoolSize(1);
+        relayScheduler.setThreadNamePrefix("outbox-relay-");
+        relayScheduler.initialize();
+        relayScheduler.scheduleWithFixedDelay(this::relay, relayInterval);
+        scheduler = relayScheduler;
+    }
+
+    @Override
+    public void stop() {
+        ThreadPoolTaskScheduler relayScheduler = scheduler;
+        if (relayScheduler != null) {
+            relayScheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    public void relay() {
+        try {
+            int batches = 0;
+            int relayed;
+            do {
+                relayed = voteOutboxGateway.relay(batchSize, this::publish);
+                batches++;
+            } while (relayed == batchSize && batches < maxBatchesPerRun);
+        } catch (Exception e) {
+            logger.error("Erro ao drenar o outbox de votos, o lote será reenviado: {}", e.getMessage());
+        }
+
+        try {
+            oldestPending = voteOutboxGateway.findOldestPendingCreatedAt().orElse(null);
+        } catch (Exception e) {
+            logger.warn("Erro ao consultar a entrada mais antiga do outbox de votos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Segundos desde a gravação da entrada mais antiga do outbox, 0 com o outbox vazio. Calculado na
+     * leitura, então continua crescendo se o relay parar de rodar.
+     */
+    double oldestPendingAgeSeconds() {
+        LocalDateTime oldest = oldestPending;
+        if (oldest == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    private void publish(List<OutboxEntry> batch) {
+        List<VoteRegisteredEventDTO> events = batch.stream().map(OutboxEntry::event).toList();
+        try {
+            eventProducer.publishVoteRegisteredEvents(events).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Envio do lote do outbox interrompido", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Falha no envio do lote do outbox", e);
+        }
+
+        batchSizes.record(batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEntry entry : batch) {
+            lag.record(Duration.between(entry.createdAt(), now));
+        }
+    }
+}
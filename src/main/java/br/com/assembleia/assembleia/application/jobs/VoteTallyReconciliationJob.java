@@ -0,0 +1,55 @@
+package br.com.assembleia.assembleia.application.jobs;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteTallyGateway;
+
+/**
+ * Reconstrói a apuração a partir da tabela votos para as agendas em votação ou encerradas recentemente
+ */
+@Component
+public class VoteTallyReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteTallyReconciliationJob.class);
+
+    private final AgendaGateway agendaGateway;
+    private final VoteTallyGateway voteTallyGateway;
+    private final Duration lookback;
+
+    public VoteTallyReconciliationJob(
+            AgendaGateway agendaGateway,
+            VoteTallyGateway voteTallyGateway,
+            @Value("${assembleia.votes.tally.reconcile-lookback:1d}") Duration lookback) {
+        this.agendaGateway = agendaGateway;
+        this.voteTallyGateway = voteTallyGateway;
+        this.lookback = lookback;
+    }
+
+    @Scheduled(cron = "${assembleia.votes.tally.reconcile-cron:0 */10 * * * *}")
+    public void reconcile() {
+        List<UUID> agendaIds = agendaGateway.findIdsOfSessionsEndingAfter(LocalDateTime.now().minus(lookback));
+        int drifted = 0;
+        for (UUID agendaId : agendaIds) {
+            try {
+                if (voteTallyGateway.reconcile(agendaId)) {
+                    drifted++;
+                    logger.warn("Apuração da agenda {} divergia da tabela votos e foi reconstruída", agendaId);
+                }
+            } catch (Exception e) {
+                logger.error("Erro ao reconciliar apuração da agenda {}: {}", agendaId, e.getMessage());
+            }
+        }
+        logger.info("Reconciliação da apuração concluída: {} agendas verificadas, {} corrigidas",
+               agendaIds.size(), drifted);
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.stereotype.Component;
 import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
 import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
 import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
+import br.com.assembleia.assembleia.infra.cache.VoteBloomFilter;
 import br.com.assembleia.assembleia.infra.db.entities.Session;
 import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
 
@@ -16,11 +18,16 @@ public class AgendaUseCase {
     private final AgendaGateway agendaGateway;
     private final SessionGateway sessionGateway;
     private final AssembleiaEventProducer eventProducer;
+    private final VoteBloomFilter voteBloomFilter;
+    private final AgendaNearCache agendaNearCache;
 
-    public AgendaUseCase(AgendaGateway agendaGateway, SessionGateway sessionGateway, AssembleiaEventProducer eventProducer) {
+    public AgendaUseCase(AgendaGateway agendaGateway, SessionGateway sessionGateway, AssembleiaEventProducer eventProducer,
+            VoteBloomFilter voteBloomFilter, AgendaNearCache agendaNearCache) {
         this.agendaGateway = agendaGateway;
         this.sessionGateway = sessionGateway;
         this.eventProducer = eventProducer;
+        this.voteBloomFilter = voteBloomFilter;
+        this.agendaNearCache = agendaNearCache;
     }
 
     public void save(Agenda agenda) {
@@ -37,6 +44,7 @@ public class AgendaUseCase {
         }
 
         agendaGateway.save(agenda);
+        agendaNearCache.invalidate(agenda.getId());
     }
 
     public Agenda createAgenda(String title, String description, UUID sessionId) {
@@ -51,6 +59,7 @@ public class AgendaUseCase {
 
         Agenda agenda = new Agenda(title, description, sessionOpt.get());
         save(agenda);
+        voteBloomFilter.trackNewAgenda(agenda.getId());
         return agenda;
     }
 }
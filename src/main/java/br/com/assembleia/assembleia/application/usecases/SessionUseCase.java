@@ -6,6 +6,9 @@ import java.time.LocalDateTime;
 import org.springframework.stereotype.Component;
 
 import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.application.jobs.SessionLifecycleScheduler;
+import br.com.assembleia.assembleia.infra.cache.ActiveSessionIndex;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
 import br.com.assembleia.assembleia.infra.db.entities.Session;
 import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
 
@@ -13,10 +16,18 @@ import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventPro
 public class SessionUseCase {
     private final SessionGateway sessionGateway;
     private final AssembleiaEventProducer eventProducer;
+    private final AgendaNearCache agendaNearCache;
+    private final SessionLifecycleScheduler sessionLifecycleScheduler;
+    private final ActiveSessionIndex activeSessionIndex;
 
-    public SessionUseCase(SessionGateway sessionGateway, AssembleiaEventProducer eventProducer) {
+    public SessionUseCase(SessionGateway sessionGateway, AssembleiaEventProducer eventProducer,
+            AgendaNearCache agendaNearCache, SessionLifecycleScheduler sessionLifecycleScheduler,
+            ActiveSessionIndex activeSessionIndex) {
         this.sessionGateway = sessionGateway;
         this.eventProducer = eventProducer;
+        this.agendaNearCache = agendaNearCache;
+        this.sessionLifecycleScheduler = sessionLifecycleScheduler;
+        this.activeSessionIndex = activeSessionIndex;
     }
 
     public void save(Session session) {
@@ -41,5 +52,8 @@ public class SessionUseCase {
         }
 
         sessionGateway.save(session);
+        agendaNearCache.invalidateSession(session.getId());
+        activeSessionIndex.put(session);
+        sessionLifecycleScheduler.track(session);
     }
 }
@@ -0,0 +1,195 @@
+package br.com.assembleia.assembleia.application.usecases;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.assembleia.assembleia.adapters.dtos.VoteImportRowDTO;
+import br.com.assembleia.assembleia.adapters.dtos.VoteImportSummaryDTO;
+import br.com.assembleia.assembleia.adapters.enums.VoteImportFormat;
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.gateways.FinalResultGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteGateway;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.ImportResult;
+import br.com.assembleia.assembleia.application.utils.CpfValidator;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
+import br.com.assembleia.assembleia.infra.cache.AgendaSnapshot;
+import br.com.assembleia.assembleia.infra.cache.VoteBloomFilter;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.redis.RedisVoteCounter;
+
+/**
+ * Bulk import of votes collected offline (paper ballots, offline tablets).
+ * The upload is read line by line and each valid row is handed to the database COPY as soon as it
+ * is parsed, so memory use does not depend on the size of the upload.
+ */
+@Component
+public class VoteImportUseCase {
+
+    static final int MAX_REPORTED_ERRORS = 20;
+    private static final String CSV_HEADER_PREFIX = "agendaid";
+
+    private final VoteGateway voteGateway;
+    private final AgendaNearCache agendaNearCache;
+    private final FinalResultGateway finalResultGateway;
+    private final VoteBloomFilter voteBloomFilter;
+    private final RedisVoteCounter redisVoteCounter;
+    private final ObjectMapper objectMapper;
+
+    public VoteImportUseCase(VoteGateway voteGateway, AgendaNearCache agendaNearCache,
+            FinalResultGateway finalResultGateway, VoteBloomFilter voteBloomFilter,
+            RedisVoteCounter redisVoteCounter, ObjectMapper objectMapper) {
+        this.voteGateway = voteGateway;
+        this.agendaNearCache = agendaNearCache;
+        this.finalResultGateway = finalResultGateway;
+        this.voteBloomFilter = voteBloomFilter;
+        this.redisVoteCounter = redisVoteCounter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports one vote per line: NDJSON objects or CSV rows "agendaId,cpf,vote[,votedAt]" with an
+     * optional header. Invalid rows are counted and skipped; rows of participants that already voted
+     * on the agenda are counted as duplicates.
+     */
+    public VoteImportSummaryDTO importVotes(Reader body, VoteImportFormat format) {
+        if (body == null || format == null) {
+            throw new IllegalArgumentException("Import body and format are required.");
+        }
+
+        ImportValidation validation = new ImportValidation(format, LocalDateTime.now());
+        BufferedReader lines = body instanceof BufferedReader buffered ? buffered : new BufferedReader(body);
+        ImportResult result;
+        try (Stream<VoteRegisteredEventDTO> votes = lines.lines().map(validation::validate).filter(Objects::nonNull)) {
+            result = voteGateway.importVotes(votes);
+        }
+
+        Map<UUID, long[]> counts = new HashMap<>();
+        result.tallies().forEach(tally -> {
+            long[] count = counts.computeIfAbsent(tally.agendaId(), id -> new long[2]);
+            count[0] += tally.yesCount();
+            count[1] += tally.noCount();
+        });
+        redisVoteCounter.increment(counts);
+
+        long accepted = result.accepted();
+        return new VoteImportSummaryDTO(accepted, result.staged() - accepted, validation.invalid, validation.errors);
+    }
+
+    /**
+     * Validation state of a single import: line numbers, rejected rows and the agendas already checked
+     */
+    private final class ImportValidation {
+        private final VoteImportFormat format;
+        private final LocalDateTime importedAt;
+        private final Map<UUID, AgendaCheck> agendas = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private long lineNumber;
+        private long invalid;
+
+        private ImportValidation(VoteImportFormat format, LocalDateTime importedAt) {
+            this.format = format;
+            this.importedAt = importedAt;
+        }
+
+        private VoteRegisteredEventDTO validate(String line) {
+            lineNumber++;
+            if (line.isBlank()) {
+                return null;
+            }
+            if (format == VoteImportFormat.CSV && lineNumber == 1
+                    && line.strip().toLowerCase(Locale.ROOT).startsWith(CSV_HEADER_PREFIX)) {
+                return null;
+            }
+
+            try {
+                return toVote(format == VoteImportFormat.CSV ? parseCsv(line) : parseNdjson(line));
+            } catch (IllegalArgumentException e) {
+                invalid++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Line " + lineNumber + ": " + e.getMessage());
+                }
+                return null;
+            }
+        }
+
+        private VoteRegisteredEventDTO toVote(VoteImportRowDTO row) {
+            if (row.agendaId() == null || row.cpf() == null || row.vote() == null) {
+                throw new IllegalArgumentException("agendaId, cpf and vote must be filled.");
+            }
+
+            long cpf = CpfValidator.normalize(row.cpf());
+            if (cpf == CpfValidator.INVALID) {
+                throw new IllegalArgumentException("Invalid CPF provided");
+            }
+
+            AgendaCheck check = agendas.computeIfAbsent(row.agendaId(), this::checkAgenda);
+            if (check.error() != null) {
+                throw new IllegalArgumentException(check.error());
+            }
+
+            LocalDateTime votedAt = row.votedAt() != null ? row.votedAt() : importedAt;
+            AgendaSnapshot agenda = check.agenda();
+            if (votedAt.isBefore(agenda.startDate()) || votedAt.isAfter(agenda.endDate())) {
+                throw new IllegalArgumentException("Vote time is outside the voting session.");
+            }
+
+            voteBloomFilter.put(row.agendaId(), cpf);
+            return VoteRegisteredEventDTO.from(UUID.randomUUID(), row.agendaId(), cpf, row.vote(), votedAt);
+        }
+
+        private AgendaCheck checkAgenda(UUID agendaId) {
+            var agenda = agendaNearCache.find(agendaId);
+            if (agenda.isEmpty()) {
+                return new AgendaCheck(null, "Agenda not found with id: " + agendaId);
+            }
+            if (finalResultGateway.findByAgendaId(agendaId).isPresent()) {
+                return new AgendaCheck(null, "Voting results are already final for agenda: " + agendaId);
+            }
+            return new AgendaCheck(agenda.get(), null);
+        }
+
+        private VoteImportRowDTO parseNdjson(String line) {
+            try {
+                return objectMapper.readValue(line, VoteImportRowDTO.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON line.");
+            }
+        }
+
+        private VoteImportRowDTO parseCsv(String line) {
+            String[] columns = line.split(",", -1);
+            if (columns.length < 3 || columns.length > 4) {
+                throw new IllegalArgumentException("Expected columns agendaId,cpf,vote[,votedAt].");
+            }
+            try {
+                String votedAt = columns.length == 4 ? columns[3].strip() : "";
+                return new VoteImportRowDTO(
+                    UUID.fromString(columns[0].strip()),
+                    columns[1].strip(),
+                    VoteStatus.valueOf(columns[2].strip().toUpperCase(Locale.ROOT)),
+                    votedAt.isEmpty() ? null : LocalDateTime.parse(votedAt));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid votedAt, expected yyyy-MM-ddTHH:mm:ss.");
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid agendaId or vote.");
+            }
+        }
+    }
+
+    private record AgendaCheck(AgendaSnapshot agenda, String error) {}
+}
@@ -1,84 +1,276 @@
 package br.com.assembleia.assembleia.application.usecases;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
 import br.com.assembleia.assembleia.adapters.dtos.VotingResultDTO;
+import br.com.assembleia.assembleia.adapters.enums.VoteProcessingStatus;
 import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
-import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.gateways.FinalResultGateway;
 import br.com.assembleia.assembleia.adapters.gateways.VoteGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteOutboxGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteTallyGateway;
 import br.com.assembleia.assembleia.application.utils.CpfValidator;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
+import br.com.assembleia.assembleia.infra.cache.AgendaSnapshot;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache.FinalVotingResult;
+import br.com.assembleia.assembleia.infra.cache.PendingVoteRegistry;
+import br.com.assembleia.assembleia.infra.cache.VoteBloomFilter;
+import br.com.assembleia.assembleia.infra.cache.VoteStatusStore;
 import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.FinalResult;
 import br.com.assembleia.assembleia.infra.db.entities.Vote;
+import br.com.assembleia.assembleia.infra.db.entities.VoteTally;
+import br.com.assembleia.assembleia.infra.messaging.consumers.VoteEventBacklog;
 import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
-import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
+import br.com.assembleia.assembleia.infra.redis.RedisVoteCounter;
 
 @Component
 public class VoteUseCase {
     private final VoteGateway voteGateway;
-    private final AgendaGateway agendaGateway;
-    private final AssembleiaEventProducer eventProducer;
+    private final AgendaNearCache agendaNearCache;
+    private final VoteOutboxGateway voteOutboxGateway;
+    private final VoteBloomFilter voteBloomFilter;
+    private final VoteTallyGateway voteTallyGateway;
+    private final RedisVoteCounter redisVoteCounter;
+    private final FinalResultGateway finalResultGateway;
+    private final FinalResultCache finalResultCache;
+    private final VoteStatusStore voteStatusStore;
+    private final PendingVoteRegistry pendingVoteRegistry;
+    private final VoteEventBacklog voteEventBacklog;
 
-    public VoteUseCase(VoteGateway voteGateway, AgendaGateway agendaGateway, AssembleiaEventProducer eventProducer) {
+    public VoteUseCase(VoteGateway voteGateway, AgendaNearCache agendaNearCache, VoteOutboxGateway voteOutboxGateway,
+            VoteBloomFilter voteBloomFilter, VoteTallyGateway voteTallyGateway, RedisVoteCounter redisVoteCounter,
+            FinalResultGateway finalResultGateway, FinalResultCache finalResultCache, VoteStatusStore voteStatusStore,
+            PendingVoteRegistry pendingVoteRegistry, VoteEventBacklog voteEventBacklog) {
         this.voteGateway = voteGateway;
-        this.agendaGateway = agendaGateway;
-        this.eventProducer = eventProducer;
+        this.agendaNearCache = agendaNearCache;
+        this.voteOutboxGateway = voteOutboxGateway;
+        this.voteBloomFilter = voteBloomFilter;
+        this.voteTallyGateway = voteTallyGateway;
+        this.redisVoteCounter = redisVoteCounter;
+        this.finalResultGateway = finalResultGateway;
+        this.finalResultCache = finalResultCache;
+        this.voteStatusStore = voteStatusStore;
+        this.pendingVoteRegistry = pendingVoteRegistry;
+        this.voteEventBacklog = voteEventBacklog;
     }
 
     public boolean hasVoted(UUID agendaId, String cpf) {
+        long normalizedCpf = CpfValidator.normalize(cpf);
+        if (normalizedCpf == CpfValidator.INVALID) {
+            return false;
+        }
+        return hasVoted(agendaId, normalizedCpf);
+    }
+
+    /**
+     * Votes accepted by this instance but not yet persisted count as cast, without a database read
+     */
+    public boolean hasVoted(UUID agendaId, long cpf) {
+        if (pendingVoteRegistry.isPending(agendaId, cpf)) {
+            return true;
+        }
+        if (voteBloomFilter.isDefinitelyAbsent(agendaId, cpf)) {
+            return false;
+        }
         return voteGateway.existsByAgendaIdAndCpf(agendaId, cpf);
     }
 
     public Vote registerVote(Agenda agenda, String cpf, VoteStatus vote) {
+        VoteRegisteredEventDTO event = registerVote(AgendaSnapshot.of(agenda), cpf, vote);
+        return new Vote(event.voteId(), agenda, event.cpf(), event.vote(), event.votedAt());
+    }
+
+    /**
+     * Registers a vote using the cached agenda data, without loading the Agenda entity.
+     * The vote is only accepted here: it is written to the outbox, relayed to vote-events and
+     * persisted later by the consumer; its progress can be followed through {@link #findVoteStatus(UUID)}.
+     */
+    public VoteRegisteredEventDTO registerVote(AgendaSnapshot agenda, String cpf, VoteStatus vote) {
 
-        if (agenda.getId() == null || cpf == null || vote == null) {
+        if (agenda.agendaId() == null || cpf == null || vote == null) {
             throw new IllegalArgumentException("All fields must be filled.");
         }
 
-        if (!CpfValidator.isValid(cpf)) {
+        long normalizedCpf = CpfValidator.normalize(cpf);
+        if (normalizedCpf == CpfValidator.INVALID) {
             throw new IllegalArgumentException("Invalid CPF provided");
         }
 
-        if (hasVoted(agenda.getId(), cpf)) {
+        if (hasVoted(agenda.agendaId(), normalizedCpf)) {
             throw new IllegalStateException("Participant has already voted on this agenda.");
         }
         
         LocalDateTime currentTime = LocalDateTime.now();
-        if (currentTime.isAfter(agenda.getSession().getEndDate())) {
+        if (currentTime.isAfter(agenda.endDate())) {
             throw new IllegalStateException("Voting session has ended.");
         }
         
-        Vote newVote = new Vote(agenda, cpf, vote, LocalDateTime.now());
-        
+        if (!pendingVoteRegistry.claim(agenda.agendaId(), normalizedCpf)) {
+            throw new IllegalStateException("Participant has already voted on this agenda.");
+        }
+
         VoteRegisteredEventDTO event = VoteRegisteredEventDTO.from(
-            newVote.getId(),
-            agenda.getId(),
-            cpf,
+            UUID.randomUUID(),
+            agenda.agendaId(),
+            normalizedCpf,
             vote,
-            newVote.getDateTime()
+            LocalDateTime.now()
         );
-        eventProducer.publishVoteRegisteredEvent(event);
+        try {
+            voteStatusStore.pending(event.voteId());
+            voteOutboxGateway.save(event);
+        } catch (RuntimeException e) {
+            pendingVoteRegistry.release(agenda.agendaId(), normalizedCpf);
+            throw e;
+        }
+        voteBloomFilter.put(agenda.agendaId(), normalizedCpf);
 
-        return newVote;
+        return event;
     }
 
     public VotingResultDTO getVotingResults(UUID agendaId) {
-        var agenda = agendaGateway.findById(agendaId)
+        var cached = finalResultCache.get(agendaId);
+        if (cached.isPresent()) {
+            return cached.get().result();
+        }
+
+        var agenda = agendaNearCache.find(agendaId)
             .orElseThrow(() -> new IllegalArgumentException("Agenda not found with id: " + agendaId));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (finalResultCache.isSettled(agenda.endDate(), now)) {
+            var stored = finalResultGateway.findByAgendaId(agendaId);
+            if (stored.isPresent()) {
+                return cache(stored.get()).result();
+            }
+        }
         
-        long yesCount = voteGateway.countByAgendaIdAndVote(agendaId, VoteStatus.YES);
-        long noCount = voteGateway.countByAgendaIdAndVote(agendaId, VoteStatus.NO);
+        long yesCount;
+        long noCount;
+        var liveCounts = redisVoteCounter.find(agendaId);
+        if (liveCounts.isPresent()) {
+            yesCount = liveCounts.get()[0];
+            noCount = liveCounts.get()[1];
+        } else {
+            redisVoteCounter.beginSeed(agendaId);
+            var tally = voteTallyGateway.findByAgendaId(agendaId);
+            yesCount = tally.map(VoteTally::getYesCount).orElse(0L);
+            noCount = tally.map(VoteTally::getNoCount).orElse(0L);
+            redisVoteCounter.seed(agendaId, yesCount, noCount);
+        }
         
-        boolean sessionEnded = LocalDateTime.now().isAfter(agenda.getSession().getEndDate());
+        boolean sessionEnded = now.isAfter(agenda.endDate());
         
         return VotingResultDTO.create(
             agendaId,
-            agenda.getTitle(),
+            agenda.title(),
             yesCount,
             noCount,
             sessionEnded
         );
     }
+
+    /**
+     * Processing status of a vote accepted by this API. The in-memory status only knows about
+     * votes consumed by this instance, so pending or unknown votes are confirmed in the database.
+     * Rejections are not stored in the database: a vote rejected by another instance stays
+     * PENDING here until its entry expires.
+     */
+    public Optional<VoteProcessingStatus> findVoteStatus(UUID voteId) {
+        if (voteId == null) {
+            throw new IllegalArgumentException("Vote ID is required.");
+        }
+
+        Optional<VoteProcessingStatus> status = voteStatusStore.find(voteId);
+        if (status.isPresent() && status.get() != VoteProcessingStatus.PENDING) {
+            return status;
+        }
+        if (voteGateway.existsById(voteId)) {
+            voteStatusStore.persisted(List.of(voteId));
+            return Optional.of(VoteProcessingStatus.PERSISTED);
+        }
+        return status;
+    }
+
+    /**
+     * Final result of an ended agenda, if it has already been frozen in this instance
+     */
+    public Optional<FinalVotingResult> findFinalVotingResults(UUID agendaId) {
+        return finalResultCache.get(agendaId);
+    }
+
+    /**
+     * Freezes the final result of an agenda whose session has settled. Empty when the agenda does
+     * not exist, its session has not settled yet or some of its votes are still on their way to
+     * the database. Called by the lifecycle scheduler's finalize step, the only place results are
+     * frozen.
+     */
+    public Optional<FinalVotingResult> finalizeVotingResults(UUID agendaId) {
+        var cached = finalResultCache.get(agendaId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        var agenda = agendaNearCache.find(agendaId);
+        LocalDateTime now = LocalDateTime.now();
+        if (agenda.isEmpty() || !finalResultCache.isSettled(agenda.get().endDate(), now)) {
+            return Optional.empty();
+        }
+        return freezeResults(agenda.get(), now);
+    }
+
+    /**
+     * Claims the publication of a frozen final result. Only one instance gets the claim, so the
+     * final event is published once per agenda; a failed send must release it.
+     */
+    public boolean claimFinalResultPublication(UUID agendaId, LocalDateTime publishedAt) {
+        return finalResultGateway.claimPublication(agendaId, publishedAt);
+    }
+
+    public void releaseFinalResultPublication(UUID agendaId) {
+        finalResultGateway.releasePublication(agendaId);
+    }
+
+    /**
+     * A result already stored by any instance is reused; otherwise it is only computed once every
+     * accepted vote of the agenda left the outbox and was consumed from vote-events. Only the
+     * lifecycle scheduler gets here; requests read the cache or the stored result.
+     */
+    private Optional<FinalVotingResult> freezeResults(AgendaSnapshot agenda, LocalDateTime now) {
+        UUID agendaId = agenda.agendaId();
+        Optional<FinalResult> stored = finalResultGateway.findByAgendaId(agendaId);
+        if (stored.isEmpty() && !voteEventBacklog.isDrained(agendaId)) {
+            return Optional.empty();
+        }
+        FinalResult finalResult = stored.orElseGet(() -> {
+            voteTallyGateway.reconcile(agendaId);
+            var tally = voteTallyGateway.findByAgendaId(agendaId);
+            return finalResultGateway.saveIfAbsent(new FinalResult(
+                agendaId,
+                agenda.title(),
+                tally.map(VoteTally::getYesCount).orElse(0L),
+                tally.map(VoteTally::getNoCount).orElse(0L),
+                agenda.endDate(),
+                now
+            ));
+        });
+        return Optional.of(cache(finalResult));
+    }
+
+    private FinalVotingResult cache(FinalResult finalResult) {
+        return finalResultCache.put(VotingResultDTO.create(
+            finalResult.getAgendaId(),
+            finalResult.getAgendaTitle(),
+            finalResult.getYesCount(),
+            finalResult.getNoCount(),
+            true
+        ));
+    }
 }
@@ -1,50 +1,104 @@
 package br.com.assembleia.assembleia.application.utils;
 
-public class CpfValidator {
-    
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
-    public static boolean isValid(String cpf) {
+/**
+ * Validação de CPF em uma única passada sobre os caracteres, sem regex e sem criar Strings
+ * intermediárias. Caracteres que não são dígitos (pontos, hífen, espaços) são ignorados.
+ */
+public final class CpfValidator {
+
+    /**
+     * Valor retornado por {@link #normalize(CharSequence)} quando o CPF é inválido
+     */
+    public static final long INVALID = -1L;
+
+    private static final int CPF_LENGTH = 11;
+
+    private CpfValidator() {}
+
+    public static boolean isValid(CharSequence cpf) {
+        return normalize(cpf) != INVALID;
+    }
+
+    /**
+     * Retorna os 11 dígitos do CPF empacotados em um long (12345678909L para "123.456.789-09"),
+     * ou {@link #INVALID} quando o CPF não é válido
+     */
+    public static long normalize(CharSequence cpf) {
         if (cpf == null) {
-            return false;
+            return INVALID;
         }
-        
-        cpf = cpf.replaceAll("[^0-9]", "");
-        
-        if (cpf.length() != 11) {
-            return false;
-        }
-        
-        if (cpf.matches("(\\d)\\1{10}")) {
-            return false;
-        }
-        
-        try {
-            int soma = 0;
-            for (int i = 0; i < 9; i++) {
-                soma += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
+
+        long packed = 0;
+        int count = 0;
+        int firstDigit = -1;
+        boolean allSame = true;
+        int firstSum = 0;
+        int secondSum = 0;
+        int firstCheckDigit = 0;
+        int secondCheckDigit = 0;
+
+        for (int i = 0, length = cpf.length(); i < length; i++) {
+            int digit = cpf.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                continue;
             }
-            int primeiroDigitoVerificador = 11 - (soma % 11);
-            if (primeiroDigitoVerificador >= 10) {
-                primeiroDigitoVerificador = 0;
+            if (count == CPF_LENGTH) {
+                return INVALID;
             }
-            
-            if (Character.getNumericValue(cpf.charAt(9)) != primeiroDigitoVerificador) {
-                return false;
+
+            if (count == 0) {
+                firstDigit = digit;
+            } else if (digit != firstDigit) {
+                allSame = false;
             }
-            
-            soma = 0;
-            for (int i = 0; i < 10; i++) {
-                soma += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
+
+            if (count < 9) {
+                firstSum += digit * (10 - count);
+            } else if (count == 9) {
+                firstCheckDigit = digit;
+            } else {
+                secondCheckDigit = digit;
             }
-            int segundoDigitoVerificador = 11 - (soma % 11);
-            if (segundoDigitoVerificador >= 10) {
-                segundoDigitoVerificador = 0;
+            if (count < 10) {
+                secondSum += digit * (11 - count);
             }
-            
-            return Character.getNumericValue(cpf.charAt(10)) == segundoDigitoVerificador;
-            
-        } catch (NumberFormatException e) {
-            return false;
+
+            packed = packed * 10 + digit;
+            count++;
+        }
+
+        if (count != CPF_LENGTH || allSame) {
+            return INVALID;
         }
+        if (checkDigit(firstSum) != firstCheckDigit || checkDigit(secondSum) != secondCheckDigit) {
+            return INVALID;
+        }
+        return packed;
+    }
+
+    /**
+     * Valida um lote de CPFs; a posição i do resultado corresponde a cpfs[i]
+     */
+    public static boolean[] validateAll(CharSequence[] cpfs) {
+        boolean[] valid = new boolean[cpfs.length];
+        for (int i = 0; i < cpfs.length; i++) {
+            valid[i] = normalize(cpfs[i]) != INVALID;
+        }
+        return valid;
+    }
+
+    /**
+     * Normaliza um fluxo de CPFs, descartando os inválidos
+     */
+    public static LongStream normalizeAll(Stream<? extends CharSequence> cpfs) {
+        return cpfs.mapToLong(CpfValidator::normalize).filter(cpf -> cpf != INVALID);
+    }
+
+    private static int checkDigit(int sum) {
+        int digit = 11 - (sum % 11);
+        return digit >= 10 ? 0 : digit;
     }
 }
@@ -0,0 +1,264 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Índice em memória das sessões ainda não encerradas, para responder "sessões ativas agora" sem
+ * consultar o banco.
+ *
+ * O índice é um snapshot imutável com as sessões ordenadas por início e, à parte, por fim. A
+ * consulta faz uma busca binária no início (sessões já abertas) e descarta as que terminaram; as
+ * sessões encerradas saem do snapshot pela ordem de fim, em uma poda que só roda quando a mais
+ * antiga já terminou. Escritas (carga, gravação de sessão, poda) trocam o snapshot inteiro, o que
+ * é barato para a quantidade de sessões abertas ao mesmo tempo; leituras não bloqueiam.
+ *
+ * A recarga lê o banco fora do lock: as gravações feitas por {@link #put} depois de
+ * {@link #loadMark} ficam guardadas e são reaplicadas sobre a leitura, que pode não incluí-las.
+ *
+ * Enquanto não foi carregado, {@link #findActive} devolve vazio e o chamador consulta o banco. As
+ * sessões devolvidas são cópias desanexadas (id, datas e versão, sem as agendas), como as linhas
+ * da listagem por keyset, na mesma ordem (início, id) que o banco usa nessa listagem.
+ */
+@Component
+public class ActiveSessionIndex {
+
+    private static final Comparator<IndexedSession> BY_START = Comparator.comparing(IndexedSession::startDate)
+        .thenComparing(IndexedSession::id, ActiveSessionIndex::compareIds);
+    private static final Comparator<IndexedSession> BY_END = Comparator.comparing(IndexedSession::endDate);
+
+    private final boolean enabled;
+    private final Map<UUID, RecentPut> recentPuts = new HashMap<>();
+    private long putSequence;
+    private volatile Snapshot snapshot;
+
+    public ActiveSessionIndex(
+            MeterRegistry meterRegistry,
+            @Value("${assembleia.sessions.active-index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        Gauge.builder("assembleia.sessions.active-index.size", this, ActiveSessionIndex::size)
+            .description("Sessões não encerradas no índice em memória")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Marca a ser passada para {@link #load(List, long)}, obtida antes de ler as sessões do banco
+     */
+    public synchronized long loadMark() {
+        return putSequence;
+    }
+
+    /**
+     * Substitui o conteúdo do índice pelas sessões informadas (as encerradas são ignoradas)
+     */
+    public void load(List<Session> sessions) {
+        load(sessions, loadMark());
+    }
+
+    /**
+     * Substitui o conteúdo do índice pelas sessões lidas do banco depois da marca, reaplicando as
+     * sessões gravadas por put desde então
+     */
+    public synchronized void load(List<Session> sessions, long mark) {
+        if (!enabled) {
+            return;
+        }
+        Map<UUID, IndexedSession> loaded = new HashMap<>();
+        for (Session session : sessions) {
+            loaded.put(session.getId(), IndexedSession.of(session));
+        }
+        recentPuts.values().removeIf(put -> put.sequence() <= mark);
+        for (RecentPut put : recentPuts.values()) {
+            IndexedSession stored = loaded.get(put.session().id());
+            if (stored == null || !put.session().isOlderThan(stored)) {
+                loaded.put(put.session().id(), put.session());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        snapshot = Snapshot.of(loaded.values().stream()
+            .filter(session -> !session.endDate().isBefore(now))
+            .toList());
+    }
+
+    /**
+     * Inclui ou atualiza uma sessão gravada; uma sessão que já terminou sai do índice
+     */
+    public synchronized void put(Session session) {
+        if (!enabled || session.getId() == null) {
+            return;
+        }
+        recentPuts.put(session.getId(), new RecentPut(IndexedSession.of(session), ++putSequence));
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        List<IndexedSession> sessions = new ArrayList<>(current.byStart().length + 1);
+        for (IndexedSession indexed : current.byStart()) {
+            if (!indexed.id().equals(session.getId())) {
+                sessions.add(indexed);
+            }
+        }
+        if (!session.getEndDate().isBefore(LocalDateTime.now())) {
+            sessions.add(IndexedSession.of(session));
+        }
+        snapshot = Snapshot.of(sessions);
+    }
+
+    /**
+     * Sessões com início <= agora <= fim, ou vazio se o índice ainda não foi carregado
+     */
+    public Optional<List<Session>> findActive(LocalDateTime now) {
+        return findActive(now, null, null);
+    }
+
+    /**
+     * Sessões ativas posteriores a (afterStart, afterId) na ordem (início, id), para continuar uma
+     * listagem a partir do cursor; sem cursor, todas as ativas
+     */
+    public Optional<List<Session>> findActive(LocalDateTime now, LocalDateTime afterStart, UUID afterId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        if (current.byEnd().length > 0 && current.byEnd()[0].endDate().isBefore(now)) {
+            current = prune(now);
+        }
+
+        IndexedSession[] byStart = current.byStart();
+        int opened = upperBound(byStart, now, IndexedSession::startDate);
+        int from = afterStart == null ? 0 : seek(byStart, new IndexedSession(afterId, afterStart, afterStart, null));
+        List<Session> active = new ArrayList<>(Math.max(0, opened - from));
+        for (int i = from; i < opened; i++) {
+            if (!byStart[i].endDate().isBefore(now)) {
+                active.add(byStart[i].toSession());
+            }
+        }
+        return Optional.of(active);
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.byStart().length;
+    }
+
+    /**
+     * Remove as sessões encerradas, que são o prefixo do snapshot ordenado por fim
+     */
+    private synchronized Snapshot prune(LocalDateTime now) {
+        Snapshot current = snapshot;
+        IndexedSession[] byEnd = current.byEnd();
+        int ended = lowerBound(byEnd, now, IndexedSession::endDate);
+        if (ended == 0) {
+            return current;
+        }
+        List<IndexedSession> remaining = Arrays.asList(byEnd).subList(ended, byEnd.length);
+        snapshot = Snapshot.of(remaining);
+        return snapshot;
+    }
+
+    /**
+     * Quantidade de elementos com chave <= value
+     */
+    private static int upperBound(IndexedSession[] sessions, LocalDateTime value, Function<IndexedSession, LocalDateTime> key) {
+        int low = 0;
+        int high = sessions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.apply(sessions[mid]).isAfter(value)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Quantidade de elementos com (início, id) <= o do cursor
+     */
+    private static int seek(IndexedSession[] sessions, IndexedSession cursor) {
+        int low = 0;
+        int high = sessions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (BY_START.compare(sessions[mid], cursor) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ordem do tipo uuid no PostgreSQL e no H2: bytes sem sinal, da esquerda para a direita
+     */
+    private static int compareIds(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    /**
+     * Quantidade de elementos com chave < value
+     */
+    private static int lowerBound(IndexedSession[] sessions, LocalDateTime value, Function<IndexedSession, LocalDateTime> key) {
+        int low = 0;
+        int high = sessions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.apply(sessions[mid]).isBefore(value)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record IndexedSession(UUID id, LocalDateTime startDate, LocalDateTime endDate, Long version) {
+
+        static IndexedSession of(Session session) {
+            return new IndexedSession(session.getId(), session.getStartDate(), session.getEndDate(), session.getVersion());
+        }
+
+        boolean isOlderThan(IndexedSession other) {
+            return version != null && other.version() != null && version < other.version();
+        }
+
+        Session toSession() {
+            return new Session(id, startDate, endDate, version);
+        }
+    }
+
+    /**
+     * Sessão gravada por put, na ordem das gravações
+     */
+    private record RecentPut(IndexedSession session, long sequence) {}
+
+    private record Snapshot(IndexedSession[] byStart, IndexedSession[] byEnd) {
+
+        static Snapshot of(List<IndexedSession> sessions) {
+            IndexedSession[] byStart = sessions.toArray(IndexedSession[]::new);
+            IndexedSession[] byEnd = byStart.clone();
+            Arrays.sort(byStart, BY_START);
+            Arrays.sort(byEnd, BY_END);
+            return new Snapshot(byStart, byEnd);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache local de agendas com os dados da sessão usados pelo caminho do voto.
+ *
+ * Agendas e sessões praticamente não mudam depois que a votação começa: as entradas expiram após
+ * o TTL e são invalidadas quando AgendaUseCase/SessionUseCase gravam nesta instância. IDs
+ * inexistentes também ficam em cache, por um TTL menor, para que IDs inválidos não cheguem ao banco.
+ */
+@Component
+public class AgendaNearCache {
+
+    private final AgendaGateway agendaGateway;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final int maxEntries;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public AgendaNearCache(
+            AgendaGateway agendaGateway,
+            MeterRegistry meterRegistry,
+            @Value("${assembleia.agendas.near-cache.enabled:true}") boolean enabled,
+            @Value("${assembleia.agendas.near-cache.ttl:5m}") Duration ttl,
+            @Value("${assembleia.agendas.near-cache.negative-ttl:10s}") Duration negativeTtl,
+            @Value("${assembleia.agendas.near-cache.max-entries:10000}") int maxEntries) {
+        this.agendaGateway = agendaGateway;
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.maxEntries = maxEntries;
+
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("assembleia.agendas.near-cache.size", entries, Map::size)
+            .description("Agendas no cache local")
+            .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("assembleia.agendas.near-cache.lookups")
+            .description("Consultas ao cache local de agendas")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    public Optional<AgendaSnapshot> find(UUID agendaId) {
+        if (agendaId == null) {
+            throw new IllegalArgumentException("Agenda ID is required.");
+        }
+        if (!enabled) {
+            return agendaGateway.findById(agendaId).map(AgendaSnapshot::of);
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(agendaId);
+        if (entry != null && now - entry.expiresAt < 0) {
+            hits.increment();
+            return Optional.ofNullable(entry.snapshot);
+        }
+
+        misses.increment();
+        AgendaSnapshot snapshot = agendaGateway.findById(agendaId).map(AgendaSnapshot::of).orElse(null);
+        entries.put(agendaId, new Entry(snapshot, now + (snapshot != null ? ttlNanos : negativeTtlNanos)));
+        evictIfNeeded(now);
+        return Optional.ofNullable(snapshot);
+    }
+
+    public void invalidate(UUID agendaId) {
+        if (agendaId != null) {
+            entries.remove(agendaId);
+        }
+    }
+
+    /**
+     * Remove as agendas da sessão, já que o snapshot carrega as datas dela
+     */
+    public void invalidateSession(UUID sessionId) {
+        if (sessionId != null) {
+            entries.values().removeIf(entry -> entry.snapshot != null && sessionId.equals(entry.snapshot.sessionId()));
+        }
+    }
+
+    private void evictIfNeeded(long now) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.values().removeIf(entry -> now - entry.expiresAt >= 0);
+        Iterator<UUID> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(AgendaSnapshot snapshot, long expiresAt) {}
+}
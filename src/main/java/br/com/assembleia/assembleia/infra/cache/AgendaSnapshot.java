@@ -0,0 +1,39 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+
+/**
+ * Dados imutáveis de uma agenda e da sua sessão, suficientes para o caminho do voto
+ */
+public record AgendaSnapshot(
+    UUID agendaId,
+    String title,
+    UUID sessionId,
+    LocalDateTime startDate,
+    LocalDateTime endDate
+) {
+
+    public static AgendaSnapshot of(Agenda agenda) {
+        Session session = agenda.getSession();
+        return new AgendaSnapshot(
+            agenda.getId(),
+            agenda.getTitle(),
+            session.getId(),
+            session.getStartDate(),
+            session.getEndDate()
+        );
+    }
+
+    /**
+     * Agenda contendo apenas o id, suficiente para gravar a chave estrangeira de um voto
+     */
+    public Agenda toReference() {
+        Agenda agenda = new Agenda();
+        agenda.setId(agendaId);
+        return agenda;
+    }
+}
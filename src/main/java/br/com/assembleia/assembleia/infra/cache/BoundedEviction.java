@@ -0,0 +1,31 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Limite de tamanho dos mapas em memória cujo valor carrega o instante de expiração.
+ *
+ * Ao passar do limite remove as entradas expiradas e, se ainda for preciso, desce até 90% do
+ * limite, para não varrer o mapa a cada nova entrada. As entradas removidas além das expiradas são
+ * as primeiras da iteração, sem ordem de idade.
+ */
+final class BoundedEviction {
+
+    private BoundedEviction() {
+    }
+
+    static <K> void evictIfNeeded(Map<K, Long> entries, int maxEntries, LongPredicate expired) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.values().removeIf(expired::test);
+        int target = maxEntries - maxEntries / 10;
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.dtos.VotingResultDTO;
+
+/**
+ * Resultados finais de agendas encerradas, mantidos em memória.
+ *
+ * Um resultado final nunca muda, então cada entrada é calculada uma única vez junto com um ETag
+ * forte derivado do conteúdo e servida sem consultar o banco. A agenda só é considerada encerrada
+ * depois de {@code settle-delay} além do fim da sessão; mesmo assim o resultado só é congelado
+ * quando não há mais votos da agenda no outbox nem no vote-events (ver VoteEventBacklog).
+ */
+@Component
+public class FinalResultCache {
+
+    private final Duration settleDelay;
+    private final int maxEntries;
+    private final Map<UUID, FinalVotingResult> results = new ConcurrentHashMap<>();
+
+    public FinalResultCache(
+            @Value("${assembleia.votes.final-results.settle-delay:30s}") Duration settleDelay,
+            @Value("${assembleia.votes.final-results.cache-max-entries:10000}") int maxEntries) {
+        this.settleDelay = settleDelay;
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<FinalVotingResult> get(UUID agendaId) {
+        return Optional.ofNullable(results.get(agendaId));
+    }
+
+    /**
+     * Indica se já passou o settle-delay de uma sessão encerrada em {@code sessionEnd}, a partir do
+     * qual o congelamento do resultado é tentado
+     */
+    public boolean isSettled(LocalDateTime sessionEnd, LocalDateTime now) {
+        return now.isAfter(sessionEnd.plus(settleDelay));
+    }
+
+    public Duration settleDelay() {
+        return settleDelay;
+    }
+
+    public FinalVotingResult put(VotingResultDTO result) {
+        FinalVotingResult entry = new FinalVotingResult(result, etag(result));
+        FinalVotingResult previous = results.putIfAbsent(result.agendaId(), entry);
+        if (previous != null) {
+            return previous;
+        }
+        evictIfNeeded();
+        return entry;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<UUID> keys = results.keySet().iterator();
+        while (results.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String etag(VotingResultDTO result) {
+        String content = result.agendaId() + "|" + result.agendaTitle() + "|"
+            + result.yesCount() + "|" + result.noCount();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    public record FinalVotingResult(VotingResultDTO result, String etag) {}
+}
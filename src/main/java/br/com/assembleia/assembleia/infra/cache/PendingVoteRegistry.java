@@ -0,0 +1,80 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Votos aceitos por esta instância que ainda não foram gravados em votacao.votos, por agenda e CPF.
+ *
+ * Entre o aceite (outbox) e a gravação pelo consumidor o banco ainda responde "não votou"; o
+ * registro cobre esse intervalo para hasVoted e impede que retentativas do mesmo participante gerem
+ * novos eventos. A entrada sai quando o consumidor desta instância confirma o voto ou, se o voto
+ * foi consumido por outra réplica, quando expira o TTL, que deve cobrir o atraso normal do consumo.
+ */
+@Component
+public class PendingVoteRegistry {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<PendingVote, Long> entries = new ConcurrentHashMap<>();
+
+    public PendingVoteRegistry(
+            @Value("${assembleia.votes.pending.ttl:2m}") Duration ttl,
+            @Value("${assembleia.votes.pending.max-entries:1000000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Registra o voto como pendente. Retorna false se o participante já tem um voto pendente na
+     * agenda, o que torna o aceite atômico entre requisições concorrentes nesta instância.
+     */
+    public boolean claim(UUID agendaId, long cpf) {
+        long now = System.currentTimeMillis();
+        boolean[] claimed = new boolean[1];
+        entries.compute(new PendingVote(agendaId, cpf), (key, expiresAt) -> {
+            if (expiresAt != null && expiresAt > now) {
+                return expiresAt;
+            }
+            claimed[0] = true;
+            return now + ttlMillis;
+        });
+        if (claimed[0]) {
+            // Os votos removidos pelo limite voltam a ser confirmados só pelo banco
+            BoundedEviction.evictIfNeeded(entries, maxEntries, expiresAt -> expiresAt <= now);
+        }
+        return claimed[0];
+    }
+
+    public boolean isPending(UUID agendaId, long cpf) {
+        PendingVote key = new PendingVote(agendaId, cpf);
+        Long expiresAt = entries.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remove o voto pendente: chamado pelo consumidor depois de gravar (ou descartar) o voto, e pelo
+     * aceite quando a gravação no outbox falha
+     */
+    public void release(UUID agendaId, long cpf) {
+        entries.remove(new PendingVote(agendaId, cpf));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record PendingVote(UUID agendaId, long cpf) {}
+}
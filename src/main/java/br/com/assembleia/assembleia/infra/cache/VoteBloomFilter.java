@@ -0,0 +1,200 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filtros de Bloom por agenda com os CPFs que já votaram.
+ *
+ * Um filtro só responde depois de carregado por completo a partir da tabela votos; a partir daí
+ * recebe cada voto consumido de vote-events. Enquanto uma agenda não tem filtro pronto a resposta
+ * é sempre "talvez", e a consulta segue para o banco.
+ */
+@Component
+public class VoteBloomFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteBloomFilter.class);
+
+    private final VoteGateway voteGateway;
+    private final AgendaGateway agendaGateway;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final long expectedVotersPerAgenda;
+    private final double falsePositiveRate;
+    private final int maxAgendas;
+    private final Map<UUID, AgendaFilter> filters = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter unavailable;
+
+    public VoteBloomFilter(
+            VoteGateway voteGateway,
+            AgendaGateway agendaGateway,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${assembleia.votes.bloom-filter.enabled:true}") boolean enabled,
+            @Value("${assembleia.votes.bloom-filter.expected-voters-per-agenda:100000}") long expectedVotersPerAgenda,
+            @Value("${assembleia.votes.bloom-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${assembleia.votes.bloom-filter.max-agendas:256}") int maxAgendas) {
+        this.voteGateway = voteGateway;
+        this.agendaGateway = agendaGateway;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.expectedVotersPerAgenda = expectedVotersPerAgenda;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxAgendas = maxAgendas;
+
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.unavailable = lookupCounter(meterRegistry, "unavailable");
+        Gauge.builder("assembleia.votes.bloom.agendas", filters, Map::size)
+            .description("Agendas com filtro de Bloom em memória")
+            .register(meterRegistry);
+        Gauge.builder("assembleia.votes.bloom.bytes", filters,
+                f -> f.values().stream().mapToLong(entry -> entry.bloom.sizeInBytes()).sum())
+            .description("Memória ocupada pelos filtros de Bloom")
+            .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("assembleia.votes.bloom.lookups")
+            .description("Consultas ao filtro de Bloom de votos")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Retorna true somente quando o CPF certamente ainda não votou na agenda. Retorna false
+     * ("talvez") quando o filtro indica presença ou ainda não está pronto.
+     */
+    public boolean isDefinitelyAbsent(UUID agendaId, long cpf) {
+        if (!enabled) {
+            return false;
+        }
+        AgendaFilter filter = filters.get(agendaId);
+        if (filter == null) {
+            unavailable.increment();
+            loadAsync(agendaId);
+            return false;
+        }
+        if (!filter.ready) {
+            unavailable.increment();
+            return false;
+        }
+        filter.lastAccess = System.nanoTime();
+        if (filter.bloom.mightContain(cpf)) {
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    public void put(UUID agendaId, long cpf) {
+        AgendaFilter filter = filters.get(agendaId);
+        if (filter != null) {
+            filter.bloom.put(cpf);
+        }
+    }
+
+    /**
+     * Registra uma agenda recém-criada: como ainda não tem votos, o filtro vazio já está completo
+     */
+    public void trackNewAgenda(UUID agendaId) {
+        if (!enabled || agendaId == null) {
+            return;
+        }
+        AgendaFilter filter = newFilter();
+        filter.ready = true;
+        if (filters.putIfAbsent(agendaId, filter) == null) {
+            evictIfNeeded();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                List<UUID> agendaIds = agendaGateway.findIdsOfSessionsEndingAfter(now);
+                List<UUID> tracked = agendaIds.subList(0, Math.min(agendaIds.size(), maxAgendas));
+                tracked.forEach(agendaId -> filters.putIfAbsent(agendaId, newFilter()));
+
+                voteGateway.forEachVoterOfSessionsEndingAfter(now, this::put);
+
+                tracked.forEach(agendaId -> {
+                    AgendaFilter filter = filters.get(agendaId);
+                    if (filter != null) {
+                        filter.ready = true;
+                    }
+                });
+                logger.info("Filtros de Bloom de votos carregados para {} agendas", tracked.size());
+            } catch (Exception e) {
+                logger.error("Erro ao carregar filtros de Bloom de votos: {}", e.getMessage(), e);
+                filters.values().removeIf(filter -> !filter.ready);
+            }
+        });
+    }
+
+    private void loadAsync(UUID agendaId) {
+        AgendaFilter filter = newFilter();
+        if (filters.putIfAbsent(agendaId, filter) != null) {
+            return;
+        }
+        evictIfNeeded();
+        taskExecutor.execute(() -> {
+            try {
+                voteGateway.forEachVoter(agendaId, (id, cpf) -> filter.bloom.put(cpf));
+                filter.ready = true;
+            } catch (Exception e) {
+                logger.error("Erro ao carregar filtro de Bloom da agenda {}: {}", agendaId, e.getMessage());
+                filters.remove(agendaId, filter);
+            }
+        });
+    }
+
+    private void evictIfNeeded() {
+        while (filters.size() > maxAgendas) {
+            filters.entrySet().stream()
+                .min((a, b) -> Long.compare(a.getValue().lastAccess, b.getValue().lastAccess))
+                .ifPresent(eldest -> filters.remove(eldest.getKey(), eldest.getValue()));
+        }
+    }
+
+    private AgendaFilter newFilter() {
+        return new AgendaFilter(new BloomFilter(expectedVotersPerAgenda, falsePositiveRate));
+    }
+
+    private static final class AgendaFilter {
+        private final BloomFilter bloom;
+        private volatile boolean ready;
+        private volatile long lastAccess = System.nanoTime();
+
+        private AgendaFilter(BloomFilter bloom) {
+            this.bloom = bloom;
+        }
+    }
+}
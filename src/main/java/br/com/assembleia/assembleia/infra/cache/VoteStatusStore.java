@@ -0,0 +1,81 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteProcessingStatus;
+
+/**
+ * Situação dos votos aceitos de forma assíncrona, consultada por GET /v1/votes/{voteId}/status.
+ *
+ * O valor de cada entrada é um único long, com o instante de expiração em milissegundos nos bits
+ * altos e o status nos dois bits baixos, então não há objeto de status por voto. Ainda assim cada
+ * entrada custa cerca de 100 bytes de heap (nó do ConcurrentHashMap, UUID e Long), e é por esse
+ * valor que max-entries deve ser dimensionado.
+ *
+ * O status fica só em memória nesta instância; quando o voto foi consumido por outra réplica, quem
+ * consulta confirma no banco (ver VoteUseCase.findVoteStatus). A rejeição não fica no banco, então
+ * só a réplica que consumiu o voto responde REJECTED.
+ */
+@Component
+public class VoteStatusStore {
+
+    private static final int STATUS_BITS = 2;
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+    private static final VoteProcessingStatus[] STATUSES = VoteProcessingStatus.values();
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<UUID, Long> entries = new ConcurrentHashMap<>();
+
+    public VoteStatusStore(
+            @Value("${assembleia.votes.status.ttl:15m}") Duration ttl,
+            @Value("${assembleia.votes.status.max-entries:1000000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    public void pending(UUID voteId) {
+        put(voteId, VoteProcessingStatus.PENDING);
+    }
+
+    public void persisted(Collection<UUID> voteIds) {
+        voteIds.forEach(voteId -> put(voteId, VoteProcessingStatus.PERSISTED));
+    }
+
+    public void rejected(UUID voteId) {
+        put(voteId, VoteProcessingStatus.REJECTED);
+    }
+
+    public Optional<VoteProcessingStatus> find(UUID voteId) {
+        Long entry = entries.get(voteId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (expiresAt(entry) <= System.currentTimeMillis()) {
+            entries.remove(voteId, entry);
+            return Optional.empty();
+        }
+        return Optional.of(STATUSES[(int) (entry & STATUS_MASK)]);
+    }
+
+    private void put(UUID voteId, VoteProcessingStatus status) {
+        if (voteId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.put(voteId, ((now + ttlMillis) << STATUS_BITS) | status.ordinal());
+        BoundedEviction.evictIfNeeded(entries, maxEntries, entry -> expiresAt(entry) <= now);
+    }
+
+    private static long expiresAt(long entry) {
+        return entry >>> STATUS_BITS;
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.assembleia.assembleia.infra.db.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.Objects;
+
+@Entity
+@Table(name = "resultados_finais", schema = "votacao")
+public class FinalResult {
+
+    @Id
+    @Column(name = "pauta_id")
+    private UUID agendaId;
+
+    @Column(name = "titulo", nullable = false)
+    private String agendaTitle;
+
+    @Column(name = "votos_sim", nullable = false)
+    private long yesCount;
+
+    @Column(name = "votos_nao", nullable = false)
+    private long noCount;
+
+    @Column(name = "sessao_encerrada_em", nullable = false)
+    private LocalDateTime sessionEndedAt;
+
+    @Column(name = "apurado_em", nullable = false)
+    private LocalDateTime computedAt;
+
+    @Column(name = "publicado_em")
+    private LocalDateTime publishedAt;
+
+    public FinalResult() {}
+
+    public FinalResult(UUID agendaId, String agendaTitle, long yesCount, long noCount,
+            LocalDateTime sessionEndedAt, LocalDateTime computedAt) {
+        this.agendaId = agendaId;
+        this.agendaTitle = agendaTitle;
+        this.yesCount = yesCount;
+        this.noCount = noCount;
+        this.sessionEndedAt = sessionEndedAt;
+        this.computedAt = computedAt;
+    }
+
+    public UUID getAgendaId() {
+        return agendaId;
+    }
+
+    public void setAgendaId(UUID agendaId) {
+        this.agendaId = agendaId;
+    }
+
+    public String getAgendaTitle() {
+        return agendaTitle;
+    }
+
+    public void setAgendaTitle(String agendaTitle) {
+        this.agendaTitle = agendaTitle;
+    }
+
+    public long getYesCount() {
+        return yesCount;
+    }
+
+    public void setYesCount(long yesCount) {
+        this.yesCount = yesCount;
+    }
+
+    public long getNoCount() {
+        return noCount;
+    }
+
+    public void setNoCount(long noCount) {
+        this.noCount = noCount;
+    }
+
+    public LocalDateTime getSessionEndedAt() {
+        return sessionEndedAt;
+    }
+
+    public void setSessionEndedAt(LocalDateTime sessionEndedAt) {
+        this.sessionEndedAt = sessionEndedAt;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FinalResult that = (FinalResult) o;
+        return Objects.equals(agendaId, that.agendaId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(agendaId);
+    }
+
+    @Override
+    public String toString() {
+        return "FinalResult{" +
+                "agendaId=" + agendaId +
+                ", agendaTitle='" + agendaTitle + '\'' +
+                ", yesCount=" + yesCount +
+                ", noCount=" + noCount +
+                ", sessionEndedAt=" + sessionEndedAt +
+                ", computedAt=" + computedAt +
+                '}';
+    }
+}
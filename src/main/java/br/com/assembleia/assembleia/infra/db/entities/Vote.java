@@ -20,7 +20,7 @@ public class Vote {
     private Agenda agenda;
 
     @Column(nullable = false)
-    private String cpf;
+    private long cpf;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "voto", nullable = false)
@@ -35,14 +35,14 @@ public class Vote {
 
     public Vote() {}
 
-    public Vote(Agenda agenda, String cpf, VoteStatus vote, LocalDateTime dateTime) {
+    public Vote(Agenda agenda, long cpf, VoteStatus vote, LocalDateTime dateTime) {
         this.agenda = agenda;
         this.cpf = cpf;
         this.vote = vote;
         this.dateTime = dateTime;
     }
 
-    public Vote(UUID id, Agenda agenda, String cpf, VoteStatus vote, LocalDateTime dateTime) {
+    public Vote(UUID id, Agenda agenda, long cpf, VoteStatus vote, LocalDateTime dateTime) {
         this.id = id;
         this.agenda = agenda;
         this.cpf = cpf;
@@ -66,11 +66,11 @@ public class Vote {
         this.agenda = agenda;
     }
 
-    public String getCpf() {
+    public long getCpf() {
         return cpf;
     }
 
-    public void setCpf(String cpf) {
+    public void setCpf(long cpf) {
         this.cpf = cpf;
     }
 
@@ -106,7 +106,7 @@ public class Vote {
         return agenda;
     }
 
-    public String cpf() {
+    public long cpf() {
         return cpf;
     }
 
@@ -136,7 +136,7 @@ public class Vote {
         return "Vote{" +
                 "id=" + id +
                 ", agenda=" + agenda +
-                ", cpf='" + cpf + '\'' +
+                ", cpf=" + cpf +
                 ", vote=" + vote +
                 ", dateTime=" + dateTime +
                 ", version=" + version +
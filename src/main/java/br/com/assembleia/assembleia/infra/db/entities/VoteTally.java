@@ -0,0 +1,133 @@
+package br.com.assembleia.assembleia.infra.db.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.Objects;
+
+/**
+ * Apuração de uma fatia dos votos da agenda (ver VoteEventSharding). VoteTallyGateway.findByAgendaId
+ * devolve a soma das fatias, com bucket 0.
+ */
+@Entity
+@Table(name = "apuracao_fatias", schema = "votacao")
+@IdClass(VoteTally.Key.class)
+public class VoteTally {
+
+    @Id
+    @Column(name = "pauta_id")
+    private UUID agendaId;
+
+    @Id
+    @Column(name = "fatia")
+    private short bucket;
+
+    @Column(name = "votos_sim", nullable = false)
+    private long yesCount;
+
+    @Column(name = "votos_nao", nullable = false)
+    private long noCount;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public VoteTally() {}
+
+    public VoteTally(UUID agendaId, long yesCount, long noCount, LocalDateTime updatedAt) {
+        this.agendaId = agendaId;
+        this.yesCount = yesCount;
+        this.noCount = noCount;
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getAgendaId() {
+        return agendaId;
+    }
+
+    public void setAgendaId(UUID agendaId) {
+        this.agendaId = agendaId;
+    }
+
+    public short getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(short bucket) {
+        this.bucket = bucket;
+    }
+
+    public long getYesCount() {
+        return yesCount;
+    }
+
+    public void setYesCount(long yesCount) {
+        this.yesCount = yesCount;
+    }
+
+    public long getNoCount() {
+        return noCount;
+    }
+
+    public void setNoCount(long noCount) {
+        this.noCount = noCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VoteTally that = (VoteTally) o;
+        return bucket == that.bucket && Objects.equals(agendaId, that.agendaId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(agendaId, bucket);
+    }
+
+    @Override
+    public String toString() {
+        return "VoteTally{" +
+                "agendaId=" + agendaId +
+                ", bucket=" + bucket +
+                ", yesCount=" + yesCount +
+                ", noCount=" + noCount +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+
+    public static class Key implements Serializable {
+        private UUID agendaId;
+        private short bucket;
+
+        public Key() {}
+
+        public Key(UUID agendaId, short bucket) {
+            this.agendaId = agendaId;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return bucket == key.bucket && Objects.equals(agendaId, key.agendaId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(agendaId, bucket);
+        }
+    }
+}
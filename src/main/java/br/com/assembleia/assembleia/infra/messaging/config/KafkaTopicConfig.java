@@ -1,6 +1,7 @@
 package br.com.assembleia.assembleia.infra.messaging.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -29,10 +30,14 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    /**
+     * Aumentar o número de partições muda a partição de chaves já usadas; a deduplicação continua
+     * garantida pela restrição única de votos por participante e pauta
+     */
     @Bean
-    public NewTopic voteEventsTopic() {
+    public NewTopic voteEventsTopic(@Value("${assembleia.kafka.vote-events.partitions:3}") int partitions) {
         return TopicBuilder.name(VOTE_EVENTS_TOPIC)
-                .partitions(3)
+                .partitions(partitions)
                 .replicas(1)
                 .build();
     }
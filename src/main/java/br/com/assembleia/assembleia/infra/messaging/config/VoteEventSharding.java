@@ -0,0 +1,64 @@
+package br.com.assembleia.assembleia.infra.messaging.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Divide os votos de uma agenda em fatias pelo CPF.
+ *
+ * A chave do registro em vote-events passa a ser agenda + fatia, então uma agenda com muitos votos
+ * se espalha por várias partições (e consumidores) em vez de uma só. O mesmo CPF sempre cai na
+ * mesma fatia, e portanto na mesma partição, o que mantém a deduplicação do lote correta. A
+ * apuração também é gravada por fatia, para que consumidores de partições diferentes não disputem
+ * a mesma linha; a leitura soma as fatias.
+ */
+@Component
+public class VoteEventSharding {
+
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private final int buckets;
+
+    public VoteEventSharding(@Value("${assembleia.kafka.vote-events.key-buckets:16}") int buckets) {
+        if (buckets < 1 || buckets > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("assembleia.kafka.vote-events.key-buckets deve estar entre 1 e "
+                + Short.MAX_VALUE);
+        }
+        this.buckets = buckets;
+    }
+
+    public int bucket(long cpf) {
+        if (buckets == 1) {
+            return 0;
+        }
+        return (int) Long.remainderUnsigned((cpf * MIX) >>> 16, buckets);
+    }
+
+    /**
+     * Chave do registro em vote-events. Com uma única fatia a chave é só a agenda, como antes.
+     */
+    public String key(UUID agendaId, long cpf) {
+        if (buckets == 1) {
+            return agendaId.toString();
+        }
+        return agendaId + "/" + bucket(cpf);
+    }
+
+    /**
+     * Todas as chaves que os votos da agenda podem usar, uma por fatia
+     */
+    public List<String> keys(UUID agendaId) {
+        if (buckets == 1) {
+            return List.of(agendaId.toString());
+        }
+        List<String> keys = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            keys.add(agendaId + "/" + bucket);
+        }
+        return keys;
+    }
+}
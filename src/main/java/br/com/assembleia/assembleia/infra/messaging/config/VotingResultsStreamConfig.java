@@ -0,0 +1,36 @@
+package br.com.assembleia.assembleia.infra.messaging.config;
+
+import java.time.Duration;
+
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+
+import br.com.assembleia.assembleia.infra.messaging.dtos.VotingResultUpdatedEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.streams.VotingResultsTopology;
+
+/**
+ * Liga a apuração em stream do vote-events. A configuração do Kafka Streams (application-id,
+ * exactly_once_v2) vem de spring.kafka.streams.*
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "assembleia.votes.results-stream.enabled", havingValue = "true")
+public class VotingResultsStreamConfig {
+
+    @Bean
+    public KStream<String, VotingResultUpdatedEventDTO> votingResultsStream(
+            StreamsBuilder streamsBuilder,
+            @Value("${assembleia.votes.results-stream.max-updates-per-second:2}") int maxUpdatesPerSecond,
+            @Value("${assembleia.votes.results-stream.voters-retention:7d}") Duration votersRetention) {
+        if (maxUpdatesPerSecond <= 0) {
+            throw new IllegalArgumentException("assembleia.votes.results-stream.max-updates-per-second must be positive");
+        }
+        return VotingResultsTopology.build(streamsBuilder,
+            Duration.ofMillis(Math.max(1L, 1000L / maxUpdatesPerSecond)), votersRetention);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.assembleia.assembleia.infra.messaging.consumers;
+
+import br.com.assembleia.assembleia.infra.cache.VoteBloomFilter;
+import br.com.assembleia.assembleia.infra.messaging.config.KafkaTopicConfig;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Alimenta o filtro de Bloom local com todos os votos do cluster.
+ *
+ * Cada instância recebe todas as partições de vote-events, e não apenas as que persiste, por
+ * atribuição manual: o consumidor não entra em nenhum grupo e nunca confirma offsets, então nada
+ * fica registrado no broker quando a instância sai. Ao iniciar começa do fim de cada partição.
+ * Inserir no filtro um voto que depois for rejeitado só gera um "talvez" a mais, nunca uma
+ * resposta errada.
+ */
+@Service
+public class VoteBloomFilterConsumer extends AbstractConsumerSeekAware {
+
+    private final VoteBloomFilter voteBloomFilter;
+
+    public VoteBloomFilterConsumer(VoteBloomFilter voteBloomFilter) {
+        this.voteBloomFilter = voteBloomFilter;
+    }
+
+    @KafkaListener(
+        groupId = "assembleia-vote-filter",
+        topicPartitions = @org.springframework.kafka.annotation.TopicPartition(
+            topic = KafkaTopicConfig.VOTE_EVENTS_TOPIC,
+            partitions = "0-#{${assembleia.kafka.vote-events.partitions:3} - 1}"),
+        batch = "true",
+        autoStartup = "${assembleia.votes.bloom-filter.enabled:true}",
+        properties = {"enable.auto.commit=false", "auto.offset.reset=latest"})
+    public void consumeVoteRegisteredEvents(@Payload List<VoteRegisteredEventDTO> events) {
+        for (VoteRegisteredEventDTO event : events) {
+            voteBloomFilter.put(event.agendaId(), event.cpf());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        super.onPartitionsAssigned(assignments, callback);
+        callback.seekToEnd(assignments.keySet());
+    }
+}
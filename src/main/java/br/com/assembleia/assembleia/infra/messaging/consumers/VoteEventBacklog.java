@@ -0,0 +1,158 @@
+package br.com.assembleia.assembleia.infra.messaging.consumers;
+
+import br.com.assembleia.assembleia.adapters.gateways.VoteOutboxGateway;
+import br.com.assembleia.assembleia.infra.messaging.config.KafkaTopicConfig;
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Indica se todos os votos aceitos de uma agenda já chegaram ao banco.
+ *
+ * Um voto aceito passa pelo outbox, pelo vote-events e pelo consumidor antes de entrar na apuração.
+ * A agenda está drenada quando não tem mais linhas no outbox e o grupo do consumidor já confirmou
+ * tudo o que foi publicado nas partições das chaves da agenda. Sem Kafka configurado só o outbox é
+ * verificado; se o broker não responder a agenda é tratada como não drenada.
+ */
+@Component
+public class VoteEventBacklog {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteEventBacklog.class);
+
+    private final VoteOutboxGateway voteOutboxGateway;
+    private final VoteEventSharding voteEventSharding;
+    private final Supplier<Admin> adminFactory;
+    private final Duration timeout;
+    private Admin admin;
+
+    @Autowired
+    public VoteEventBacklog(
+            VoteOutboxGateway voteOutboxGateway,
+            VoteEventSharding voteEventSharding,
+            ObjectProvider<KafkaAdmin> kafkaAdminProvider,
+            @Value("${assembleia.votes.final-results.lag-check-timeout:5s}") Duration timeout) {
+        this(voteOutboxGateway, voteEventSharding, adminFactory(kafkaAdminProvider.getIfAvailable()), timeout);
+    }
+
+    VoteEventBacklog(VoteOutboxGateway voteOutboxGateway, VoteEventSharding voteEventSharding,
+            Supplier<Admin> adminFactory, Duration timeout) {
+        this.voteOutboxGateway = voteOutboxGateway;
+        this.voteEventSharding = voteEventSharding;
+        this.adminFactory = adminFactory;
+        this.timeout = timeout;
+    }
+
+    public boolean isDrained(UUID agendaId) {
+        if (voteOutboxGateway.existsPendingByAgendaId(agendaId)) {
+            logger.info("Agenda {} ainda tem votos no outbox", agendaId);
+            return false;
+        }
+
+        Admin client = admin();
+        if (client == null) {
+            return true;
+        }
+        try {
+            return consumerCaughtUp(client, agendaId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Não foi possível consultar o atraso do consumidor de votos da agenda {}: {}",
+                   agendaId, e.getMessage());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (admin != null) {
+            admin.close(Duration.ofSeconds(1));
+            admin = null;
+        }
+    }
+
+    private boolean consumerCaughtUp(Admin client, UUID agendaId)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        String topic = KafkaTopicConfig.VOTE_EVENTS_TOPIC;
+        int partitions = client.describeTopics(List.of(topic)).allTopicNames()
+            .get(timeout.toMillis(), TimeUnit.MILLISECONDS).get(topic).partitions().size();
+
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        for (int partition : partitionsOf(agendaId, partitions)) {
+            latest.put(new TopicPartition(topic, partition), OffsetSpec.latest());
+        }
+        Map<TopicPartition, ListOffsetsResultInfo> ends = client.listOffsets(latest).all()
+            .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        ListConsumerGroupOffsetsSpec spec = new ListConsumerGroupOffsetsSpec().topicPartitions(latest.keySet());
+        Map<TopicPartition, OffsetAndMetadata> committed = client
+            .listConsumerGroupOffsets(Map.of(VoteEventConsumer.GROUP_ID, spec))
+            .partitionsToOffsetAndMetadata(VoteEventConsumer.GROUP_ID)
+            .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        for (TopicPartition partition : latest.keySet()) {
+            long end = ends.get(partition).offset();
+            OffsetAndMetadata offset = committed.get(partition);
+            long position = offset != null ? offset.offset() : 0;
+            if (position < end) {
+                logger.info("Agenda {} aguardando o consumidor de votos: {} eventos pendentes na partição {}",
+                       agendaId, end - position, partition.partition());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Partições das chaves da agenda pelo particionador padrão do produtor (murmur2 da chave)
+     */
+    Set<Integer> partitionsOf(UUID agendaId, int partitions) {
+        Set<Integer> result = new TreeSet<>();
+        for (String key : voteEventSharding.keys(agendaId)) {
+            result.add(Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8))) % partitions);
+        }
+        return result;
+    }
+
+    private synchronized Admin admin() {
+        if (admin == null && adminFactory != null) {
+            admin = adminFactory.get();
+        }
+        return admin;
+    }
+
+    private static Supplier<Admin> adminFactory(KafkaAdmin kafkaAdmin) {
+        if (kafkaAdmin == null) {
+            return null;
+        }
+        return () -> Admin.create(kafkaAdmin.getConfigurationProperties());
+    }
+}
@@ -1,34 +1,94 @@
 package br.com.assembleia.assembleia.infra.messaging.consumers;
 
-import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
 import br.com.assembleia.assembleia.adapters.gateways.VoteGateway;
-import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
+import br.com.assembleia.assembleia.infra.cache.AgendaSnapshot;
+import br.com.assembleia.assembleia.infra.cache.PendingVoteRegistry;
+import br.com.assembleia.assembleia.infra.cache.VoteStatusStore;
 import br.com.assembleia.assembleia.infra.db.entities.Vote;
 import br.com.assembleia.assembleia.infra.messaging.config.KafkaTopicConfig;
 import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.redis.RedisVoteCounter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ListenerContainerPauseService;
+import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class VoteEventConsumer {
 
+    public static final String RECORD_LISTENER_ID = "vote-events-record-consumer";
+    public static final String BATCH_LISTENER_ID = "vote-events-batch-consumer";
+    public static final String GROUP_ID = "assembleia-vote-group";
+
     private static final Logger logger = LoggerFactory.getLogger(VoteEventConsumer.class);
     private final VoteGateway voteGateway;
-    private final AgendaGateway agendaGateway;
+    private final AgendaNearCache agendaNearCache;
+    private final RedisVoteCounter redisVoteCounter;
+    private final VoteStatusStore voteStatusStore;
+    private final PendingVoteRegistry pendingVoteRegistry;
+    private final ObjectProvider<KafkaListenerEndpointRegistry> registryProvider;
+    private final ObjectProvider<TaskScheduler> taskSchedulerProvider;
+    private final Duration slowWriteThreshold;
+    private final Duration pauseDuration;
+    private volatile ListenerContainerPauseService pauseService;
 
-    public VoteEventConsumer(VoteGateway voteGateway, AgendaGateway agendaGateway) {
+    public VoteEventConsumer(
+            VoteGateway voteGateway,
+            AgendaNearCache agendaNearCache,
+            RedisVoteCounter redisVoteCounter,
+            VoteStatusStore voteStatusStore,
+            PendingVoteRegistry pendingVoteRegistry,
+            ObjectProvider<KafkaListenerEndpointRegistry> registryProvider,
+            ObjectProvider<TaskScheduler> taskSchedulerProvider,
+            @Value("${assembleia.kafka.vote-consumer.slow-write-threshold:2s}") Duration slowWriteThreshold,
+            @Value("${assembleia.kafka.vote-consumer.pause-duration:5s}") Duration pauseDuration) {
         this.voteGateway = voteGateway;
-        this.agendaGateway = agendaGateway;
+        this.agendaNearCache = agendaNearCache;
+        this.redisVoteCounter = redisVoteCounter;
+        this.voteStatusStore = voteStatusStore;
+        this.pendingVoteRegistry = pendingVoteRegistry;
+        this.registryProvider = registryProvider;
+        this.taskSchedulerProvider = taskSchedulerProvider;
+        this.slowWriteThreshold = slowWriteThreshold;
+        this.pauseDuration = pauseDuration;
     }
 
-    @KafkaListener(topics = KafkaTopicConfig.VOTE_EVENTS_TOPIC, groupId = "assembleia-vote-group")
+    /**
+     * Modo registro a registro, usado quando o modo em lote está desligado
+     */
+    @KafkaListener(
+        id = RECORD_LISTENER_ID,
+        idIsGroup = false,
+        topics = KafkaTopicConfig.VOTE_EVENTS_TOPIC,
+        groupId = GROUP_ID,
+        autoStartup = "#{!${assembleia.kafka.vote-consumer.batch-enabled:true}}")
     public void consumeVoteRegisteredEvent(
             @Payload VoteRegisteredEventDTO event,
             @Header(KafkaHeaders.RECEIVED_KEY) String key,
@@ -37,29 +97,165 @@ public class VoteEventConsumer {
             Acknowledgment acknowledgment) {
 
         try {
-            logger.info("Recebido evento de voto registrado: {} da partição {} offset {}", 
+            logger.info("Recebido evento de voto registrado: {} da partição {} offset {}",
                    event.agendaId(), partition, offset);
 
-            Agenda agenda = agendaGateway.findById(event.agendaId())
-                .orElseThrow(() -> new IllegalArgumentException("Agenda não encontrada: " + event.agendaId()));
+            persist(List.of(event), RECORD_LISTENER_ID);
 
-            if (voteGateway.existsByAgendaIdAndCpf(event.agendaId(), event.cpf())) {
-                logger.warn("Voto duplicado ignorado para CPF {} na agenda {}", event.cpf(), event.agendaId());
-                acknowledgment.acknowledge();
-                return;
-            }
-
-            Vote vote = new Vote(agenda, event.cpf(), event.vote(), event.votedAt());
-            
-            voteGateway.save(vote);
-            
             acknowledgment.acknowledge();
 
-            logger.info("Voto registrado com sucesso para agenda {}", event.agendaId());
-
+        } catch (TransientDataAccessException | RecoverableDataAccessException | CannotCreateTransactionException e) {
+            logger.warn("Banco de dados indisponível, pausando consumo por {}: {}", pauseDuration, e.getMessage());
+            acknowledgment.nack(pauseDuration);
         } catch (Exception e) {
             logger.error("Erro ao processar evento de voto registrado: {}", e.getMessage(), e);
             throw new IllegalStateException("Falha no processamento do evento de voto: " + event.voteId(), e);
         }
     }
+
+    /**
+     * Modo em lote: processa um poll inteiro com um único INSERT multi-linha e um único ack
+     */
+    @KafkaListener(
+        id = BATCH_LISTENER_ID,
+        idIsGroup = false,
+        topics = KafkaTopicConfig.VOTE_EVENTS_TOPIC,
+        groupId = GROUP_ID,
+        batch = "true",
+        concurrency = "${assembleia.kafka.vote-consumer.concurrency:3}",
+        autoStartup = "${assembleia.kafka.vote-consumer.batch-enabled:true}",
+        properties = {
+            "max.poll.records=${assembleia.kafka.vote-consumer.batch-size:500}",
+            "fetch.max.wait.ms=${assembleia.kafka.vote-consumer.max-wait-ms:500}",
+            "fetch.min.bytes=${assembleia.kafka.vote-consumer.fetch-min-bytes:16384}"
+        })
+    public void consumeVoteRegisteredEvents(
+            @Payload List<VoteRegisteredEventDTO> events,
+            Acknowledgment acknowledgment) {
+
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            persist(events, BATCH_LISTENER_ID);
+
+            acknowledgment.acknowledge();
+
+        } catch (TransientDataAccessException | RecoverableDataAccessException | CannotCreateTransactionException e) {
+            logger.warn("Banco de dados indisponível, pausando consumo do lote de {} eventos por {}: {}",
+                   events.size(), pauseDuration, e.getMessage());
+            acknowledgment.nack(0, pauseDuration);
+        } catch (Exception e) {
+            logger.error("Erro ao processar lote de {} eventos de voto: {}", events.size(), e.getMessage(), e);
+            throw new IllegalStateException("Falha no processamento do lote de eventos de voto", e);
+        }
+    }
+
+    private void persist(List<VoteRegisteredEventDTO> events, String listenerId) {
+        Map<VoteKey, VoteRegisteredEventDTO> unique = dedupe(events);
+
+        Map<UUID, Optional<AgendaSnapshot>> agendas = new HashMap<>();
+        List<Vote> votes = new ArrayList<>(unique.size());
+        for (VoteRegisteredEventDTO event : unique.values()) {
+            Optional<AgendaSnapshot> agenda = agendas.computeIfAbsent(event.agendaId(), agendaNearCache::find);
+            if (agenda.isEmpty()) {
+                logger.warn("Voto {} ignorado: agenda não encontrada {}", event.voteId(), event.agendaId());
+                voteStatusStore.rejected(event.voteId());
+                pendingVoteRegistry.release(event.agendaId(), event.cpf());
+                continue;
+            }
+            UUID voteId = event.voteId() != null ? event.voteId() : UUID.randomUUID();
+            votes.add(new Vote(voteId, agenda.get().toReference(), event.cpf(), event.vote(), event.votedAt()));
+        }
+
+        if (votes.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Set<UUID> inserted = voteGateway.saveAllIgnoringDuplicates(votes);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        logger.info("Lote de votos persistido: {} recebidos, {} únicos, {} inseridos, {} duplicados em {} ms",
+               events.size(), unique.size(), inserted.size(), votes.size() - inserted.size(), elapsed.toMillis());
+
+        // Um voto não inserido pode ser reentrega de um voto já gravado (mesmo id no banco) ou um
+        // segundo voto do participante; só o segundo caso é rejeitado
+        List<UUID> notInserted = new ArrayList<>();
+        for (Vote vote : votes) {
+            if (!inserted.contains(vote.getId())) {
+                notInserted.add(vote.getId());
+            }
+        }
+        Set<UUID> redelivered = notInserted.isEmpty() ? Set.of() : voteGateway.findExistingIds(notInserted);
+
+        voteStatusStore.persisted(inserted);
+        voteStatusStore.persisted(redelivered);
+        for (UUID voteId : notInserted) {
+            if (!redelivered.contains(voteId)) {
+                voteStatusStore.rejected(voteId);
+            }
+        }
+        for (Vote vote : votes) {
+            pendingVoteRegistry.release(vote.getAgenda().getId(), vote.getCpf());
+        }
+
+        if (!inserted.isEmpty()) {
+            redisVoteCounter.increment(countsByAgenda(votes, inserted));
+        }
+
+        if (elapsed.compareTo(slowWriteThreshold) > 0) {
+            pauseForSlowDatabase(listenerId, elapsed);
+        }
+    }
+
+    private static Map<UUID, long[]> countsByAgenda(List<Vote> votes, Set<UUID> inserted) {
+        Map<UUID, long[]> counts = new HashMap<>();
+        for (Vote vote : votes) {
+            if (inserted.contains(vote.getId())) {
+                long[] count = counts.computeIfAbsent(vote.getAgenda().getId(), id -> new long[2]);
+                count[vote.getVote() == VoteStatus.YES ? 0 : 1]++;
+            }
+        }
+        return counts;
+    }
+
+    private Map<VoteKey, VoteRegisteredEventDTO> dedupe(List<VoteRegisteredEventDTO> events) {
+        Map<VoteKey, VoteRegisteredEventDTO> unique = new LinkedHashMap<>(events.size() * 2);
+        for (VoteRegisteredEventDTO event : events) {
+            VoteRegisteredEventDTO first = unique.putIfAbsent(new VoteKey(event.agendaId(), event.cpf()), event);
+            // O mesmo evento repetido no lote (reenvio do outbox) não rejeita o voto
+            if (first != null && !Objects.equals(first.voteId(), event.voteId())) {
+                logger.warn("Voto duplicado ignorado para CPF {} na agenda {}", event.cpf(), event.agendaId());
+                voteStatusStore.rejected(event.voteId());
+            }
+        }
+        return unique;
+    }
+
+    private void pauseForSlowDatabase(String listenerId, Duration elapsed) {
+        KafkaListenerEndpointRegistry registry = registryProvider.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        MessageListenerContainer container = registry.getListenerContainer(listenerId);
+        if (container == null || container.isPauseRequested()) {
+            return;
+        }
+        logger.warn("Escrita de votos lenta ({} ms), pausando o consumidor {} por {}",
+               elapsed.toMillis(), listenerId, pauseDuration);
+        pauseService(registry).pause(container, pauseDuration);
+    }
+
+    private ListenerContainerPauseService pauseService(KafkaListenerEndpointRegistry registry) {
+        ListenerContainerPauseService service = pauseService;
+        if (service == null) {
+            service = new ListenerContainerPauseService(registry, taskSchedulerProvider.getObject());
+            pauseService = service;
+        }
+        return service;
+    }
+
+    private record VoteKey(UUID agendaId, long cpf) {}
 }
@@ -11,7 +11,7 @@ import java.util.UUID;
 public record VoteRegisteredEventDTO(
     UUID voteId,
     UUID agendaId,
-    String cpf,
+    long cpf,
     VoteStatus vote,
     
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -19,7 +19,7 @@ public record VoteRegisteredEventDTO(
     
     String eventType
 ) {
-    public static VoteRegisteredEventDTO from(UUID voteId, UUID agendaId, String cpf, VoteStatus vote, LocalDateTime votedAt) {
+    public static VoteRegisteredEventDTO from(UUID voteId, UUID agendaId, long cpf, VoteStatus vote, LocalDateTime votedAt) {
         return new VoteRegisteredEventDTO(
             voteId,
             agendaId,
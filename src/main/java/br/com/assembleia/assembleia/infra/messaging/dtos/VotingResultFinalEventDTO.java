@@ -0,0 +1,38 @@
+package br.com.assembleia.assembleia.infra.messaging.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import br.com.assembleia.assembleia.adapters.dtos.VotingResultDTO;
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record VotingResultFinalEventDTO(
+    UUID agendaId,
+    String agendaTitle,
+    long yesVotes,
+    long noVotes,
+    long totalVotes,
+    VoteStatus winner,
+    String result,
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime finalizedAt,
+
+    String eventType
+) {
+    public static VotingResultFinalEventDTO from(VotingResultDTO result, LocalDateTime finalizedAt) {
+        return new VotingResultFinalEventDTO(
+            result.agendaId(),
+            result.agendaTitle(),
+            result.yesCount(),
+            result.noCount(),
+            result.totalVotes(),
+            result.winner(),
+            result.result(),
+            finalizedAt,
+            "VOTING_RESULT_FINAL"
+        );
+    }
+}
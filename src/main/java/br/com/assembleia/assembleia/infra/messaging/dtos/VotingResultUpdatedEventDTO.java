@@ -0,0 +1,29 @@
+package br.com.assembleia.assembleia.infra.messaging.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record VotingResultUpdatedEventDTO(
+    UUID agendaId,
+    long yesVotes,
+    long noVotes,
+    long totalVotes,
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime updatedAt,
+
+    String eventType
+) {
+    public static VotingResultUpdatedEventDTO from(UUID agendaId, long yesVotes, long noVotes, LocalDateTime updatedAt) {
+        return new VotingResultUpdatedEventDTO(
+            agendaId,
+            yesVotes,
+            noVotes,
+            yesVotes + noVotes,
+            updatedAt,
+            "VOTING_RESULT_UPDATED"
+        );
+    }
+}
@@ -1,15 +1,21 @@
 package br.com.assembleia.assembleia.infra.messaging.producers;
 
-import br.com.assembleia.assembleia.infra.db.entities.Vote;
 import br.com.assembleia.assembleia.infra.messaging.config.KafkaTopicConfig;
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
 import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VotingResultFinalEventDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Serviço para publicar eventos no Kafka
@@ -20,34 +26,83 @@ public class AssembleiaEventProducer {
     private static final Logger logger = LoggerFactory.getLogger(AssembleiaEventProducer.class);
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Executor callbackExecutor;
+    private final VoteEventSharding voteEventSharding;
 
-    public AssembleiaEventProducer(KafkaTemplate<String, Object> kafkaTemplate) {
+    /**
+     * Os callbacks de envio rodam no executor da aplicação (threads virtuais quando
+     * spring.threads.virtual.enabled=true), e não na thread de I/O do produtor Kafka
+     */
+    public AssembleiaEventProducer(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor callbackExecutor,
+            VoteEventSharding voteEventSharding) {
         this.kafkaTemplate = kafkaTemplate;
+        this.callbackExecutor = callbackExecutor;
+        this.voteEventSharding = voteEventSharding;
     }
 
-
     /**
-     * Publica evento de voto registrado
+     * Publica um lote de eventos de voto registrado, com chave agenda + fatia do CPF. O futuro só
+     * completa quando todos os envios foram confirmados pelo broker, e completa com erro se qualquer
+     * um deles falhar.
+     *
+     * O envio para no primeiro futuro que falhar: com o broker fora do ar cada send pode bloquear até
+     * max.block.ms esperando metadados ou espaço no buffer, e não adianta repetir isso para o resto do
+     * lote, que será reenviado inteiro.
      */
-    public void publishVoteRegisteredEvent(VoteRegisteredEventDTO event) {
-        try {
-            logger.info("Publicando evento de voto registrado: {} para agenda {}", event.voteId(), event.agendaId());
+    public CompletableFuture<Void> publishVoteRegisteredEvents(List<VoteRegisteredEventDTO> events) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (VoteRegisteredEventDTO event : events) {
+            if (failure.get() != null) {
+                break;
+            }
+            try {
+                CompletableFuture<?> send = kafkaTemplate.send(
+                    KafkaTopicConfig.VOTE_EVENTS_TOPIC,
+                    voteEventSharding.key(event.agendaId(), event.cpf()),
+                    event
+                );
+                send.whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        failure.compareAndSet(null, exception);
+                    }
+                });
+                sends.add(send);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
 
-            CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(
-                KafkaTopicConfig.VOTE_EVENTS_TOPIC,
-                event.agendaId().toString(),
-                event
-            );
+        Throwable stopped = failure.get();
+        CompletableFuture<Void> batch = stopped == null
+            ? CompletableFuture.allOf(sends.toArray(CompletableFuture<?>[]::new))
+            : CompletableFuture.failedFuture(stopped);
+        return batch.whenCompleteAsync((result, exception) -> {
+            if (exception != null) {
+                logger.error("Erro ao publicar lote de {} eventos de voto registrado ({} enviados): {}",
+                       events.size(), sends.size(), exception.getMessage(), exception);
+            } else {
+                logger.debug("Lote de {} eventos de voto registrado publicado com sucesso", events.size());
+            }
+        }, callbackExecutor);
+    }
 
-            future.whenComplete((result, exception) -> {
+    /**
+     * Publica o resultado final de uma agenda no voting-results, com a agenda como chave. Cada
+     * réplica que congela o resultado publica o mesmo conteúdo, então o evento é idempotente por agenda.
+     */
+    public CompletableFuture<Void> publishVotingResultFinalEvent(VotingResultFinalEventDTO event) {
+        return kafkaTemplate.send(KafkaTopicConfig.VOTING_RESULTS_TOPIC, event.agendaId().toString(), event)
+            .<Void>thenApply(result -> null)
+            .whenCompleteAsync((result, exception) -> {
                 if (exception != null) {
-                    logger.error("Erro ao publicar evento de voto registrado: {}", exception.getMessage(), exception);
+                    logger.error("Erro ao publicar resultado final da agenda {}: {}",
+                           event.agendaId(), exception.getMessage(), exception);
                 } else {
-                    logger.info("Evento de voto registrado publicado com sucesso: {}", result.getRecordMetadata());
+                    logger.info("Resultado final da agenda {} publicado", event.agendaId());
                 }
-            });
-        } catch (Exception e) {
-            logger.error("Erro inesperado ao publicar evento de voto registrado: {}", e.getMessage(), e);
-        }
+            }, callbackExecutor);
     }
 }
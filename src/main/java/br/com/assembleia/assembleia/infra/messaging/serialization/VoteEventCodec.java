@@ -0,0 +1,75 @@
+package br.com.assembleia.assembleia.infra.messaging.serialization;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+/**
+ * Codificação binária de tamanho fixo do VoteRegisteredEventDTO (50 bytes, big-endian):
+ *
+ * <pre>
+ * versão (1) | voteId (16) | agendaId (16) | cpf (8) | voto (1, ordinal) | votedAt (8, epoch millis UTC)
+ * </pre>
+ *
+ * O eventType não é gravado, já que todo registro do vote-events é VOTE_REGISTERED. voteId nulo é
+ * gravado como zeros. O primeiro byte nunca é '{', o que permite distinguir os registros JSON antigos.
+ */
+public final class VoteEventCodec {
+
+    public static final byte VERSION = 1;
+    public static final int ENCODED_SIZE = 1 + 16 + 16 + 8 + 1 + 8;
+
+    private static final VoteStatus[] VOTES = VoteStatus.values();
+
+    private VoteEventCodec() {}
+
+    public static byte[] encode(VoteRegisteredEventDTO event) {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_SIZE);
+        buffer.put(VERSION);
+        putUuid(buffer, event.voteId());
+        putUuid(buffer, event.agendaId());
+        buffer.putLong(event.cpf());
+        buffer.put((byte) event.vote().ordinal());
+        buffer.putLong(event.votedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        return buffer.array();
+    }
+
+    public static VoteRegisteredEventDTO decode(byte[] data) {
+        if (data.length == 0 || data[0] != VERSION) {
+            throw new SerializationException("Versão desconhecida do evento de voto: "
+                + (data.length == 0 ? "vazio" : data[0]));
+        }
+        if (data.length != ENCODED_SIZE) {
+            throw new SerializationException("Evento de voto com tamanho inválido: " + data.length + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data, 1, ENCODED_SIZE - 1);
+        UUID voteId = getUuid(buffer);
+        UUID agendaId = getUuid(buffer);
+        long cpf = buffer.getLong();
+        int vote = buffer.get();
+        if (vote < 0 || vote >= VOTES.length) {
+            throw new SerializationException("Voto desconhecido no evento de voto: " + vote);
+        }
+        LocalDateTime votedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC);
+        return VoteRegisteredEventDTO.from(voteId, agendaId, cpf, VOTES[vote], votedAt);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid != null ? uuid.getMostSignificantBits() : 0L);
+        buffer.putLong(uuid != null ? uuid.getLeastSignificantBits() : 0L);
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        long most = buffer.getLong();
+        long least = buffer.getLong();
+        return most == 0L && least == 0L ? null : new UUID(most, least);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.assembleia.assembleia.infra.messaging.serialization;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+/**
+ * Lê eventos de voto no formato binário do {@link VoteEventCodec}. Registros que começam com '{'
+ * foram publicados em JSON antes da troca de formato e são lidos como VoteRegisteredEventDTO,
+ * ignorando os cabeçalhos de tipo.
+ */
+public class VoteEventDeserializer implements Deserializer<VoteRegisteredEventDTO> {
+
+    private static final byte JSON_START = '{';
+
+    private final JsonDeserializer<VoteRegisteredEventDTO> jsonDeserializer =
+        new JsonDeserializer<>(VoteRegisteredEventDTO.class, false);
+
+    @Override
+    public VoteRegisteredEventDTO deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length > 0 && data[0] == JSON_START) {
+            return jsonDeserializer.deserialize(topic, data);
+        }
+        return VoteEventCodec.decode(data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
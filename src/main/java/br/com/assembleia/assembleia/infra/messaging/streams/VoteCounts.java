@@ -0,0 +1,34 @@
+package br.com.assembleia.assembleia.infra.messaging.streams;
+
+import java.nio.ByteBuffer;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+
+/**
+ * Contagem de votos SIM/NÃO de uma pauta, usada tanto como parcial entre as etapas da topologia
+ * quanto como total nos state stores. Serializada em 16 bytes (yes, no).
+ */
+public record VoteCounts(long yes, long no) {
+
+    public static final VoteCounts ZERO = new VoteCounts(0, 0);
+
+    public static final Serde<VoteCounts> SERDE = Serdes.serdeFrom(
+        (topic, counts) -> counts == null ? null : ByteBuffer.allocate(16).putLong(counts.yes).putLong(counts.no).array(),
+        (topic, data) -> {
+            if (data == null) {
+                return null;
+            }
+            if (data.length != 16) {
+                throw new SerializationException("Contagem de votos com tamanho inválido: " + data.length + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            return new VoteCounts(buffer.getLong(), buffer.getLong());
+        }
+    );
+
+    public VoteCounts plus(VoteCounts other) {
+        return new VoteCounts(yes + other.yes, no + other.no);
+    }
+}
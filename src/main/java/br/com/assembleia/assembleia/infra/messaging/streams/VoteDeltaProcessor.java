@@ -0,0 +1,89 @@
+package br.com.assembleia.assembleia.infra.messaging.streams;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+
+/**
+ * Primeira etapa da apuração em stream: roda na partição de origem do vote-events, descarta votos
+ * repetidos do mesmo CPF na mesma pauta e acumula parciais SIM/NÃO por pauta, repassadas a cada
+ * intervalo. A chave agenda + fatia do CPF garante que todos os votos de um participante numa pauta
+ * caem na mesma partição, então a deduplicação local basta.
+ *
+ * Parciais e votantes ficam em state stores com changelog, então uma falha entre o consumo e o
+ * repasse não perde nem duplica votos com exactly_once_v2. Os votantes ficam numa janela pelo
+ * horário do evento e expiram depois do voters-retention, quando a sessão da pauta já encerrou
+ * há muito tempo; uma reentrega mais antiga que isso voltaria a ser contada.
+ */
+class VoteDeltaProcessor implements Processor<String, VoteRegisteredEventDTO, String, VoteCounts> {
+
+    private static final VoteCounts YES = new VoteCounts(1, 0);
+    private static final VoteCounts NO = new VoteCounts(0, 1);
+
+    private final Duration flushInterval;
+    private final Duration votersRetention;
+    private ProcessorContext<String, VoteCounts> context;
+    private WindowStore<String, Integer> voters;
+    private KeyValueStore<String, VoteCounts> deltas;
+
+    VoteDeltaProcessor(Duration flushInterval, Duration votersRetention) {
+        this.flushInterval = flushInterval;
+        this.votersRetention = votersRetention;
+    }
+
+    @Override
+    public void init(ProcessorContext<String, VoteCounts> context) {
+        this.context = context;
+        this.voters = context.getStateStore(VotingResultsTopology.VOTERS_STORE);
+        this.deltas = context.getStateStore(VotingResultsTopology.DELTAS_STORE);
+        context.schedule(flushInterval, PunctuationType.WALL_CLOCK_TIME, this::flush);
+    }
+
+    @Override
+    public void process(Record<String, VoteRegisteredEventDTO> record) {
+        VoteRegisteredEventDTO event = record.value();
+        if (event == null || event.agendaId() == null || event.vote() == null) {
+            return;
+        }
+
+        String voter = event.agendaId() + "/" + event.cpf();
+        long timestamp = record.timestamp();
+        try (WindowStoreIterator<Integer> seen = voters.fetch(voter,
+                timestamp - votersRetention.toMillis(), timestamp + votersRetention.toMillis())) {
+            if (seen.hasNext()) {
+                return;
+            }
+        }
+        voters.put(voter, event.vote().ordinal(), timestamp);
+
+        String agendaId = event.agendaId().toString();
+        VoteCounts delta = deltas.get(agendaId);
+        VoteCounts vote = event.vote() == VoteStatus.YES ? YES : NO;
+        deltas.put(agendaId, delta == null ? vote : delta.plus(vote));
+    }
+
+    private void flush(long timestamp) {
+        List<KeyValue<String, VoteCounts>> pending = new ArrayList<>();
+        try (KeyValueIterator<String, VoteCounts> iterator = deltas.all()) {
+            iterator.forEachRemaining(pending::add);
+        }
+
+        for (KeyValue<String, VoteCounts> delta : pending) {
+            context.forward(new Record<>(delta.key, delta.value, timestamp));
+            deltas.delete(delta.key);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.assembleia.assembleia.infra.messaging.streams;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.kafka.streams.processor.PunctuationType;
+import org.apache.kafka.streams.processor.api.Processor;
+import org.apache.kafka.streams.processor.api.ProcessorContext;
+import org.apache.kafka.streams.processor.api.Record;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+import br.com.assembleia.assembleia.infra.messaging.dtos.VotingResultUpdatedEventDTO;
+
+/**
+ * Segunda etapa da apuração em stream: soma as parciais de todas as partições no total da pauta e
+ * publica o total das pautas alteradas a cada intervalo, ou seja, no máximo uma atualização por
+ * intervalo por pauta, independente do volume de votos.
+ *
+ * As pautas alteradas desde a última publicação ficam num state store com changelog, junto com os
+ * totais, então uma falha entre a soma e a publicação não deixa de publicar a pauta.
+ */
+class VotingResultProcessor implements Processor<String, VoteCounts, String, VotingResultUpdatedEventDTO> {
+
+    private final Duration emitInterval;
+    private ProcessorContext<String, VotingResultUpdatedEventDTO> context;
+    private KeyValueStore<String, VoteCounts> totals;
+    private KeyValueStore<String, Long> changedAgendas;
+
+    VotingResultProcessor(Duration emitInterval) {
+        this.emitInterval = emitInterval;
+    }
+
+    @Override
+    public void init(ProcessorContext<String, VotingResultUpdatedEventDTO> context) {
+        this.context = context;
+        this.totals = context.getStateStore(VotingResultsTopology.TOTALS_STORE);
+        this.changedAgendas = context.getStateStore(VotingResultsTopology.CHANGED_STORE);
+        context.schedule(emitInterval, PunctuationType.WALL_CLOCK_TIME, this::emit);
+    }
+
+    @Override
+    public void process(Record<String, VoteCounts> record) {
+        if (record.key() == null || record.value() == null) {
+            return;
+        }
+        VoteCounts total = totals.get(record.key());
+        totals.put(record.key(), total == null ? record.value() : total.plus(record.value()));
+        changedAgendas.put(record.key(), record.timestamp());
+    }
+
+    private void emit(long timestamp) {
+        List<String> changed = new ArrayList<>();
+        try (KeyValueIterator<String, Long> iterator = changedAgendas.all()) {
+            iterator.forEachRemaining(entry -> changed.add(entry.key));
+        }
+
+        LocalDateTime updatedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        for (String agendaId : changed) {
+            VoteCounts total = totals.get(agendaId);
+            context.forward(new Record<>(
+                agendaId,
+                VotingResultUpdatedEventDTO.from(UUID.fromString(agendaId), total.yes(), total.no(), updatedAt),
+                timestamp
+            ));
+            changedAgendas.delete(agendaId);
+        }
+    }
+}
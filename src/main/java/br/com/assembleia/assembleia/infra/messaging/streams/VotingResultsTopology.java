@@ -0,0 +1,67 @@
+package br.com.assembleia.assembleia.infra.messaging.streams;
+
+import java.time.Duration;
+
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.Repartitioned;
+import org.apache.kafka.streams.state.Stores;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import br.com.assembleia.assembleia.infra.messaging.config.KafkaTopicConfig;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VotingResultUpdatedEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.serialization.VoteEventCodec;
+import br.com.assembleia.assembleia.infra.messaging.serialization.VoteEventDeserializer;
+
+/**
+ * Topologia que apura o vote-events em stream e publica o total SIM/NÃO por pauta no voting-results:
+ *
+ * <pre>
+ * vote-events (agenda/fatia) -> deduplicação + parciais por partição -> repartição por pauta
+ *     -> total por pauta -> voting-results (no máximo uma atualização por intervalo por pauta)
+ * </pre>
+ *
+ * As parciais evitam que uma pauta quente concentre todos os votos numa única partição: o tópico de
+ * repartição recebe no máximo uma parcial por intervalo por pauta e partição de origem.
+ */
+public final class VotingResultsTopology {
+
+    public static final String VOTERS_STORE = "voting-results-recent-voters";
+    public static final String DELTAS_STORE = "voting-results-deltas";
+    public static final String TOTALS_STORE = "voting-results-totals";
+    public static final String CHANGED_STORE = "voting-results-changed";
+    public static final String DELTAS_REPARTITION = "voting-results-deltas";
+
+    private VotingResultsTopology() {}
+
+    public static KStream<String, VotingResultUpdatedEventDTO> build(StreamsBuilder builder, Duration emitInterval,
+            Duration votersRetention) {
+        Serde<VoteRegisteredEventDTO> voteEventSerde =
+            Serdes.serdeFrom((topic, event) -> VoteEventCodec.encode(event), new VoteEventDeserializer());
+
+        builder.addStateStore(Stores.windowStoreBuilder(
+            Stores.persistentWindowStore(VOTERS_STORE, votersRetention, votersRetention, false),
+            Serdes.String(), Serdes.Integer()));
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+            Stores.persistentKeyValueStore(DELTAS_STORE), Serdes.String(), VoteCounts.SERDE));
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+            Stores.persistentKeyValueStore(TOTALS_STORE), Serdes.String(), VoteCounts.SERDE));
+        builder.addStateStore(Stores.keyValueStoreBuilder(
+            Stores.persistentKeyValueStore(CHANGED_STORE), Serdes.String(), Serdes.Long()));
+
+        KStream<String, VotingResultUpdatedEventDTO> results = builder
+            .stream(KafkaTopicConfig.VOTE_EVENTS_TOPIC, Consumed.with(Serdes.String(), voteEventSerde))
+            .process(() -> new VoteDeltaProcessor(emitInterval, votersRetention), VOTERS_STORE, DELTAS_STORE)
+            .repartition(Repartitioned.with(Serdes.String(), VoteCounts.SERDE).withName(DELTAS_REPARTITION))
+            .process(() -> new VotingResultProcessor(emitInterval), TOTALS_STORE, CHANGED_STORE);
+
+        results.to(KafkaTopicConfig.VOTING_RESULTS_TOPIC,
+            Produced.with(Serdes.String(), new JsonSerde<>(VotingResultUpdatedEventDTO.class).noTypeInfo()));
+        return results;
+    }
+}
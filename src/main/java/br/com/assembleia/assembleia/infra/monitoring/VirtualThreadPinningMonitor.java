@@ -0,0 +1,104 @@
+package br.com.assembleia.assembleia.infra.monitoring;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Acompanha, via JFR, as threads virtuais que ficam presas à thread portadora (pinning).
+ *
+ * Só é ativado com spring.threads.virtual.enabled=true. No Java 21 uma thread virtual que bloqueia
+ * dentro de um bloco synchronized ocupa a portadora até o fim do bloqueio; se isso acontecer no
+ * caminho do JPA/Hikari/Kafka o servidor volta a ter o limite de concorrência de um pool fixo.
+ * Cada ocorrência acima do limite incrementa um contador e é registrada com o frame de origem.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${assembleia.threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Counter.builder("assembleia.threads.virtual.pinned")
+            .description("Threads virtuais que bloquearam presas à thread portadora")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Monitor de pinning de threads virtuais ativo (limite {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        logger.warn("Thread virtual presa à portadora por {} ms em {}",
+               event.getDuration().toMillis(), origin(event));
+    }
+
+    private static String origin(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "(sem stack trace)";
+        }
+        StringBuilder frames = new StringBuilder();
+        int logged = 0;
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            if (logged == LOGGED_FRAMES) {
+                frames.append(" <- ...");
+                break;
+            }
+            if (logged > 0) {
+                frames.append(" <- ");
+            }
+            frames.append(frame.getMethod().getType().getName())
+                .append('.')
+                .append(frame.getMethod().getName())
+                .append(':')
+                .append(frame.getLineNumber());
+            logged++;
+        }
+        return frames.toString();
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.assembleia.assembleia.infra.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.github.bucket4j.local.SynchronizationStrategy;
+
+/**
+ * Buckets em memória desta instância. Usado no modo local e como fallback do modo Redis enquanto o
+ * Redis está indisponível; nesse caso cada réplica aplica o limite sozinha.
+ *
+ * As chaves são distribuídas em faixas, cada uma com seu lock e um LinkedHashMap em ordem de acesso,
+ * então requisições de IPs diferentes raramente disputam o mesmo lock e os buckets não precisam de
+ * sincronização própria. Cada faixa tem tamanho máximo (sai o bucket usado há mais tempo) e a cada
+ * acesso remove os buckets ociosos há tempo suficiente para estarem cheios de novo, o que não muda
+ * o limite aplicado e impede que uma varredura de IPs faça o heap crescer.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    /**
+     * Buckets ociosos verificados por acesso, para a limpeza não pesar em nenhuma requisição
+     */
+    private static final int IDLE_EVICTIONS_PER_ACCESS = 2;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public LocalRateLimiter(int maxBuckets) {
+        int perStripe = Math.max(1, maxBuckets / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration) {
+        Stripe stripe = stripeOf(key);
+        long now = System.nanoTime();
+
+        stripe.lock.lock();
+        try {
+            stripe.evictIdle(now);
+            Entry entry = stripe.buckets.get(key);
+            if (entry == null) {
+                entry = new Entry(newBucket(configuration), fullRefillNanos(configuration));
+                stripe.buckets.put(key, entry);
+            }
+            entry.lastAccess = now;
+            return entry.bucket.tryConsumeAndReturnRemaining(1);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void refund(String key, BucketConfiguration configuration) {
+        Stripe stripe = stripeOf(key);
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.buckets.get(key);
+            if (entry != null) {
+                entry.bucket.addTokens(1);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * O lock da faixa já serializa o acesso, então o bucket não usa sincronização própria
+     */
+    private static Bucket newBucket(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder().withSynchronizationStrategy(SynchronizationStrategy.NONE);
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Tempo para o bucket encher a partir de vazio: depois disso um bucket ocioso equivale a um novo
+     */
+    private static long fullRefillNanos(BucketConfiguration configuration) {
+        long max = 0;
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            double nanos = (double) bandwidth.getCapacity() * bandwidth.getRefillPeriodNanos() / bandwidth.getRefillTokens();
+            max = Math.max(max, (long) Math.ceil(nanos));
+        }
+        return max;
+    }
+
+    private static final class Entry {
+        private final Bucket bucket;
+        private final long idleAfterNanos;
+        private long lastAccess;
+
+        private Entry(Bucket bucket, long idleAfterNanos) {
+            this.bucket = bucket;
+            this.idleAfterNanos = idleAfterNanos;
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Entry> buckets;
+
+        private Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+
+        /**
+         * Em ordem de acesso o mais antigo vem primeiro: para no primeiro bucket ainda ativo
+         */
+        private void evictIdle(long now) {
+            Iterator<Entry> entries = buckets.values().iterator();
+            for (int i = 0; i < IDLE_EVICTIONS_PER_ACCESS && entries.hasNext(); i++) {
+                Entry eldest = entries.next();
+                if (now - eldest.lastAccess < eldest.idleAfterNanos) {
+                    return;
+                }
+                entries.remove();
+            }
+        }
+    }
+}
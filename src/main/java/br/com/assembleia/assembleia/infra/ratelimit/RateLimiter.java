@@ -0,0 +1,18 @@
+package br.com.assembleia.assembleia.infra.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Consome um token do bucket identificado pela chave, criando o bucket com a configuração
+ * informada quando ele ainda não existe
+ */
+public interface RateLimiter {
+
+    ConsumptionProbe tryConsume(String key, BucketConfiguration configuration);
+
+    /**
+     * Devolve ao bucket o token consumido por uma requisição que acabou rejeitada por outro limite
+     */
+    void refund(String key, BucketConfiguration configuration);
+}
@@ -0,0 +1,132 @@
+package br.com.assembleia.assembleia.infra.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.redis.lettuce.Bucket4jLettuce;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Buckets no Redis (proxy manager do bucket4j sobre Lettuce), compartilhados por todas as réplicas.
+ *
+ * Se uma operação no Redis falha ou passa do timeout, o limite passa a ser aplicado pelos buckets
+ * locais desta instância durante o intervalo de nova tentativa, para que uma queda do Redis não
+ * derrube a API nem a deixe sem limite.
+ */
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimiter.class);
+    private static final String KEY_PREFIX = "assembleia:rate-limit:";
+
+    /**
+     * As chaves expiram alguns segundos depois de o bucket voltar a ficar cheio
+     */
+    private static final Duration KEY_EXPIRATION_MARGIN = Duration.ofSeconds(10);
+
+    private final Supplier<ProxyManager<byte[]>> proxyManagerFactory;
+    private final LocalRateLimiter fallback;
+    private final long retryIntervalNanos;
+    private final Counter fallbacks;
+    private volatile ProxyManager<byte[]> proxyManager;
+    private volatile boolean fallingBack;
+    private volatile long retryAt;
+
+    public RedisRateLimiter(Supplier<ProxyManager<byte[]>> proxyManagerFactory, LocalRateLimiter fallback,
+            Duration retryInterval, MeterRegistry meterRegistry) {
+        this.proxyManagerFactory = proxyManagerFactory;
+        this.fallback = fallback;
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.fallbacks = Counter.builder("assembleia.rate-limit.redis-fallbacks")
+            .description("Vezes em que o limite de requisições passou para os buckets locais por falha no Redis")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Proxy manager sobre o cliente Lettuce da conexão do Spring (standalone ou cluster). A conexão
+     * só é aberta no primeiro uso.
+     */
+    public static Supplier<ProxyManager<byte[]>> lettuce(LettuceConnectionFactory connectionFactory, Duration timeout) {
+        return () -> {
+            AbstractRedisClient client = connectionFactory.getRequiredNativeClient();
+            var builder = client instanceof RedisClusterClient cluster
+                ? Bucket4jLettuce.casBasedBuilder(cluster)
+                : Bucket4jLettuce.casBasedBuilder((RedisClient) client);
+            return builder
+                .expirationAfterWrite(ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(KEY_EXPIRATION_MARGIN))
+                .requestTimeout(timeout)
+                .build();
+        };
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration) {
+        if (fallingBack && System.nanoTime() - retryAt < 0) {
+            return fallback.tryConsume(key, configuration);
+        }
+
+        try {
+            ConsumptionProbe probe = proxyManager()
+                .getProxy((KEY_PREFIX + key).getBytes(StandardCharsets.UTF_8), () -> configuration)
+                .tryConsumeAndReturnRemaining(1);
+            if (fallingBack) {
+                fallingBack = false;
+                logger.info("Redis disponível novamente para o limite de requisições");
+            }
+            return probe;
+        } catch (RuntimeException e) {
+            retryAt = System.nanoTime() + retryIntervalNanos;
+            if (!fallingBack) {
+                fallingBack = true;
+                fallbacks.increment();
+                logger.warn("Redis indisponível para o limite de requisições, usando buckets locais: {}", e.getMessage());
+            }
+            return fallback.tryConsume(key, configuration);
+        }
+    }
+
+    /**
+     * Sem Redis a devolução é descartada: o token volta sozinho quando o bucket reabastece
+     */
+    @Override
+    public void refund(String key, BucketConfiguration configuration) {
+        if (fallingBack && System.nanoTime() - retryAt < 0) {
+            fallback.refund(key, configuration);
+            return;
+        }
+
+        try {
+            proxyManager()
+                .getProxy((KEY_PREFIX + key).getBytes(StandardCharsets.UTF_8), () -> configuration)
+                .addTokens(1);
+        } catch (RuntimeException e) {
+            logger.debug("Não foi possível devolver o token de '{}' ao Redis: {}", key, e.getMessage());
+        }
+    }
+
+    private ProxyManager<byte[]> proxyManager() {
+        ProxyManager<byte[]> current = proxyManager;
+        if (current == null) {
+            synchronized (this) {
+                current = proxyManager;
+                if (current == null) {
+                    current = proxyManagerFactory.get();
+                    proxyManager = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.assembleia.assembleia.infra.redis;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores SIM/NÃO por agenda no Redis, compartilhados por todas as réplicas.
+ *
+ * Os incrementos só são aplicados quando a chave já existe: uma chave ausente é sempre semeada a
+ * partir da apuração do Postgres, nunca criada a partir de um incremento parcial. Antes de ler o
+ * banco quem vai semear abre uma chave pendente; os incrementos que chegam enquanto a chave não
+ * existe se acumulam nela e são somados à apuração lida no seed, então um voto gravado entre a
+ * leitura e o seed não se perde. Um lote gravado antes da leitura mas incrementado depois da
+ * abertura ainda é contado duas vezes; as chaves expiram após o TTL configurado, o que limita no
+ * tempo qualquer divergência com o banco.
+ */
+@Component
+public class RedisVoteCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisVoteCounter.class);
+    private static final String KEY_PREFIX = "assembleia:votes:tally:";
+    private static final String YES_FIELD = "yes";
+    private static final String NO_FIELD = "no";
+
+    static final RedisScript<Long> INCREMENT_IF_PRESENT = RedisScript.of("""
+        local target = KEYS[1]
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+                return 0
+            end
+            target = KEYS[2]
+        end
+        redis.call('HINCRBY', target, 'yes', ARGV[1])
+        redis.call('HINCRBY', target, 'no', ARGV[2])
+        return 1
+        """, Long.class);
+
+    static final RedisScript<Long> BEGIN_SEED = RedisScript.of("""
+        if redis.call('EXISTS', KEYS[1]) == 0 and redis.call('EXISTS', KEYS[2]) == 0 then
+            redis.call('HSET', KEYS[2], 'yes', 0, 'no', 0)
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            return 1
+        end
+        return 0
+        """, Long.class);
+
+    static final RedisScript<Long> SEED_IF_ABSENT = RedisScript.of("""
+        if redis.call('EXISTS', KEYS[1]) == 1 or redis.call('EXISTS', KEYS[2]) == 0 then
+            return 0
+        end
+        local pending = redis.call('HMGET', KEYS[2], 'yes', 'no')
+        redis.call('HSET', KEYS[1], 'yes', tonumber(ARGV[1]) + tonumber(pending[1]),
+            'no', tonumber(ARGV[2]) + tonumber(pending[2]))
+        redis.call('PEXPIRE', KEYS[1], ARGV[3])
+        redis.call('DEL', KEYS[2])
+        return 1
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration seedTimeout;
+
+    public RedisVoteCounter(
+            StringRedisTemplate redisTemplate,
+            @Value("${assembleia.votes.redis-counters.enabled:true}") boolean enabled,
+            @Value("${assembleia.votes.redis-counters.ttl:10m}") Duration ttl,
+            @Value("${assembleia.votes.redis-counters.seed-timeout:5s}") Duration seedTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.seedTimeout = seedTimeout;
+    }
+
+    /**
+     * Aplica os incrementos por agenda, no formato {SIM, NÃO}
+     */
+    public void increment(Map<UUID, long[]> deltas) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            deltas.forEach((agendaId, delta) -> redisTemplate.execute(
+                INCREMENT_IF_PRESENT,
+                List.of(key(agendaId), pendingKey(agendaId)),
+                Long.toString(delta[0]),
+                Long.toString(delta[1])));
+        } catch (RuntimeException e) {
+            logger.warn("Erro ao incrementar contadores de votos no Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lê os dois contadores da agenda com um único HMGET. Retorna vazio quando a chave não existe
+     * ou o Redis está indisponível.
+     */
+    public Optional<long[]> find(UUID agendaId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(key(agendaId), List.of(YES_FIELD, NO_FIELD));
+            if (values == null || values.get(0) == null || values.get(1) == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new long[] {
+                Long.parseLong((String) values.get(0)),
+                Long.parseLong((String) values.get(1))
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Erro ao ler contadores de votos no Redis: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Abre a chave pendente da agenda; deve ser chamado antes de ler a apuração que será semeada.
+     * A chave pendente expira após o seed-timeout se o seed não vier.
+     */
+    public void beginSeed(UUID agendaId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(
+                BEGIN_SEED,
+                List.of(key(agendaId), pendingKey(agendaId)),
+                Long.toString(seedTimeout.toMillis()));
+        } catch (RuntimeException e) {
+            logger.warn("Erro ao preparar contadores de votos no Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cria a chave com a apuração lida depois do beginSeed somada aos incrementos acumulados na
+     * chave pendente. Sem chave pendente (expirada ou já consumida por outro seed) nada é gravado.
+     */
+    public void seed(UUID agendaId, long yesCount, long noCount) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(
+                SEED_IF_ABSENT,
+                List.of(key(agendaId), pendingKey(agendaId)),
+                Long.toString(yesCount),
+                Long.toString(noCount),
+                Long.toString(ttl.toMillis()));
+        } catch (RuntimeException e) {
+            logger.warn("Erro ao semear contadores de votos no Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A chave da agenda entre chaves para que a contagem e a pendente fiquem no mesmo slot do cluster
+     */
+    private static String key(UUID agendaId) {
+        return KEY_PREFIX + "{" + agendaId + "}";
+    }
+
+    private static String pendingKey(UUID agendaId) {
+        return key(agendaId) + ":pending";
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.assembleia.assembleia.infra.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Roda de temporização (hashed timer wheel) para prazos em milissegundos de época.
+ *
+ * Cada prazo cai no slot do seu tick (tick % tamanho da roda) guardando o tick absoluto; avançar
+ * um tick percorre só aquele slot e dispara os prazos cujo tick já chegou, os demais estão uma ou
+ * mais voltas à frente. Agendar custa O(1) e avançar depende só dos prazos do slot, não de quantos
+ * estão pendentes. A precisão é de um tick: um prazo dispara no primeiro avanço em que o tick dele
+ * já passou, e prazos no passado disparam no próximo avanço.
+ */
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final List<Timeout<T>>[] slots;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(Duration tick, int wheelSize, long startMillis) {
+        if (tick.toMillis() <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Timer wheel tick and size must be positive.");
+        }
+        int slotCount = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tick.toMillis();
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = slotCount - 1;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    public synchronized void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        slots[(int) (tick & mask)].add(new Timeout<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Avança a roda até {@code nowMillis} e devolve os itens vencidos. Depois de uma pausa maior
+     * que uma volta cada slot é percorrido uma única vez.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (targetTick <= currentTick) {
+            return List.of();
+        }
+
+        List<T> due = new ArrayList<>();
+        long steps = Math.min(targetTick - currentTick, slots.length);
+        for (long step = 1; step <= steps; step++) {
+            Iterator<Timeout<T>> timeouts = slots[(int) ((currentTick + step) & mask)].iterator();
+            while (timeouts.hasNext()) {
+                Timeout<T> timeout = timeouts.next();
+                if (timeout.tick() <= targetTick) {
+                    due.add(timeout.item());
+                    timeouts.remove();
+                    size--;
+                }
+            }
+        }
+        currentTick = targetTick;
+        return due;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private record Timeout<T>(T item, long tick) {}
+}
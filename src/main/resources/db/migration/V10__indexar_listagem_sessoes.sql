@@ -0,0 +1,3 @@
+-- Listagens de sessões e agendas paginadas por keyset em (data_inicio, id): cada página é uma
+-- busca no índice a partir do cursor, sem OFFSET
+CREATE INDEX IF NOT EXISTS idx_sessoes_data_inicio_id ON votacao.sessoes (data_inicio, id);
@@ -0,0 +1,2 @@
+-- Uma única réplica publica o resultado final de cada agenda: a que conseguir preencher publicado_em
+ALTER TABLE votacao.resultados_finais ADD COLUMN IF NOT EXISTS publicado_em TIMESTAMP;
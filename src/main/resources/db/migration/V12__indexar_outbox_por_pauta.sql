@@ -0,0 +1,3 @@
+-- A finalização de cada agenda verifica se ainda há votos dela no outbox; sem índice a consulta
+-- varre a tabela justamente quando o outbox está acumulado
+CREATE INDEX IF NOT EXISTS idx_votos_outbox_pauta_id ON votacao.votos_outbox (pauta_id);
@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS votacao.apuracao (
+    pauta_id UUID PRIMARY KEY,
+    votos_sim BIGINT NOT NULL DEFAULT 0,
+    votos_nao BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL,
+    CONSTRAINT fk_apuracao_pauta FOREIGN KEY (pauta_id) REFERENCES votacao.pautas(id)
+);
+
+INSERT INTO votacao.apuracao (pauta_id, votos_sim, votos_nao, atualizado_em)
+SELECT pauta_id,
+       COUNT(*) FILTER (WHERE voto = 'YES'),
+       COUNT(*) FILTER (WHERE voto = 'NO'),
+       NOW()
+FROM votacao.votos
+GROUP BY pauta_id;
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS votacao.resultados_finais (
+    pauta_id UUID PRIMARY KEY,
+    titulo VARCHAR(255) NOT NULL,
+    votos_sim BIGINT NOT NULL,
+    votos_nao BIGINT NOT NULL,
+    sessao_encerrada_em TIMESTAMP NOT NULL,
+    apurado_em TIMESTAMP NOT NULL,
+    CONSTRAINT fk_resultado_final_pauta FOREIGN KEY (pauta_id) REFERENCES votacao.pautas(id)
+);
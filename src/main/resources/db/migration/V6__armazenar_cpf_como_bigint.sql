@@ -0,0 +1,12 @@
+-- CPF passa a ser armazenado normalizado, com os 11 dígitos empacotados em um BIGINT.
+-- Os valores atuais cabem em VARCHAR(11) e só chegam ao banco depois de validados,
+-- portanto são sempre 11 dígitos sem formatação.
+ALTER TABLE votacao.votos ADD COLUMN cpf_numero BIGINT;
+
+UPDATE votacao.votos SET cpf_numero = CAST(cpf AS BIGINT);
+
+ALTER TABLE votacao.votos DROP CONSTRAINT un_participante_pauta;
+ALTER TABLE votacao.votos DROP COLUMN cpf;
+ALTER TABLE votacao.votos RENAME COLUMN cpf_numero TO cpf;
+ALTER TABLE votacao.votos ALTER COLUMN cpf SET NOT NULL;
+ALTER TABLE votacao.votos ADD CONSTRAINT un_participante_pauta UNIQUE (pauta_id, cpf);
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS votacao.votos_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    voto_id UUID NOT NULL,
+    pauta_id UUID NOT NULL,
+    cpf BIGINT NOT NULL,
+    voto VARCHAR(3) NOT NULL,
+    data_hora TIMESTAMP NOT NULL,
+    criado_em TIMESTAMP NOT NULL
+);
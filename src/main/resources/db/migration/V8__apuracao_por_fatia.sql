@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS votacao.apuracao_fatias (
+    pauta_id UUID NOT NULL,
+    fatia SMALLINT NOT NULL,
+    votos_sim BIGINT NOT NULL DEFAULT 0,
+    votos_nao BIGINT NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL,
+    CONSTRAINT pk_apuracao_fatias PRIMARY KEY (pauta_id, fatia),
+    CONSTRAINT fk_apuracao_fatias_pauta FOREIGN KEY (pauta_id) REFERENCES votacao.pautas(id)
+);
+
+INSERT INTO votacao.apuracao_fatias (pauta_id, fatia, votos_sim, votos_nao, atualizado_em)
+SELECT pauta_id, 0, votos_sim, votos_nao, atualizado_em
+FROM votacao.apuracao;
+
+DROP TABLE votacao.apuracao;
@@ -0,0 +1,3 @@
+-- Consultas de sessões por período (sessões ativas e sessões que terminam depois de um instante)
+-- filtram por data_fim primeiro: poucas sessões terminam depois de agora
+CREATE INDEX IF NOT EXISTS idx_sessoes_data_fim_data_inicio ON votacao.sessoes (data_fim, data_inicio);
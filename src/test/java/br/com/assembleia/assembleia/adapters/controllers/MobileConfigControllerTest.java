@@ -0,0 +1,154 @@
+package br.com.assembleia.assembleia.adapters.controllers;
+
+import br.com.assembleia.assembleia.adapters.dtos.MobileDynamicDataDTO;
+import br.com.assembleia.assembleia.adapters.dtos.ResponseDTO;
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.adapters.repositories.SessionOptionRepository.SessionAgendaOption;
+import br.com.assembleia.assembleia.application.jobs.SessionStatusResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayInputStream;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MobileConfigController Tests")
+class MobileConfigControllerTest {
+
+    @Mock
+    private SessionGateway sessionGateway;
+
+    @Mock
+    private SessionStatusResolver sessionStatusResolver;
+
+    private MobileConfigController controller;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        controller = new MobileConfigController(sessionGateway, sessionStatusResolver, objectMapper, Duration.ofDays(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("Should build sessions and agendas from the joined rows with one status lookup per session")
+    void shouldBuildOptionsFromJoinedRows() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID activeSession = UUID.randomUUID();
+        UUID emptySession = UUID.randomUUID();
+        UUID firstAgenda = UUID.randomUUID();
+        UUID secondAgenda = UUID.randomUUID();
+        when(sessionGateway.findSessionAgendaOptions(any())).thenReturn(List.of(
+            new SessionAgendaOption(activeSession, now.minusHours(1), now.plusHours(1), firstAgenda, "Pauta 1", "Descrição 1"),
+            new SessionAgendaOption(activeSession, now.minusHours(1), now.plusHours(1), secondAgenda, "Pauta 2", "Descrição 2"),
+            new SessionAgendaOption(emptySession, now.plusDays(1), now.plusDays(2), null, null, null)));
+        when(sessionStatusResolver.status(eq(activeSession), any(), any())).thenReturn(SessionStatus.ATIVA);
+        when(sessionStatusResolver.status(eq(emptySession), any(), any())).thenReturn(SessionStatus.PROGRAMADA);
+
+        ResponseEntity<Object> response = controller.getDynamicData();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        MobileDynamicDataDTO data = (MobileDynamicDataDTO) response.getBody();
+        assertEquals(List.of(activeSession, emptySession),
+            data.sessions().stream().map(MobileDynamicDataDTO.SessionOption::id).toList());
+        assertEquals(List.of("ATIVA", "PROGRAMADA"),
+            data.sessions().stream().map(MobileDynamicDataDTO.SessionOption::status).toList());
+        assertEquals(List.of(firstAgenda, secondAgenda),
+            data.agendas().stream().map(MobileDynamicDataDTO.AgendaOption::id).toList());
+        assertEquals(List.of("Descrição 1", "Descrição 2"),
+            data.agendas().stream().map(MobileDynamicDataDTO.AgendaOption::description).toList());
+        assertTrue(data.agendas().stream().allMatch(MobileDynamicDataDTO.AgendaOption::canVote));
+        verify(sessionStatusResolver, times(1)).status(eq(activeSession), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should only ask for sessions ending within the lookback")
+    void shouldQueryOnlyRelevantSessions() {
+        when(sessionGateway.findSessionAgendaOptions(any())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now().minusDays(1);
+
+        controller.getDynamicData();
+
+        verify(sessionGateway).findSessionAgendaOptions(argThat(endingAfter ->
+            !endingAfter.isBefore(before) && endingAfter.isBefore(before.plusMinutes(1))));
+        verifyNoMoreInteractions(sessionGateway);
+    }
+
+    @Test
+    @DisplayName("Should answer 500 instead of mock data when the query fails")
+    void shouldFailInsteadOfServingMockData() {
+        when(sessionGateway.findSessionAgendaOptions(any())).thenThrow(new IllegalStateException("database down"));
+
+        ResponseEntity<Object> response = controller.getDynamicData();
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertInstanceOf(ResponseDTO.class, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should serve the precomputed configuration, gzipped when accepted")
+    void shouldServePrecomputedConfiguration() throws Exception {
+        MvcResult plain = mockMvc.perform(get("/v1/mobile-config"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andExpect(jsonPath("$.forms.voteForm.formName").value("Registrar Voto"))
+            .andReturn();
+        MvcResult gzipped = mockMvc.perform(get("/v1/mobile-config").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        byte[] body = plain.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+        assertNotEquals(plain.getResponse().getHeader(HttpHeaders.ETAG), gzipped.getResponse().getHeader(HttpHeaders.ETAG));
+
+        mockMvc.perform(get("/v1/mobile-config").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the ETag still matches")
+    void shouldAnswerNotModifiedForMatchingEtag() throws Exception {
+        String etag = mockMvc.perform(get("/v1/mobile-config").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v1/mobile-config")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/v1/mobile-config")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"outdated\""))
+            .andExpect(status().isOk());
+    }
+}
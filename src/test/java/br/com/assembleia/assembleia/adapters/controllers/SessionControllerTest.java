@@ -0,0 +1,77 @@
+package br.com.assembleia.assembleia.adapters.controllers;
+
+import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.application.usecases.SessionUseCase;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionController Tests")
+class SessionControllerTest {
+
+    @Mock
+    private SessionUseCase sessionUseCase;
+
+    @Mock
+    private SessionGateway sessionGateway;
+
+    private SessionController controller;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        controller = new SessionController(sessionUseCase, sessionGateway, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should stream one JSON object per line with nothing between the lines")
+    void shouldStreamNdjson() throws Exception {
+        UUID first = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+        UUID second = UUID.fromString("456e7890-e89b-12d3-a456-426614174001");
+        LocalDateTime start = LocalDateTime.of(2025, 1, 25, 10, 0);
+        doAnswer(invocation -> {
+            Consumer<Session> action = invocation.getArgument(2);
+            action.accept(new Session(first, start, start.plusHours(2), 0L));
+            action.accept(new Session(second, start.plusDays(1), start.plusDays(1).plusHours(2), 1L));
+            return null;
+        }).when(sessionGateway).forEachSession(any(), isNull(), any());
+
+        ResponseEntity<StreamingResponseBody> response = controller.stream(null, null, null, null);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(
+            "{\"id\":\"123e4567-e89b-12d3-a456-426614174000\",\"startDate\":\"2025-01-25T10:00:00\","
+                + "\"endDate\":\"2025-01-25T12:00:00\",\"version\":0}\n"
+                + "{\"id\":\"456e7890-e89b-12d3-a456-426614174001\",\"startDate\":\"2025-01-26T10:00:00\","
+                + "\"endDate\":\"2025-01-26T12:00:00\",\"version\":1}\n",
+            body.toString(StandardCharsets.UTF_8));
+    }
+}
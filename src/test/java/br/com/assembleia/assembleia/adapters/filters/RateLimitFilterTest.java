@@ -0,0 +1,179 @@
+package br.com.assembleia.assembleia.adapters.filters;
+
+import br.com.assembleia.assembleia.adapters.configs.RateLimitProperties;
+import br.com.assembleia.assembleia.adapters.configs.RateLimitProperties.KeyType;
+import br.com.assembleia.assembleia.adapters.configs.RateLimitProperties.Route;
+import br.com.assembleia.assembleia.adapters.dtos.ResponseDTO;
+import br.com.assembleia.assembleia.infra.ratelimit.LocalRateLimiter;
+import br.com.assembleia.assembleia.infra.ratelimit.RedisRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private static final String VALID_CPF = "123.456.789-09";
+    private static final String OTHER_VALID_CPF = "529.982.247-25";
+
+    private RateLimitProperties properties;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties(true, RateLimitProperties.Mode.LOCAL, Duration.ofMillis(100),
+            Duration.ofSeconds(30), 1000, 4096, List.of(
+                new Route("vote-write-cpf", "POST", "/v1/votes", KeyType.CPF, 2, Duration.ofMinutes(1)),
+                new Route("api-ip", null, "/**", KeyType.IP, 5, Duration.ofMinutes(1))));
+        filter = new RateLimitFilter(new LocalRateLimiter(1000), new ObjectMapper(), properties);
+    }
+
+    @Test
+    @DisplayName("Should limit vote writes per CPF regardless of session and pass the body on to the controller")
+    void shouldLimitVoteWritesPerCpf() throws Exception {
+        assertEquals(200, vote(VALID_CPF, "10.0.0.1").getStatus());
+        assertEquals(200, vote(VALID_CPF, "10.0.0.2").getStatus());
+
+        MockHttpServletResponse rejected = vote(VALID_CPF, "10.0.0.3");
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        ResponseDTO body = new ObjectMapper().readValue(rejected.getContentAsByteArray(), ResponseDTO.class);
+        assertEquals(429, body.status());
+        assertEquals("Rate limit exceeded", body.message());
+        assertTrue(body.timestamp() > 0);
+
+        assertEquals(200, vote(OTHER_VALID_CPF, "10.0.0.3").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should limit any route per client IP and not call the chain when rejected")
+    void shouldLimitPerClientIp() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, get("10.0.0.9", new MockFilterChain()).getStatus());
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        assertEquals(429, get("10.0.0.9", chain).getStatus());
+        assertNull(chain.getRequest());
+        assertEquals(200, get("10.0.0.10", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not charge the CPF bucket when the IP limit rejects the vote")
+    void shouldRefundEarlierBucketsWhenLaterRuleRejects() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, get("10.0.0.7", new MockFilterChain()).getStatus());
+        }
+        assertEquals(429, vote(VALID_CPF, "10.0.0.7").getStatus());
+        assertEquals(429, vote(VALID_CPF, "10.0.0.7").getStatus());
+
+        assertEquals(200, vote(VALID_CPF, "10.0.0.1").getStatus());
+        assertEquals(200, vote(VALID_CPF, "10.0.0.2").getStatus());
+        assertEquals(429, vote(VALID_CPF, "10.0.0.3").getStatus());
+    }
+
+    @Test
+    @DisplayName("Should fall back to local buckets while Redis is unavailable")
+    void shouldFallBackToLocalBucketsWhenRedisFails() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        RedisRateLimiter redis = new RedisRateLimiter(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Unable to connect to Redis");
+        }, new LocalRateLimiter(1000), Duration.ofSeconds(30), new SimpleMeterRegistry());
+        filter = new RateLimitFilter(redis, new ObjectMapper(), properties);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, get("10.0.0.9", new MockFilterChain()).getStatus());
+        }
+        assertEquals(429, get("10.0.0.9", new MockFilterChain()).getStatus());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should replay the inspected body to an async read listener")
+    void shouldReplayBodyToReadListener() throws Exception {
+        MockHttpServletRequest request = request("POST", "10.0.0.1");
+        String body = "{\"cpf\":\"" + VALID_CPF + "\",\"vote\":\"SIM\"}";
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream input = ((HttpServletRequest) chain.getRequest()).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (input.isReady() && !input.isFinished()) {
+                    int b = input.read();
+                    if (b >= 0) {
+                        read.write(b);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+        });
+
+        assertTrue(allRead.get());
+        assertEquals(body, read.toString(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse vote(String cpf, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = request("POST", remoteAddr);
+        String body = "{\"agendaId\":\"" + UUID.randomUUID() + "\",\"cpf\":\"" + cpf + "\",\"vote\":\"SIM\"}";
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setContentType("application/json");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (chain.getRequest() != null) {
+            HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+            assertEquals(body, new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    private MockHttpServletResponse get(String remoteAddr, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest request = request("GET", remoteAddr);
+        filter.doFilter(request, response, chain);
+        assertNull(request.getSession(false));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/votes");
+        request.setContextPath("/api");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
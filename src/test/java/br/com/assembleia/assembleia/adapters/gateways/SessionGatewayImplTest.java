@@ -0,0 +1,78 @@
+package br.com.assembleia.assembleia.adapters.gateways;
+
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+import br.com.assembleia.assembleia.adapters.repositories.ListingFilter;
+import br.com.assembleia.assembleia.adapters.repositories.SessionRepository;
+import br.com.assembleia.assembleia.infra.cache.ActiveSessionIndex;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionGatewayImpl Tests")
+class SessionGatewayImplTest {
+
+    private static final ListingFilter ACTIVE = new ListingFilter(SessionStatus.ATIVA, null, null);
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    private ActiveSessionIndex activeSessionIndex;
+    private SessionGatewayImpl gateway;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        activeSessionIndex = new ActiveSessionIndex(new SimpleMeterRegistry(), true);
+        gateway = new SessionGatewayImpl(sessionRepository, activeSessionIndex);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    @DisplayName("Should list and stream active sessions from the index without querying the database")
+    void shouldServeActiveListingFromIndex() {
+        Session first = new Session(UUID.randomUUID(), now.minusHours(2), now.plusHours(1), 0L);
+        Session second = new Session(UUID.randomUUID(), now.minusHours(1), now.plusHours(1), 0L);
+        Session upcoming = new Session(UUID.randomUUID(), now.plusHours(1), now.plusHours(2), 0L);
+        activeSessionIndex.load(List.of(second, upcoming, first));
+
+        List<Session> page = gateway.findSessionPage(ACTIVE, null, 1);
+        List<UUID> streamed = new ArrayList<>();
+        gateway.forEachSession(ACTIVE, null, session -> streamed.add(session.getId()));
+
+        assertEquals(List.of(first.getId()), page.stream().map(Session::getId).toList());
+        assertEquals(List.of(first.getId(), second.getId()), streamed);
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    @DisplayName("Should query the database for other filters or while the index is not loaded")
+    void shouldFallBackToDatabase() {
+        ListingFilter ranged = new ListingFilter(SessionStatus.ATIVA, now.minusDays(1), null);
+        when(sessionRepository.findSessionPage(any(), isNull(), anyInt())).thenReturn(List.of());
+
+        gateway.findSessionPage(ACTIVE, null, 10);
+        activeSessionIndex.load(List.of());
+        gateway.findSessionPage(ranged, null, 10);
+
+        verify(sessionRepository).findSessionPage(eq(ACTIVE), isNull(), eq(10));
+        verify(sessionRepository).findSessionPage(eq(ranged), isNull(), eq(10));
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.assembleia.assembleia.adapters.gateways;
+
+import br.com.assembleia.assembleia.adapters.repositories.VoteTallyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VoteTallyGatewayImpl Tests")
+class VoteTallyGatewayImplTest {
+
+    @Mock
+    private VoteTallyRepository voteTallyRepository;
+
+    private VoteTallyGatewayImpl gateway;
+    private UUID agendaId;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new VoteTallyGatewayImpl(voteTallyRepository);
+        agendaId = UUID.randomUUID();
+    }
+
+    private static List<Object[]> row(Object... values) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(values);
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Should lock the agenda before counting and replace diverging buckets with the total")
+    void shouldLockAgendaBeforeCountingAndReplaceBuckets() {
+        when(voteTallyRepository.countVotesByAgendaId(agendaId)).thenReturn(row(7L, 3L));
+        when(voteTallyRepository.sumByAgendaId(agendaId))
+            .thenReturn(row(6L, 3L, Timestamp.valueOf(LocalDateTime.now()), 4L));
+
+        assertTrue(gateway.reconcile(agendaId));
+
+        InOrder order = inOrder(voteTallyRepository);
+        order.verify(voteTallyRepository).lockAgenda(agendaId);
+        order.verify(voteTallyRepository).countVotesByAgendaId(agendaId);
+        order.verify(voteTallyRepository).sumByAgendaId(agendaId);
+        order.verify(voteTallyRepository).deleteByAgendaId(agendaId);
+        order.verify(voteTallyRepository).increment(eq(agendaId), eq(0), eq(7L), eq(3L), any());
+    }
+
+    @Test
+    @DisplayName("Should leave the buckets untouched when they match the votes")
+    void shouldKeepMatchingBuckets() {
+        when(voteTallyRepository.countVotesByAgendaId(agendaId)).thenReturn(row(7L, 3L));
+        when(voteTallyRepository.sumByAgendaId(agendaId))
+            .thenReturn(row(7L, 3L, Timestamp.valueOf(LocalDateTime.now()), 4L));
+
+        assertFalse(gateway.reconcile(agendaId));
+
+        verify(voteTallyRepository).lockAgenda(agendaId);
+        verify(voteTallyRepository, never()).deleteByAgendaId(any());
+        verify(voteTallyRepository, never()).increment(any(), anyInt(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should return the sum of the buckets and nothing for an agenda without buckets")
+    void shouldSumBuckets() {
+        LocalDateTime updatedAt = LocalDateTime.now();
+        when(voteTallyRepository.sumByAgendaId(agendaId)).thenReturn(row(5L, 6L, Timestamp.valueOf(updatedAt), 3L));
+
+        var tally = gateway.findByAgendaId(agendaId).orElseThrow();
+        assertEquals(5L, tally.getYesCount());
+        assertEquals(6L, tally.getNoCount());
+        assertEquals(updatedAt, tally.getUpdatedAt());
+
+        UUID empty = UUID.randomUUID();
+        when(voteTallyRepository.sumByAgendaId(empty)).thenReturn(row(0L, 0L, null, 0L));
+        assertTrue(gateway.findByAgendaId(empty).isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import br.com.assembleia.assembleia.infra.db.entities.FinalResult;
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(VoteEventSharding.class)
+@DisplayName("FinalResultRepository Tests")
+class FinalResultRepositoryTest {
+
+    @Autowired
+    private FinalResultRepository finalResultRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID agendaId;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        UUID sessionId = UUID.randomUUID();
+        agendaId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO votacao.sessoes (id, data_inicio, data_fim) VALUES (?, ?, ?)",
+            sessionId, Timestamp.valueOf(now.minusHours(1)), Timestamp.valueOf(now.minusMinutes(1)));
+        jdbcTemplate.update("INSERT INTO votacao.pautas (id, titulo, descricao, sessao_id) VALUES (?, ?, ?, ?)",
+            agendaId, "Pauta", "Descrição", sessionId);
+        finalResultRepository.saveAndFlush(new FinalResult(agendaId, "Pauta", 3, 1, now.minusMinutes(1), now));
+    }
+
+    @Test
+    @DisplayName("Should grant the publication claim only once until it is released")
+    void shouldClaimPublicationOnce() {
+        assertEquals(1, finalResultRepository.claimPublication(agendaId, now));
+        assertEquals(0, finalResultRepository.claimPublication(agendaId, now.plusSeconds(5)));
+
+        assertEquals(1, finalResultRepository.releasePublication(agendaId));
+        assertEquals(1, finalResultRepository.claimPublication(agendaId, now.plusSeconds(10)));
+    }
+
+    @Test
+    @DisplayName("Should not claim the publication of an agenda without final result")
+    void shouldNotClaimMissingResult() {
+        assertEquals(0, finalResultRepository.claimPublication(UUID.randomUUID(), now));
+    }
+}
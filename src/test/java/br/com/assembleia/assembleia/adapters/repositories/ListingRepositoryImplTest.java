@@ -0,0 +1,189 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.cache.ActiveSessionIndex;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Keyset listing repositories Tests")
+class ListingRepositoryImplTest {
+
+    private static final ListingFilter NO_FILTER = new ListingFilter(null, null, null);
+
+    private SessionListingRepositoryImpl sessionRepository;
+    private AgendaListingRepositoryImpl agendaRepository;
+    private JdbcTemplate jdbcTemplate;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:listing-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SCHEMA votacao");
+        jdbcTemplate.execute("CREATE TABLE votacao.sessoes (id UUID PRIMARY KEY, data_inicio TIMESTAMP NOT NULL, "
+            + "data_fim TIMESTAMP NOT NULL, version BIGINT DEFAULT 0)");
+        jdbcTemplate.execute("CREATE TABLE votacao.pautas (id UUID PRIMARY KEY, titulo VARCHAR(255) NOT NULL, "
+            + "descricao TEXT, sessao_id UUID UNIQUE REFERENCES votacao.sessoes(id), version BIGINT DEFAULT 0)");
+        sessionRepository = new SessionListingRepositoryImpl(dataSource);
+        agendaRepository = new AgendaListingRepositoryImpl(dataSource);
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private UUID insertSession(LocalDateTime start, LocalDateTime end) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO votacao.sessoes (id, data_inicio, data_fim) VALUES (?, ?, ?)",
+            id, Timestamp.valueOf(start), Timestamp.valueOf(end));
+        return id;
+    }
+
+    private UUID insertAgenda(UUID sessionId, String title) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO votacao.pautas (id, titulo, descricao, sessao_id) VALUES (?, ?, ?, ?)",
+            id, title, "Descrição", sessionId);
+        return id;
+    }
+
+    @Test
+    @DisplayName("Should walk every session exactly once across pages, including ties on the start date")
+    void shouldWalkAllSessionsAcrossPages() {
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // Duas sessões por início para exercitar o desempate por id
+            LocalDateTime start = now.minusDays(10).plusHours(i / 2);
+            expected.add(insertSession(start, start.plusHours(1)));
+        }
+
+        List<Session> seen = new ArrayList<>();
+        ListingCursor cursor = null;
+        List<Session> page;
+        do {
+            page = sessionRepository.findSessionPage(NO_FILTER, cursor, 3);
+            seen.addAll(page);
+            if (!page.isEmpty()) {
+                Session last = page.get(page.size() - 1);
+                cursor = new ListingCursor(last.getStartDate(), last.getId());
+            }
+        } while (page.size() == 3);
+
+        // A ordem dos UUIDs no banco não é a de UUID.compareTo; basta o início não voltar atrás
+        assertEquals(expected.stream().sorted().toList(), seen.stream().map(Session::getId).sorted().toList());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getStartDate().isBefore(seen.get(i - 1).getStartDate()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should page active sessions from the in-memory index in the database order")
+    void shouldPageActiveSessionsFromIndexInDatabaseOrder() {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            // Quatro sessões por início: o desempate por id tem de seguir a ordem de uuid do banco
+            LocalDateTime start = now.minusHours(5).plusHours(i / 4);
+            UUID id = insertSession(start, now.plusHours(1));
+            sessions.add(new Session(id, start, now.plusHours(1), 0L));
+        }
+        ActiveSessionIndex index = new ActiveSessionIndex(new SimpleMeterRegistry(), true);
+        index.load(sessions);
+        ListingFilter active = new ListingFilter(SessionStatus.ATIVA, null, null);
+
+        List<UUID> fromDatabase = new ArrayList<>();
+        sessionRepository.forEachSession(active, null, session -> fromDatabase.add(session.getId()));
+        assertEquals(fromDatabase, index.findActive(now).orElseThrow().stream().map(Session::getId).toList());
+
+        Session cursor = sessionRepository.findSessionPage(active, null, 7).get(6);
+        List<UUID> nextFromDatabase = sessionRepository.findSessionPage(active,
+            new ListingCursor(cursor.getStartDate(), cursor.getId()), 100).stream().map(Session::getId).toList();
+        List<UUID> nextFromIndex = index.findActive(now, cursor.getStartDate(), cursor.getId()).orElseThrow()
+            .stream().map(Session::getId).toList();
+        assertEquals(13, nextFromIndex.size());
+        assertEquals(nextFromDatabase, nextFromIndex);
+    }
+
+    @Test
+    @DisplayName("Should filter sessions by status and by overlapping date range")
+    void shouldFilterByStatusAndRange() {
+        UUID ended = insertSession(now.minusDays(2), now.minusDays(1));
+        UUID active = insertSession(now.minusHours(1), now.plusHours(1));
+        UUID scheduled = insertSession(now.plusDays(1), now.plusDays(2));
+
+        assertEquals(List.of(ended), ids(new ListingFilter(SessionStatus.ENCERRADA, null, null)));
+        assertEquals(List.of(active), ids(new ListingFilter(SessionStatus.ATIVA, null, null)));
+        assertEquals(List.of(scheduled), ids(new ListingFilter(SessionStatus.PROGRAMADA, null, null)));
+        assertEquals(List.of(ended, active),
+            ids(new ListingFilter(null, now.minusDays(1).minusMinutes(1), now)));
+    }
+
+    @Test
+    @DisplayName("Should list and stream agendas with their session in keyset order")
+    void shouldListAndStreamAgendas() {
+        UUID laterSession = insertSession(now.plusDays(1), now.plusDays(2));
+        UUID earlierSession = insertSession(now.minusHours(1), now.plusHours(1));
+        UUID later = insertAgenda(laterSession, "Pauta B");
+        UUID earlier = insertAgenda(earlierSession, "Pauta A");
+
+        List<Agenda> firstPage = agendaRepository.findAgendaPage(NO_FILTER, null, 1);
+        assertEquals(List.of(earlier), firstPage.stream().map(Agenda::getId).toList());
+        assertEquals(earlierSession, firstPage.get(0).getSession().getId());
+
+        Agenda last = firstPage.get(0);
+        ListingCursor cursor = new ListingCursor(last.getSession().getStartDate(), last.getSession().getId());
+        List<UUID> streamed = new ArrayList<>();
+        agendaRepository.forEachAgenda(NO_FILTER, cursor, agenda -> streamed.add(agenda.getId()));
+        assertEquals(List.of(later), streamed);
+
+        List<UUID> active = new ArrayList<>();
+        agendaRepository.forEachAgenda(new ListingFilter(SessionStatus.ATIVA, null, null), null,
+            agenda -> active.add(agenda.getId()));
+        assertEquals(List.of(earlier), active);
+    }
+
+    @Test
+    @DisplayName("Should page agendas by session start and session id when sessions start together")
+    void shouldPageAgendasBySessionKey() {
+        LocalDateTime start = now.plusDays(3);
+        UUID firstSession = insertSession(start, start.plusHours(1));
+        UUID secondSession = insertSession(start, start.plusHours(2));
+        insertAgenda(firstSession, "Pauta A");
+        insertAgenda(secondSession, "Pauta B");
+
+        List<Agenda> firstPage = agendaRepository.findAgendaPage(NO_FILTER, null, 1);
+        Agenda last = firstPage.get(0);
+        List<Agenda> secondPage = agendaRepository.findAgendaPage(NO_FILTER,
+            new ListingCursor(last.getSession().getStartDate(), last.getSession().getId()), 2);
+
+        assertEquals(1, secondPage.size());
+        assertNotEquals(last.getSession().getId(), secondPage.get(0).getSession().getId());
+        assertEquals(Set.of(firstSession, secondSession),
+            Set.of(last.getSession().getId(), secondPage.get(0).getSession().getId()));
+    }
+
+    @Test
+    @DisplayName("Should round-trip cursors and reject malformed ones")
+    void shouldRoundTripCursor() {
+        ListingCursor cursor = new ListingCursor(now, UUID.randomUUID());
+        assertEquals(cursor, ListingCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> ListingCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> ListingFilter.of("ABERTA", null, null));
+    }
+
+    private List<UUID> ids(ListingFilter filter) {
+        return sessionRepository.findSessionPage(filter, null, 10).stream().map(Session::getId).toList();
+    }
+}
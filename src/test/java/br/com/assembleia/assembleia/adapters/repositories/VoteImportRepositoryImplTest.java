@@ -0,0 +1,121 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.ImportResult;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.TallyDelta;
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * O COPY só existe no PostgreSQL: a conexão é simulada para conferir o que é enviado ao COPY e a
+ * instrução que insere os votos, a apuração e o outbox
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VoteImportRepositoryImpl Tests")
+class VoteImportRepositoryImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    @Mock
+    private CopyIn copyIn;
+
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+    private VoteEventSharding sharding;
+    private VoteImportRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sharding = new VoteEventSharding(16);
+        repository = new VoteImportRepositoryImpl(jdbcTemplate, sharding);
+        doNothing().when(jdbcTemplate).execute(anyString());
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Long>>any()))
+            .thenAnswer(invocation -> invocation.<ConnectionCallback<Long>>getArgument(0).doInConnection(connection));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+    }
+
+    @Test
+    @DisplayName("Should stream the votes to COPY and publish the inserted ones through the outbox")
+    void shouldCopyVotesAndWriteOutbox() throws Exception {
+        UUID agendaId = UUID.randomUUID();
+        LocalDateTime votedAt = LocalDateTime.of(2025, 1, 25, 10, 30);
+        VoteRegisteredEventDTO first = VoteRegisteredEventDTO.from(UUID.randomUUID(), agendaId, 11144477735L, VoteStatus.YES, votedAt);
+        VoteRegisteredEventDTO second = VoteRegisteredEventDTO.from(UUID.randomUUID(), agendaId, 8223861941L, VoteStatus.NO, votedAt);
+        doAnswer(invocation -> {
+            copied.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(copyIn.endCopy()).thenReturn(2L);
+        List<TallyDelta> tallies = List.of(new TallyDelta(agendaId, sharding.bucket(11144477735L), 1, 0));
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<TallyDelta>>any(), any(Object[].class))).thenReturn(tallies);
+
+        ImportResult result = repository.importVotes(Stream.of(first, second));
+
+        assertEquals(2, result.staged());
+        assertEquals(1, result.accepted());
+        assertEquals(String.join("\n",
+                "1," + first.voteId() + "," + agendaId + ",11144477735,YES," + votedAt + "," + sharding.bucket(11144477735L),
+                "2," + second.voteId() + "," + agendaId + ",8223861941,NO," + votedAt + "," + sharding.bucket(8223861941L))
+                + "\n",
+            copied.toString(StandardCharsets.UTF_8));
+
+        ArgumentCaptor<String> merge = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> parameters = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(merge.capture(), ArgumentMatchers.<RowMapper<TallyDelta>>any(), parameters.capture());
+        assertTrue(merge.getValue().contains("INSERT INTO votacao.votos_outbox"));
+        assertTrue(merge.getValue().indexOf("INSERT INTO votacao.votos ") < merge.getValue().indexOf("votos_outbox"));
+        assertInstanceOf(Timestamp.class, parameters.getValue()[0]);
+        verify(jdbcTemplate).execute(startsWith("CREATE TEMP TABLE votos_importacao"));
+    }
+
+    @Test
+    @DisplayName("Should cancel the COPY when reading the votes fails")
+    void shouldCancelCopyOnFailure() throws Exception {
+        when(copyIn.isActive()).thenReturn(true);
+        Stream<VoteRegisteredEventDTO> failing = Stream.generate(() -> {
+            throw new IllegalStateException("upload interrupted");
+        });
+
+        assertThrows(IllegalStateException.class, () -> repository.importVotes(failing));
+        verify(copyIn).cancelCopy();
+        verify(jdbcTemplate, never()).query(anyString(), ArgumentMatchers.<RowMapper<TallyDelta>>any(), any(Object[].class));
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.repositories.VoteOutboxRepository.OutboxEntry;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VoteOutboxRepositoryImpl Tests")
+class VoteOutboxRepositoryImplTest {
+
+    private VoteOutboxRepositoryImpl repository;
+    private TransactionTemplate transaction;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SCHEMA votacao");
+        jdbcTemplate.execute("CREATE TABLE votacao.votos_outbox (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+            + "voto_id UUID NOT NULL, pauta_id UUID NOT NULL, cpf BIGINT NOT NULL, voto VARCHAR(3) NOT NULL, "
+            + "data_hora TIMESTAMP NOT NULL, criado_em TIMESTAMP NOT NULL)");
+        repository = new VoteOutboxRepositoryImpl(jdbcTemplate);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private VoteRegisteredEventDTO event(long cpf) {
+        return VoteRegisteredEventDTO.from(UUID.randomUUID(), UUID.randomUUID(), cpf, VoteStatus.NO, now);
+    }
+
+    @Test
+    @DisplayName("Should lock the oldest entries first, up to the limit, with the stored event")
+    void shouldLockOldestEntriesFirst() {
+        VoteRegisteredEventDTO first = event(11111111111L);
+        repository.insertOutbox(first, now.minusMinutes(3));
+        repository.insertOutbox(event(22222222222L), now.minusMinutes(2));
+        repository.insertOutbox(event(33333333333L), now.minusMinutes(1));
+
+        List<OutboxEntry> batch = transaction.execute(status -> repository.lockOutboxBatch(2));
+
+        assertEquals(2, batch.size());
+        assertEquals(first, batch.get(0).event());
+        assertEquals(now.minusMinutes(3), batch.get(0).createdAt());
+        assertEquals(22222222222L, batch.get(1).event().cpf());
+    }
+
+    @Test
+    @DisplayName("Should delete relayed entries and report the oldest remaining one")
+    void shouldDeleteRelayedEntries() {
+        assertTrue(repository.findOldestOutboxCreatedAt().isEmpty());
+        repository.insertOutbox(event(11111111111L), now.minusMinutes(3));
+        repository.insertOutbox(event(22222222222L), now.minusMinutes(2));
+        repository.insertOutbox(event(33333333333L), now.minusMinutes(1));
+
+        transaction.executeWithoutResult(status -> {
+            List<OutboxEntry> batch = repository.lockOutboxBatch(2);
+            repository.deleteOutbox(batch.stream().map(OutboxEntry::id).toList());
+        });
+        repository.deleteOutbox(List.of());
+
+        List<OutboxEntry> remaining = transaction.execute(status -> repository.lockOutboxBatch(10));
+        assertEquals(1, remaining.size());
+        assertEquals(33333333333L, remaining.get(0).event().cpf());
+        assertEquals(now.minusMinutes(1), repository.findOldestOutboxCreatedAt().orElseThrow());
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.assembleia.assembleia.adapters.repositories;
+
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(VoteEventSharding.class)
+@DisplayName("VoteTallyRepository Tests")
+class VoteTallyRepositoryTest {
+
+    @Autowired
+    private VoteTallyRepository voteTallyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID agendaId;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        UUID sessionId = UUID.randomUUID();
+        agendaId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO votacao.sessoes (id, data_inicio, data_fim) VALUES (?, ?, ?)",
+            sessionId, Timestamp.valueOf(now.minusHours(1)), Timestamp.valueOf(now.plusHours(1)));
+        jdbcTemplate.update("INSERT INTO votacao.pautas (id, titulo, descricao, sessao_id) VALUES (?, ?, ?, ?)",
+            agendaId, "Pauta", "Descrição", sessionId);
+    }
+
+    private void insertBucket(int bucket, long yes, long no, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO votacao.apuracao_fatias (pauta_id, fatia, votos_sim, votos_nao, atualizado_em) "
+            + "VALUES (?, ?, ?, ?, ?)", agendaId, bucket, yes, no, Timestamp.valueOf(updatedAt));
+    }
+
+    @Test
+    @DisplayName("Should sum every bucket of the agenda with the latest update and the bucket count")
+    void shouldSumBuckets() {
+        insertBucket(0, 3, 1, now.minusMinutes(2));
+        insertBucket(5, 2, 4, now);
+        insertBucket(9, 0, 1, now.minusMinutes(1));
+
+        Object[] sum = voteTallyRepository.sumByAgendaId(agendaId).get(0);
+
+        assertEquals(5L, ((Number) sum[0]).longValue());
+        assertEquals(6L, ((Number) sum[1]).longValue());
+        assertEquals(now, ((Timestamp) sum[2]).toLocalDateTime());
+        assertEquals(3L, ((Number) sum[3]).longValue());
+    }
+
+    @Test
+    @DisplayName("Should report zero buckets for an agenda without tally")
+    void shouldReportNoBucketsForAgendaWithoutTally() {
+        Object[] sum = voteTallyRepository.sumByAgendaId(agendaId).get(0);
+
+        assertEquals(0L, ((Number) sum[0]).longValue());
+        assertEquals(0L, ((Number) sum[1]).longValue());
+        assertNull(sum[2]);
+        assertEquals(0L, ((Number) sum[3]).longValue());
+    }
+
+    @Test
+    @DisplayName("Should lock the agenda row and count its votes by value")
+    void shouldLockAgendaAndCountVotes() {
+        jdbcTemplate.update("INSERT INTO votacao.votos (id, pauta_id, cpf, voto, data_hora, version) VALUES (?, ?, ?, ?, ?, 0)",
+            UUID.randomUUID(), agendaId, 11144477735L, "YES", Timestamp.valueOf(now));
+        jdbcTemplate.update("INSERT INTO votacao.votos (id, pauta_id, cpf, voto, data_hora, version) VALUES (?, ?, ?, ?, ?, 0)",
+            UUID.randomUUID(), agendaId, 8223861941L, "NO", Timestamp.valueOf(now));
+
+        assertEquals(1, voteTallyRepository.lockAgenda(agendaId).size());
+        assertTrue(voteTallyRepository.lockAgenda(UUID.randomUUID()).isEmpty());
+        Object[] counts = voteTallyRepository.countVotesByAgendaId(agendaId).get(0);
+        assertEquals(1L, ((Number) counts[0]).longValue());
+        assertEquals(1L, ((Number) counts[1]).longValue());
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.assembleia.assembleia.adapters.sse;
+
+import br.com.assembleia.assembleia.adapters.dtos.VotingResultDTO;
+import br.com.assembleia.assembleia.application.usecases.VoteUseCase;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache.FinalVotingResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VotingResultBroadcaster Tests")
+class VotingResultBroadcasterTest {
+
+    private static final Duration MIN_INTERVAL = Duration.ofSeconds(1);
+
+    @Mock
+    private VoteUseCase voteUseCase;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private ScheduledFuture<Object> scheduledPublish;
+
+    private VotingResultBroadcaster broadcaster;
+    private UUID agendaId;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new VotingResultBroadcaster(voteUseCase, new ObjectMapper(), taskScheduler, Runnable::run,
+            new SimpleMeterRegistry(), MIN_INTERVAL, Duration.ofSeconds(15), Duration.ofMinutes(30), 3);
+        agendaId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should share one scheduled publisher and one result read between subscribers")
+    void shouldShareOneChannelPerAgenda() {
+        when(voteUseCase.getVotingResults(agendaId)).thenReturn(result(1, 0, false));
+        doReturn(scheduledPublish).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(MIN_INTERVAL));
+
+        broadcaster.subscribe(agendaId);
+        broadcaster.subscribe(agendaId);
+
+        assertEquals(2, broadcaster.subscriberCount());
+        verify(taskScheduler, times(1)).scheduleWithFixedDelay(any(Runnable.class), eq(MIN_INTERVAL));
+        verify(voteUseCase, times(1)).getVotingResults(agendaId);
+
+        capturePublisher().run();
+
+        verify(voteUseCase, times(2)).getVotingResults(agendaId);
+    }
+
+    @Test
+    @DisplayName("Should send the final result and close every subscriber when the session ends")
+    void shouldCloseSubscribersWithFinalResult() {
+        when(voteUseCase.getVotingResults(agendaId)).thenReturn(result(1, 0, false));
+        doReturn(scheduledPublish).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(MIN_INTERVAL));
+        broadcaster.subscribe(agendaId);
+        broadcaster.subscribe(agendaId);
+
+        VotingResultDTO finalResult = result(2, 1, true);
+        when(voteUseCase.getVotingResults(agendaId)).thenReturn(finalResult);
+        when(voteUseCase.findFinalVotingResults(agendaId))
+            .thenReturn(Optional.of(new FinalVotingResult(finalResult, "\"etag\"")));
+        capturePublisher().run();
+
+        assertEquals(0, broadcaster.subscriberCount());
+        verify(scheduledPublish).cancel(false);
+    }
+
+    @Test
+    @DisplayName("Should not open a channel for ended agendas")
+    void shouldAnswerEndedAgendasWithoutChannel() {
+        VotingResultDTO finalResult = result(2, 1, true);
+        when(voteUseCase.getVotingResults(agendaId)).thenReturn(finalResult);
+        when(voteUseCase.findFinalVotingResults(agendaId))
+            .thenReturn(Optional.of(new FinalVotingResult(finalResult, "\"etag\"")));
+
+        assertNotNull(broadcaster.subscribe(agendaId));
+
+        assertEquals(0, broadcaster.subscriberCount());
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    @DisplayName("Should reject subscribers above the per-instance limit")
+    void shouldRejectSubscribersAboveLimit() {
+        when(voteUseCase.getVotingResults(agendaId)).thenReturn(result(0, 0, false));
+        doReturn(scheduledPublish).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), eq(MIN_INTERVAL));
+
+        for (int i = 0; i < 3; i++) {
+            broadcaster.subscribe(agendaId);
+        }
+
+        assertThrows(IllegalStateException.class, () -> broadcaster.subscribe(agendaId));
+        assertEquals(3, broadcaster.subscriberCount());
+    }
+
+    private Runnable capturePublisher() {
+        ArgumentCaptor<Runnable> publisher = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).scheduleWithFixedDelay(publisher.capture(), eq(MIN_INTERVAL));
+        return publisher.getValue();
+    }
+
+    private VotingResultDTO result(long yes, long no, boolean sessionEnded) {
+        return VotingResultDTO.create(agendaId, "Agenda", yes, no, sessionEnded);
+    }
+}
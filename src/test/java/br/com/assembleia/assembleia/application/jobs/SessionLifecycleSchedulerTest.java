@@ -0,0 +1,167 @@
+package br.com.assembleia.assembleia.application.jobs;
+
+import br.com.assembleia.assembleia.adapters.dtos.VotingResultDTO;
+import br.com.assembleia.assembleia.adapters.enums.SessionStatus;
+import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.application.jobs.SessionLifecycleScheduler.Phase;
+import br.com.assembleia.assembleia.application.jobs.SessionLifecycleScheduler.Transition;
+import br.com.assembleia.assembleia.application.usecases.VoteUseCase;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache.FinalVotingResult;
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VotingResultFinalEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SessionLifecycleScheduler Tests")
+class SessionLifecycleSchedulerTest {
+
+    @Mock
+    private SessionGateway sessionGateway;
+
+    @Mock
+    private AgendaGateway agendaGateway;
+
+    @Mock
+    private VoteUseCase voteUseCase;
+
+    @Mock
+    private AssembleiaEventProducer eventProducer;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private SessionLifecycleScheduler scheduler;
+    private Session session;
+    private Agenda agenda;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new SessionLifecycleScheduler(sessionGateway, agendaGateway, voteUseCase, eventProducer,
+            new FinalResultCache(Duration.ofSeconds(30), 100), taskScheduler, Runnable::run,
+            true, Duration.ofSeconds(1), 64, Duration.ofDays(1), Duration.ofSeconds(5));
+
+        LocalDateTime now = LocalDateTime.now();
+        session = new Session(now.minusMinutes(10), now.plusMinutes(10));
+        session.setId(UUID.randomUUID());
+        agenda = new Agenda("Agenda", "Description", session);
+        agenda.setId(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should warm up the agendas of a session that is already open when tracked")
+    void shouldWarmUpOpenSession() {
+        when(agendaGateway.findBySessionId(session.getId())).thenReturn(List.of(agenda));
+
+        scheduler.track(session);
+
+        verify(voteUseCase).getVotingResults(agenda.getId());
+        assertEquals(SessionStatus.ATIVA,
+            scheduler.status(session.getId(), session.getStartDate(), session.getEndDate()));
+    }
+
+    @Test
+    @DisplayName("Should freeze and publish final results when the session settles")
+    void shouldFreezeAndPublishFinalResults() {
+        when(agendaGateway.findBySessionId(session.getId())).thenReturn(List.of(agenda));
+        VotingResultDTO result = VotingResultDTO.create(agenda.getId(), "Agenda", 3, 1, true);
+        when(voteUseCase.finalizeVotingResults(agenda.getId()))
+            .thenReturn(Optional.of(new FinalVotingResult(result, "\"etag\"")));
+        when(voteUseCase.claimFinalResultPublication(eq(agenda.getId()), any())).thenReturn(true);
+        when(eventProducer.publishVotingResultFinalEvent(any())).thenReturn(CompletableFuture.completedFuture(null));
+        scheduler.track(session);
+
+        scheduler.run(new Transition(session.getId(), Phase.FINALIZE, session.getEndDate()));
+
+        ArgumentCaptor<VotingResultFinalEventDTO> event = ArgumentCaptor.forClass(VotingResultFinalEventDTO.class);
+        verify(eventProducer).publishVotingResultFinalEvent(event.capture());
+        assertEquals(agenda.getId(), event.getValue().agendaId());
+        assertEquals("Aprovado", event.getValue().result());
+        assertEquals(0, scheduler.trackedSessions());
+    }
+
+    @Test
+    @DisplayName("Should keep the session tracked and retry agendas whose results are not frozen yet")
+    void shouldRetryAgendasNotFrozenYet() {
+        Agenda other = new Agenda("Other", "Description", session);
+        other.setId(UUID.randomUUID());
+        when(agendaGateway.findBySessionId(session.getId())).thenReturn(List.of(agenda, other));
+        VotingResultDTO result = VotingResultDTO.create(other.getId(), "Other", 1, 0, true);
+        when(voteUseCase.finalizeVotingResults(agenda.getId()))
+            .thenThrow(new IllegalStateException("database unavailable"))
+            .thenReturn(Optional.empty());
+        when(voteUseCase.finalizeVotingResults(other.getId()))
+            .thenReturn(Optional.of(new FinalVotingResult(result, "\"etag\"")));
+        when(voteUseCase.claimFinalResultPublication(eq(other.getId()), any())).thenReturn(true, false);
+        when(eventProducer.publishVotingResultFinalEvent(any())).thenReturn(CompletableFuture.completedFuture(null));
+        scheduler.track(session);
+        Transition finalize = new Transition(session.getId(), Phase.FINALIZE, session.getEndDate());
+
+        scheduler.run(finalize);
+        scheduler.run(finalize);
+
+        verify(voteUseCase, times(2)).finalizeVotingResults(agenda.getId());
+        verify(eventProducer, times(1)).publishVotingResultFinalEvent(any());
+        assertEquals(1, scheduler.trackedSessions());
+    }
+
+    @Test
+    @DisplayName("Should publish only when this instance claims the publication and release it when the send fails")
+    void shouldPublishOnlyWithClaim() {
+        when(agendaGateway.findBySessionId(session.getId())).thenReturn(List.of(agenda));
+        VotingResultDTO result = VotingResultDTO.create(agenda.getId(), "Agenda", 3, 1, true);
+        when(voteUseCase.finalizeVotingResults(agenda.getId()))
+            .thenReturn(Optional.of(new FinalVotingResult(result, "\"etag\"")));
+        when(voteUseCase.claimFinalResultPublication(eq(agenda.getId()), any())).thenReturn(true, false);
+        when(eventProducer.publishVotingResultFinalEvent(any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+        scheduler.track(session);
+        Transition finalize = new Transition(session.getId(), Phase.FINALIZE, session.getEndDate());
+
+        scheduler.run(finalize);
+        assertEquals(1, scheduler.trackedSessions());
+        verify(voteUseCase).releaseFinalResultPublication(agenda.getId());
+
+        scheduler.run(finalize);
+        verify(eventProducer, times(1)).publishVotingResultFinalEvent(any());
+        assertEquals(0, scheduler.trackedSessions());
+    }
+
+    @Test
+    @DisplayName("Should ignore transitions scheduled for dates the session no longer has")
+    void shouldIgnoreStaleTransitions() {
+        LocalDateTime oldEnd = session.getEndDate();
+        session.setStartDate(session.getStartDate().plusHours(1));
+        session.setEndDate(oldEnd.plusHours(2));
+        scheduler.track(session);
+
+        scheduler.run(new Transition(session.getId(), Phase.END, oldEnd));
+        scheduler.run(new Transition(session.getId(), Phase.FINALIZE, oldEnd));
+
+        assertEquals(SessionStatus.PROGRAMADA,
+            scheduler.status(session.getId(), session.getStartDate(), session.getEndDate()));
+        verify(voteUseCase, never()).finalizeVotingResults(any());
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.assembleia.assembleia.application.jobs;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.gateways.VoteOutboxGateway;
+import br.com.assembleia.assembleia.adapters.repositories.VoteOutboxRepository.OutboxEntry;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VoteOutboxRelayJob Tests")
+class VoteOutboxRelayJobTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private VoteOutboxGateway voteOutboxGateway;
+
+    @Mock
+    private AssembleiaEventProducer eventProducer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VoteOutboxRelayJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new VoteOutboxRelayJob(voteOutboxGateway, eventProducer, meterRegistry,
+            BATCH_SIZE, 5, Duration.ofSeconds(1), Duration.ofMillis(100));
+    }
+
+    private static List<OutboxEntry> batch(int size) {
+        List<OutboxEntry> entries = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            entries.add(new OutboxEntry(i, VoteRegisteredEventDTO.from(UUID.randomUUID(), UUID.randomUUID(),
+                12345678901L + i, VoteStatus.YES, LocalDateTime.now()), LocalDateTime.now().minusSeconds(1)));
+        }
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void outboxWith(List<List<OutboxEntry>> batches) {
+        var remaining = new ArrayList<>(batches);
+        when(voteOutboxGateway.relay(eq(BATCH_SIZE), any())).thenAnswer(invocation -> {
+            if (remaining.isEmpty()) {
+                return 0;
+            }
+            List<OutboxEntry> next = remaining.remove(0);
+            ((Consumer<List<OutboxEntry>>) invocation.getArgument(1)).accept(next);
+            return next.size();
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep draining full batches and stop at the first partial batch")
+    void shouldDrainUntilPartialBatch() {
+        outboxWith(List.of(batch(2), batch(2), batch(1)));
+        when(eventProducer.publishVoteRegisteredEvents(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        when(voteOutboxGateway.findOldestPendingCreatedAt()).thenReturn(Optional.empty());
+
+        job.relay();
+
+        verify(voteOutboxGateway, times(3)).relay(eq(BATCH_SIZE), any());
+        assertEquals(5, meterRegistry.get("assembleia.votes.outbox.batch.size").summary().totalAmount());
+        assertEquals(0, meterRegistry.get("assembleia.votes.outbox.oldest.age").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should stop the run on a failed send so the batch stays in the outbox")
+    void shouldStopRunOnFailedSend() {
+        outboxWith(List.of(batch(2), batch(2)));
+        when(eventProducer.publishVoteRegisteredEvents(anyList()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(voteOutboxGateway.findOldestPendingCreatedAt())
+            .thenReturn(Optional.of(LocalDateTime.now().minusMinutes(2)));
+
+        job.relay();
+
+        verify(voteOutboxGateway, times(1)).relay(eq(BATCH_SIZE), any());
+        assertEquals(0, meterRegistry.get("assembleia.votes.outbox.batch.size").summary().count());
+        assertTrue(meterRegistry.get("assembleia.votes.outbox.oldest.age").gauge().value() >= 120);
+    }
+
+    @Test
+    @DisplayName("Should run the relay on its own thread while started")
+    void shouldRunOnDedicatedScheduler() {
+        List<String> threads = new ArrayList<>();
+        when(voteOutboxGateway.relay(eq(BATCH_SIZE), any())).thenAnswer(invocation -> {
+            synchronized (threads) {
+                threads.add(Thread.currentThread().getName());
+            }
+            return 0;
+        });
+        when(voteOutboxGateway.findOldestPendingCreatedAt()).thenReturn(Optional.empty());
+
+        job.start();
+        try {
+            verify(voteOutboxGateway, timeout(2000).atLeastOnce()).relay(eq(BATCH_SIZE), any());
+            assertTrue(job.isRunning());
+        } finally {
+            job.stop();
+        }
+
+        assertFalse(job.isRunning());
+        synchronized (threads) {
+            assertTrue(threads.stream().allMatch(name -> name.startsWith("outbox-relay-")));
+        }
+    }
+}
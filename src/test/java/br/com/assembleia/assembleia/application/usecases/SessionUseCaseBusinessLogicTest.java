@@ -1,7 +1,10 @@
 package br.com.assembleia.assembleia.application.usecases;
 
 import br.com.assembleia.assembleia.adapters.gateways.SessionGateway;
+import br.com.assembleia.assembleia.application.jobs.SessionLifecycleScheduler;
 import br.com.assembleia.assembleia.infra.db.entities.Session;
+import br.com.assembleia.assembleia.infra.cache.ActiveSessionIndex;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
 import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +31,15 @@ class SessionUseCaseBusinessLogicTest {
     @Mock
     private AssembleiaEventProducer eventProducer;
 
+    @Mock
+    private AgendaNearCache agendaNearCache;
+
+    @Mock
+    private SessionLifecycleScheduler sessionLifecycleScheduler;
+
+    @Mock
+    private ActiveSessionIndex activeSessionIndex;
+
     @InjectMocks
     private SessionUseCase sessionUseCase;
 
@@ -59,6 +71,8 @@ class SessionUseCaseBusinessLogicTest {
 
         // Assert
         verify(sessionGateway).save(session);
+        verify(sessionLifecycleScheduler).track(session);
+        verify(activeSessionIndex).put(session);
     }
 
     @Test
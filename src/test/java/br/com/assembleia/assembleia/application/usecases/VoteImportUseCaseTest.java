@@ -0,0 +1,160 @@
+package br.com.assembleia.assembleia.application.usecases;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteImportFormat;
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.gateways.FinalResultGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteGateway;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.ImportResult;
+import br.com.assembleia.assembleia.adapters.repositories.VoteImportRepository.TallyDelta;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
+import br.com.assembleia.assembleia.infra.cache.AgendaSnapshot;
+import br.com.assembleia.assembleia.infra.cache.VoteBloomFilter;
+import br.com.assembleia.assembleia.infra.db.entities.FinalResult;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.redis.RedisVoteCounter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VoteImportUseCase Tests")
+class VoteImportUseCaseTest {
+
+    @Mock
+    private VoteGateway voteGateway;
+
+    @Mock
+    private AgendaNearCache agendaNearCache;
+
+    @Mock
+    private FinalResultGateway finalResultGateway;
+
+    @Mock
+    private VoteBloomFilter voteBloomFilter;
+
+    @Mock
+    private RedisVoteCounter redisVoteCounter;
+
+    private VoteImportUseCase voteImportUseCase;
+    private UUID agendaId;
+    private List<VoteRegisteredEventDTO> staged;
+
+    @BeforeEach
+    void setUp() {
+        voteImportUseCase = new VoteImportUseCase(voteGateway, agendaNearCache, finalResultGateway,
+            voteBloomFilter, redisVoteCounter, JsonMapper.builder().findAndAddModules().build());
+
+        agendaId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        lenient().when(agendaNearCache.find(agendaId)).thenReturn(Optional.of(
+            new AgendaSnapshot(agendaId, "Agenda", UUID.randomUUID(), now.minusHours(1), now.plusHours(1))));
+        lenient().when(finalResultGateway.findByAgendaId(agendaId)).thenReturn(Optional.empty());
+
+        staged = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows and report invalid ones")
+    void shouldImportCsvRows() {
+        UUID unknownAgenda = UUID.randomUUID();
+        when(agendaNearCache.find(unknownAgenda)).thenReturn(Optional.empty());
+        stageAllAsAccepted();
+
+        String csv = """
+            agendaId,cpf,vote,votedAt
+            %1$s,111.444.777-35,YES
+            %1$s,52998224725,no,%3$s
+            %1$s,12345678900,YES
+            %1$s,11144477735,MAYBE
+
+            %2$s,08223861941,YES
+            """.formatted(agendaId, unknownAgenda, LocalDateTime.now().minusMinutes(5).withNano(0));
+
+        var summary = voteImportUseCase.importVotes(new StringReader(csv), VoteImportFormat.CSV);
+
+        assertEquals(2, summary.accepted());
+        assertEquals(0, summary.duplicates());
+        assertEquals(3, summary.invalid());
+        assertEquals(List.of("Line 4: Invalid CPF provided", "Line 5: Invalid agendaId or vote.",
+            "Line 7: Agenda not found with id: " + unknownAgenda), summary.errors());
+        assertEquals(List.of(11144477735L, 52998224725L), staged.stream().map(VoteRegisteredEventDTO::cpf).toList());
+        assertEquals(VoteStatus.NO, staged.get(1).vote());
+        verify(voteBloomFilter).put(agendaId, 11144477735L);
+        verify(redisVoteCounter).increment(argThat(counts ->
+            counts.get(agendaId)[0] == 1 && counts.get(agendaId)[1] == 1));
+    }
+
+    @Test
+    @DisplayName("Should report rows rejected by the unique constraint as duplicates")
+    void shouldReportDuplicates() {
+        when(voteGateway.importVotes(any())).thenAnswer(invocation -> {
+            Stream<VoteRegisteredEventDTO> votes = invocation.getArgument(0);
+            long count = votes.count();
+            return new ImportResult(count, List.of(new TallyDelta(agendaId, 0, 1, 0)));
+        });
+
+        String ndjson = """
+            {"agendaId":"%1$s","cpf":"11144477735","vote":"YES"}
+            {"agendaId":"%1$s","cpf":"11144477735","vote":"NO"}
+            {"agendaId":"%1$s","cpf":"52998224725","vote":"YES"
+            """.formatted(agendaId);
+
+        var summary = voteImportUseCase.importVotes(new StringReader(ndjson), VoteImportFormat.NDJSON);
+
+        assertEquals(1, summary.accepted());
+        assertEquals(1, summary.duplicates());
+        assertEquals(1, summary.invalid());
+        assertEquals(List.of("Line 3: Malformed JSON line."), summary.errors());
+    }
+
+    @Test
+    @DisplayName("Should reject votes outside the session and agendas with final results")
+    void shouldRejectVotesThatCannotChangeTheResult() {
+        UUID finishedAgenda = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        when(agendaNearCache.find(finishedAgenda)).thenReturn(Optional.of(
+            new AgendaSnapshot(finishedAgenda, "Finished", UUID.randomUUID(), now.minusDays(2), now.minusDays(1))));
+        when(finalResultGateway.findByAgendaId(finishedAgenda)).thenReturn(Optional.of(new FinalResult()));
+        stageAllAsAccepted();
+
+        String ndjson = """
+            {"agendaId":"%1$s","cpf":"11144477735","vote":"YES","votedAt":"%3$s"}
+            {"agendaId":"%2$s","cpf":"52998224725","vote":"NO"}
+            """.formatted(agendaId, finishedAgenda, now.plusHours(2).withNano(0));
+
+        var summary = voteImportUseCase.importVotes(new StringReader(ndjson), VoteImportFormat.NDJSON);
+
+        assertEquals(0, summary.accepted());
+        assertEquals(2, summary.invalid());
+        assertTrue(staged.isEmpty());
+        verifyNoInteractions(voteBloomFilter);
+    }
+
+    private void stageAllAsAccepted() {
+        when(voteGateway.importVotes(any())).thenAnswer(invocation -> {
+            Stream<VoteRegisteredEventDTO> votes = invocation.getArgument(0);
+            votes.forEach(staged::add);
+            long yes = staged.stream().filter(vote -> vote.vote() == VoteStatus.YES).count();
+            List<TallyDelta> tallies = staged.isEmpty()
+                ? List.of()
+                : List.of(new TallyDelta(agendaId, 0, yes, staged.size() - yes));
+            return new ImportResult(staged.size(), tallies);
+        });
+    }
+}
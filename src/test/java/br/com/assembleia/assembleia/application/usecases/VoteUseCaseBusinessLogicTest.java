@@ -1,25 +1,42 @@
 package br.com.assembleia.assembleia.application.usecases;
 
+import br.com.assembleia.assembleia.adapters.enums.VoteProcessingStatus;
 import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
 import br.com.assembleia.assembleia.adapters.gateways.VoteGateway;
-import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteOutboxGateway;
+import br.com.assembleia.assembleia.adapters.gateways.FinalResultGateway;
+import br.com.assembleia.assembleia.adapters.gateways.VoteTallyGateway;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
+import br.com.assembleia.assembleia.infra.cache.AgendaSnapshot;
+import br.com.assembleia.assembleia.infra.cache.FinalResultCache;
+import br.com.assembleia.assembleia.infra.cache.PendingVoteRegistry;
+import br.com.assembleia.assembleia.infra.cache.VoteBloomFilter;
+import br.com.assembleia.assembleia.infra.cache.VoteStatusStore;
 import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.FinalResult;
 import br.com.assembleia.assembleia.infra.db.entities.Session;
 import br.com.assembleia.assembleia.infra.db.entities.Vote;
-import br.com.assembleia.assembleia.infra.messaging.producers.AssembleiaEventProducer;
+import br.com.assembleia.assembleia.infra.db.entities.VoteTally;
+import br.com.assembleia.assembleia.infra.messaging.consumers.VoteEventBacklog;
+import br.com.assembleia.assembleia.infra.redis.RedisVoteCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,16 +47,41 @@ class VoteUseCaseBusinessLogicTest {
     private VoteGateway voteGateway;
 
     @Mock
-    private AgendaGateway agendaGateway;
+    private AgendaNearCache agendaNearCache;
 
     @Mock
-    private AssembleiaEventProducer eventProducer;
+    private VoteOutboxGateway voteOutboxGateway;
+
+    @Mock
+    private VoteBloomFilter voteBloomFilter;
+
+    @Mock
+    private VoteTallyGateway voteTallyGateway;
+
+    @Mock
+    private RedisVoteCounter redisVoteCounter;
+
+    @Mock
+    private FinalResultGateway finalResultGateway;
+
+    @Mock
+    private VoteEventBacklog voteEventBacklog;
+
+    @Spy
+    private FinalResultCache finalResultCache = new FinalResultCache(Duration.ofSeconds(30), 100);
+
+    @Spy
+    private VoteStatusStore voteStatusStore = new VoteStatusStore(Duration.ofMinutes(15), 100);
+
+    @Spy
+    private PendingVoteRegistry pendingVoteRegistry = new PendingVoteRegistry(Duration.ofMinutes(2), 100);
 
     @InjectMocks
     private VoteUseCase voteUseCase;
 
     private UUID agendaId;
     private String validCpf;
+    private long validCpfNumber;
     private String invalidCpf;
     private VoteStatus voteStatus;
     private Session activeSession;
@@ -53,6 +95,7 @@ class VoteUseCaseBusinessLogicTest {
     void setUp() {
         agendaId = UUID.randomUUID();
         validCpf = "08223861941";
+        validCpfNumber = 8223861941L;
         invalidCpf = "12345678901";
         voteStatus = VoteStatus.YES;
         
@@ -80,7 +123,7 @@ class VoteUseCaseBusinessLogicTest {
     @Test
     @DisplayName("Should prevent duplicate voting")
     void shouldPreventDuplicateVoting() {
-        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpf)).thenReturn(true);
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(true);
 
         IllegalStateException exception = assertThrows(
             IllegalStateException.class,
@@ -88,13 +131,13 @@ class VoteUseCaseBusinessLogicTest {
         );
         
         assertEquals("Participant has already voted on this agenda.", exception.getMessage());
-        verify(eventProducer, never()).publishVoteRegisteredEvent(any());
+        verify(voteOutboxGateway, never()).save(any());
     }
 
     @Test
     @DisplayName("Should reject votes for expired sessions")
     void shouldRejectVotesForExpiredSessions() {
-        when(voteGateway.existsByAgendaIdAndCpf(expiredAgenda.getId(), validCpf)).thenReturn(false);
+        when(voteGateway.existsByAgendaIdAndCpf(expiredAgenda.getId(), validCpfNumber)).thenReturn(false);
         
         IllegalStateException exception = assertThrows(
             IllegalStateException.class,
@@ -102,52 +145,119 @@ class VoteUseCaseBusinessLogicTest {
         );
         
         assertEquals("Voting session has ended.", exception.getMessage());
-        verify(eventProducer, never()).publishVoteRegisteredEvent(any());
+        verify(voteOutboxGateway, never()).save(any());
     }
 
     @Test
     @DisplayName("Should check if participant has voted")
     void shouldCheckIfParticipantHasVoted() {
-        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpf)).thenReturn(true);
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(true);
         
         boolean hasVoted = voteUseCase.hasVoted(agendaId, validCpf);
         
         assertTrue(hasVoted);
-        verify(voteGateway).existsByAgendaIdAndCpf(agendaId, validCpf);
+        verify(voteGateway).existsByAgendaIdAndCpf(agendaId, validCpfNumber);
     }
 
     @Test
     @DisplayName("Should check if participant has not voted")
     void shouldCheckIfParticipantHasNotVoted() {
-        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpf)).thenReturn(false);
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(false);
         
         boolean hasVoted = voteUseCase.hasVoted(agendaId, validCpf);
         
         assertFalse(hasVoted);
-        verify(voteGateway).existsByAgendaIdAndCpf(agendaId, validCpf);
+        verify(voteGateway).existsByAgendaIdAndCpf(agendaId, validCpfNumber);
+    }
+
+    @Test
+    @DisplayName("Should answer not voted without querying the database when the filter rules it out")
+    void shouldSkipDatabaseWhenBloomFilterRulesOutVote() {
+        when(voteBloomFilter.isDefinitelyAbsent(agendaId, validCpfNumber)).thenReturn(true);
+
+        boolean hasVoted = voteUseCase.hasVoted(agendaId, validCpf);
+
+        assertFalse(hasVoted);
+        verify(voteGateway, never()).existsByAgendaIdAndCpf(any(), anyLong());
     }
 
     @Test
     @DisplayName("Should register valid vote successfully")
     void shouldRegisterValidVoteSuccessfully() {
-        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpf)).thenReturn(false);
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(false);
         
         Vote result = voteUseCase.registerVote(activeAgenda, validCpf, voteStatus);
         
         assertNotNull(result);
         assertEquals(agendaId, result.getAgenda().getId());
-        assertEquals(validCpf, result.getCpf());
+        assertEquals(validCpfNumber, result.getCpf());
         assertEquals(voteStatus, result.getVote());
         assertNotNull(result.getDateTime());
+        assertNotNull(result.getId());
+        assertEquals(Optional.of(VoteProcessingStatus.PENDING), voteStatusStore.find(result.getId()));
         
-        verify(voteGateway).existsByAgendaIdAndCpf(agendaId, validCpf);
-        verify(eventProducer).publishVoteRegisteredEvent(any());
+        verify(voteGateway).existsByAgendaIdAndCpf(agendaId, validCpfNumber);
+        verify(voteOutboxGateway).save(any());
+        verify(voteBloomFilter).put(agendaId, validCpfNumber);
+    }
+
+    @Test
+    @DisplayName("Should answer hasVoted from the pending registry right after voting")
+    void shouldAnswerHasVotedFromPendingRegistry() {
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(false);
+
+        voteUseCase.registerVote(activeAgenda, validCpf, voteStatus);
+
+        assertTrue(voteUseCase.hasVoted(agendaId, validCpf));
+        IllegalStateException retry = assertThrows(
+            IllegalStateException.class,
+            () -> voteUseCase.registerVote(activeAgenda, validCpf, voteStatus)
+        );
+        assertEquals("Participant has already voted on this agenda.", retry.getMessage());
+        verify(voteGateway, times(1)).existsByAgendaIdAndCpf(agendaId, validCpfNumber);
+        verify(voteOutboxGateway, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("Should release the pending vote when the outbox write fails")
+    void shouldReleasePendingVoteWhenOutboxFails() {
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(false);
+        doThrow(new IllegalStateException("outbox down")).when(voteOutboxGateway).save(any());
+
+        assertThrows(IllegalStateException.class, () -> voteUseCase.registerVote(activeAgenda, validCpf, voteStatus));
+
+        assertFalse(pendingVoteRegistry.isPending(agendaId, validCpfNumber));
+        verify(voteBloomFilter, never()).put(agendaId, validCpfNumber);
+    }
+
+    @Test
+    @DisplayName("Should confirm pending votes in the database")
+    void shouldConfirmPendingVoteInDatabase() {
+        UUID voteId = UUID.randomUUID();
+        voteStatusStore.pending(voteId);
+        when(voteGateway.existsById(voteId)).thenReturn(true);
+
+        assertEquals(Optional.of(VoteProcessingStatus.PERSISTED), voteUseCase.findVoteStatus(voteId));
+        assertEquals(Optional.of(VoteProcessingStatus.PERSISTED), voteStatusStore.find(voteId));
+    }
+
+    @Test
+    @DisplayName("Should answer rejected votes from memory and unknown votes as empty")
+    void shouldAnswerRejectedAndUnknownVotes() {
+        UUID rejected = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        voteStatusStore.rejected(rejected);
+        when(voteGateway.existsById(unknown)).thenReturn(false);
+
+        assertEquals(Optional.of(VoteProcessingStatus.REJECTED), voteUseCase.findVoteStatus(rejected));
+        assertTrue(voteUseCase.findVoteStatus(unknown).isEmpty());
+        verify(voteGateway, never()).existsById(rejected);
     }
 
     @Test
     @DisplayName("Should validate CPF correctly")
     void shouldValidateCpfCorrectly() {
-        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpf)).thenReturn(false);
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(false);
 
         assertDoesNotThrow(() ->
             voteUseCase.registerVote(activeAgenda, validCpf, voteStatus)
@@ -165,7 +275,7 @@ class VoteUseCaseBusinessLogicTest {
     @DisplayName("Should handle formatted CPF correctly")
     void shouldHandleFormattedCpfCorrectly() {
         String formattedValidCpf = "082.238.619-41";
-        when(voteGateway.existsByAgendaIdAndCpf(agendaId, formattedValidCpf)).thenReturn(false);
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(false);
         
         assertDoesNotThrow(() -> 
             voteUseCase.registerVote(activeAgenda, formattedValidCpf, voteStatus)
@@ -179,4 +289,168 @@ class VoteUseCaseBusinessLogicTest {
         
         assertEquals("Invalid CPF provided", exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Should treat formatted and plain CPF as the same participant")
+    void shouldTreatFormattedAndPlainCpfAsSameParticipant() {
+        when(voteGateway.existsByAgendaIdAndCpf(agendaId, validCpfNumber)).thenReturn(true);
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> voteUseCase.registerVote(activeAgenda, "082.238.619-41", voteStatus)
+        );
+        assertTrue(voteUseCase.hasVoted(agendaId, validCpf));
+    }
+
+    @Test
+    @DisplayName("Should read voting results from the tally instead of counting votes")
+    void shouldReadVotingResultsFromTally() {
+        when(agendaNearCache.find(agendaId)).thenReturn(Optional.of(AgendaSnapshot.of(activeAgenda)));
+        when(voteTallyGateway.findByAgendaId(agendaId))
+            .thenReturn(Optional.of(new VoteTally(agendaId, 15, 5, LocalDateTime.now())));
+
+        var results = voteUseCase.getVotingResults(agendaId);
+
+        assertEquals(15, results.yesCount());
+        assertEquals(5, results.noCount());
+        assertEquals(75.0, results.yesPercentage());
+        assertFalse(results.sessionEnded());
+        verify(voteGateway, never()).countByAgendaIdAndVote(any(), any());
+        InOrder seeding = inOrder(redisVoteCounter, voteTallyGateway);
+        seeding.verify(redisVoteCounter).beginSeed(agendaId);
+        seeding.verify(voteTallyGateway).findByAgendaId(agendaId);
+        seeding.verify(redisVoteCounter).seed(agendaId, 15, 5);
+    }
+
+    @Test
+    @DisplayName("Should serve voting results from the live counters without touching the tally")
+    void shouldServeVotingResultsFromLiveCounters() {
+        when(agendaNearCache.find(agendaId)).thenReturn(Optional.of(AgendaSnapshot.of(activeAgenda)));
+        when(redisVoteCounter.find(agendaId)).thenReturn(Optional.of(new long[] {3, 1}));
+
+        var results = voteUseCase.getVotingResults(agendaId);
+
+        assertEquals(3, results.yesCount());
+        assertEquals(1, results.noCount());
+        verifyNoInteractions(voteTallyGateway);
+        verify(redisVoteCounter, never()).seed(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should report zero votes when the agenda has no tally yet")
+    void shouldReportZeroVotesWithoutTally() {
+        when(agendaNearCache.find(agendaId)).thenReturn(Optional.of(AgendaSnapshot.of(activeAgenda)));
+        when(voteTallyGateway.findByAgendaId(agendaId)).thenReturn(Optional.empty());
+
+        var results = voteUseCase.getVotingResults(agendaId);
+
+        assertEquals(0, results.totalVotes());
+    }
+
+    @Test
+    @DisplayName("Should freeze the result of an ended agenda once and serve it from memory afterwards")
+    void shouldFreezeEndedAgendaResultOnce() {
+        UUID expiredId = expiredAgenda.getId();
+        when(agendaNearCache.find(expiredId)).thenReturn(Optional.of(AgendaSnapshot.of(expiredAgenda)));
+        when(finalResultGateway.findByAgendaId(expiredId)).thenReturn(Optional.empty());
+        when(voteEventBacklog.isDrained(expiredId)).thenReturn(true);
+        when(voteTallyGateway.findByAgendaId(expiredId))
+            .thenReturn(Optional.of(new VoteTally(expiredId, 7, 3, LocalDateTime.now())));
+        when(finalResultGateway.saveIfAbsent(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var frozen = voteUseCase.finalizeVotingResults(expiredId);
+        var first = voteUseCase.getVotingResults(expiredId);
+        var second = voteUseCase.getVotingResults(expiredId);
+
+        assertTrue(frozen.isPresent());
+        assertEquals(frozen.get().result(), first);
+        assertEquals(first, second);
+        assertTrue(first.sessionEnded());
+        assertEquals(VoteStatus.YES, first.winner());
+        verify(voteTallyGateway).reconcile(expiredId);
+        verify(finalResultGateway, times(1)).saveIfAbsent(any(FinalResult.class));
+        verify(agendaNearCache, times(1)).find(expiredId);
+        verifyNoInteractions(redisVoteCounter);
+
+        var cached = voteUseCase.findFinalVotingResults(expiredId);
+        assertTrue(cached.isPresent());
+        assertTrue(cached.get().etag().startsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Should not freeze results while the session is still open")
+    void shouldNotFreezeOpenSessionResults() {
+        when(agendaNearCache.find(agendaId)).thenReturn(Optional.of(AgendaSnapshot.of(activeAgenda)));
+
+        voteUseCase.getVotingResults(agendaId);
+
+        assertTrue(voteUseCase.findFinalVotingResults(agendaId).isEmpty());
+        verifyNoInteractions(finalResultGateway);
+    }
+
+    @Test
+    @DisplayName("Should serve live counts instead of freezing while votes of the ended agenda are still in flight")
+    void shouldNotFreezeWhileVotesAreInFlight() {
+        UUID expiredId = expiredAgenda.getId();
+        when(agendaNearCache.find(expiredId)).thenReturn(Optional.of(AgendaSnapshot.of(expiredAgenda)));
+        when(finalResultGateway.findByAgendaId(expiredId)).thenReturn(Optional.empty());
+        when(voteEventBacklog.isDrained(expiredId)).thenReturn(false);
+        when(redisVoteCounter.find(expiredId)).thenReturn(Optional.of(new long[] {4, 1}));
+
+        assertTrue(voteUseCase.finalizeVotingResults(expiredId).isEmpty());
+        var results = voteUseCase.getVotingResults(expiredId);
+
+        assertEquals(5, results.totalVotes());
+        assertTrue(results.sessionEnded());
+        assertTrue(voteUseCase.findFinalVotingResults(expiredId).isEmpty());
+        verify(finalResultGateway, never()).saveIfAbsent(any());
+        verify(voteTallyGateway, never()).reconcile(any());
+    }
+
+    @Test
+    @DisplayName("Should never check the vote backlog or reconcile on the request path")
+    void shouldNotFreezeOnRequestPath() {
+        UUID expiredId = expiredAgenda.getId();
+        when(agendaNearCache.find(expiredId)).thenReturn(Optional.of(AgendaSnapshot.of(expiredAgenda)));
+        when(finalResultGateway.findByAgendaId(expiredId)).thenReturn(Optional.empty());
+        when(redisVoteCounter.find(expiredId)).thenReturn(Optional.of(new long[] {4, 1}));
+
+        var results = voteUseCase.getVotingResults(expiredId);
+
+        assertEquals(5, results.totalVotes());
+        assertTrue(voteUseCase.findFinalVotingResults(expiredId).isEmpty());
+        verifyNoInteractions(voteEventBacklog);
+        verify(voteTallyGateway, never()).reconcile(any());
+        verify(finalResultGateway, never()).saveIfAbsent(any());
+    }
+
+    @Test
+    @DisplayName("Should serve a result stored by another instance on the request path")
+    void shouldServeStoredResultOnRequestPath() {
+        UUID expiredId = expiredAgenda.getId();
+        when(agendaNearCache.find(expiredId)).thenReturn(Optional.of(AgendaSnapshot.of(expiredAgenda)));
+        when(finalResultGateway.findByAgendaId(expiredId)).thenReturn(Optional.of(new FinalResult(
+            expiredId, "Expired Agenda", 2, 5, expiredSession.getEndDate(), LocalDateTime.now())));
+
+        var results = voteUseCase.getVotingResults(expiredId);
+
+        assertEquals(VoteStatus.NO, results.winner());
+        assertTrue(voteUseCase.findFinalVotingResults(expiredId).isPresent());
+        verifyNoInteractions(voteEventBacklog, redisVoteCounter);
+    }
+
+    @Test
+    @DisplayName("Should reuse a result stored by another instance without checking the vote backlog")
+    void shouldReuseStoredResultWithoutBacklogCheck() {
+        UUID expiredId = expiredAgenda.getId();
+        when(agendaNearCache.find(expiredId)).thenReturn(Optional.of(AgendaSnapshot.of(expiredAgenda)));
+        when(finalResultGateway.findByAgendaId(expiredId)).thenReturn(Optional.of(new FinalResult(
+            expiredId, "Expired Agenda", 2, 5, expiredSession.getEndDate(), LocalDateTime.now())));
+
+        var finalResult = voteUseCase.finalizeVotingResults(expiredId);
+
+        assertTrue(finalResult.isPresent());
+        assertEquals(VoteStatus.NO, finalResult.get().result().winner());
+        verifyNoInteractions(voteEventBacklog);
+    }
 }
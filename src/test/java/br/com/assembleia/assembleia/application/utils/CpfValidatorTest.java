@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("CPF Validator Business Logic Tests")
@@ -106,4 +108,32 @@ class CpfValidatorTest {
             CpfValidator.isValid(cpfWithSpecialChars)
         );
     }
+
+    @Test
+    @DisplayName("Should pack the digits of a valid CPF into a long regardless of formatting")
+    void shouldNormalizeValidCpfToLong() {
+        assertEquals(11144477735L, CpfValidator.normalize("11144477735"));
+        assertEquals(11144477735L, CpfValidator.normalize(" 111.444.777-35 "));
+        assertEquals(8223861941L, CpfValidator.normalize("082.238.619-41"));
+        assertEquals(8223861941L, CpfValidator.normalize(new StringBuilder("08223861941")));
+    }
+
+    @Test
+    @DisplayName("Should return INVALID when normalizing an invalid CPF")
+    void shouldReturnInvalidWhenNormalizingInvalidCpf() {
+        assertEquals(CpfValidator.INVALID, CpfValidator.normalize(null));
+        assertEquals(CpfValidator.INVALID, CpfValidator.normalize("11144477736"));
+        assertEquals(CpfValidator.INVALID, CpfValidator.normalize("111444777350"));
+        assertEquals(CpfValidator.INVALID, CpfValidator.normalize("00000000000"));
+    }
+
+    @Test
+    @DisplayName("Should validate CPFs in bulk")
+    void shouldValidateCpfsInBulk() {
+        boolean[] valid = CpfValidator.validateAll(new CharSequence[] {"11144477735", "12345678901", null, "082.238.619-41"});
+
+        assertArrayEquals(new boolean[] {true, false, false, true}, valid);
+        assertArrayEquals(new long[] {11144477735L, 8223861941L},
+            CpfValidator.normalizeAll(Stream.of("11144477735", "12345678901", "082.238.619-41")).toArray());
+    }
 }
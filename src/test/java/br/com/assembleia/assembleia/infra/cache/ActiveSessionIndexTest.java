@@ -0,0 +1,100 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ActiveSessionIndex Tests")
+class ActiveSessionIndexTest {
+
+    private ActiveSessionIndex index;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        index = new ActiveSessionIndex(new SimpleMeterRegistry(), true);
+        now = LocalDateTime.now();
+    }
+
+    private static Session session(LocalDateTime start, LocalDateTime end) {
+        return new Session(UUID.randomUUID(), start, end, 0L);
+    }
+
+    private static List<UUID> ids(List<Session> sessions) {
+        return sessions.stream().map(Session::getId).sorted().toList();
+    }
+
+    @Test
+    @DisplayName("Should answer nothing until loaded so callers fall back to the database")
+    void shouldBeEmptyUntilLoaded() {
+        assertTrue(index.findActive(now).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return only sessions whose window contains the instant")
+    void shouldReturnSessionsContainingInstant() {
+        Session open = session(now.minusHours(1), now.plusHours(1));
+        Session openLonger = session(now.minusHours(2), now.plusDays(1));
+        Session upcoming = session(now.plusHours(1), now.plusHours(2));
+        Session ended = session(now.minusHours(3), now.minusHours(2));
+        index.load(List.of(open, openLonger, upcoming, ended));
+
+        assertEquals(3, index.size());
+        assertEquals(ids(List.of(open, openLonger)), ids(index.findActive(now).orElseThrow()));
+        assertEquals(ids(List.of(openLonger, upcoming)), ids(index.findActive(now.plusMinutes(90)).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should prune sessions once they end and apply saved sessions")
+    void shouldPruneEndedSessionsAndApplyUpdates() {
+        Session open = session(now.minusHours(1), now.plusHours(1));
+        Session later = session(now.minusHours(1), now.plusHours(5));
+        index.load(List.of(open, later));
+
+        assertEquals(ids(List.of(later)), ids(index.findActive(now.plusHours(2)).orElseThrow()));
+        assertEquals(1, index.size());
+
+        Session created = session(now.minusMinutes(5), now.plusHours(1));
+        index.put(created);
+        later.setEndDate(now.minusMinutes(1));
+        index.put(later);
+
+        assertEquals(ids(List.of(created)), ids(index.findActive(now).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should keep sessions saved while a reload was reading the database")
+    void shouldReapplySessionsSavedDuringReload() {
+        Session open = session(now.minusHours(1), now.plusHours(1));
+        index.load(List.of(open));
+
+        long mark = index.loadMark();
+        Session created = session(now.minusMinutes(5), now.plusHours(1));
+        index.put(created);
+        index.load(List.of(open), mark);
+
+        assertEquals(ids(List.of(open, created)), ids(index.findActive(now).orElseThrow()));
+
+        index.load(List.of(open), index.loadMark());
+        assertEquals(ids(List.of(open)), ids(index.findActive(now).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should keep a session saved before the first load finished")
+    void shouldReapplySessionsSavedBeforeFirstLoad() {
+        long mark = index.loadMark();
+        Session created = session(now.minusMinutes(5), now.plusHours(1));
+        index.put(created);
+        index.load(List.of(), mark);
+
+        assertEquals(ids(List.of(created)), ids(index.findActive(now).orElseThrow()));
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import br.com.assembleia.assembleia.adapters.gateways.AgendaGateway;
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AgendaNearCache Tests")
+class AgendaNearCacheTest {
+
+    @Mock
+    private AgendaGateway agendaGateway;
+
+    private AgendaNearCache cache;
+    private Agenda agenda;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AgendaNearCache(agendaGateway, new SimpleMeterRegistry(), true,
+            Duration.ofMinutes(5), Duration.ofMinutes(5), 100);
+
+        LocalDateTime now = LocalDateTime.now();
+        Session session = new Session(now.minusHours(1), now.plusHours(1));
+        session.setId(UUID.randomUUID());
+        agenda = new Agenda("Agenda", "Description", session);
+        agenda.setId(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should load an agenda once and serve later lookups from memory")
+    void shouldServeRepeatedLookupsFromMemory() {
+        when(agendaGateway.findById(agenda.getId())).thenReturn(Optional.of(agenda));
+
+        var first = cache.find(agenda.getId());
+        var second = cache.find(agenda.getId());
+
+        assertEquals(first, second);
+        assertEquals(agenda.getSession().getEndDate(), first.orElseThrow().endDate());
+        verify(agendaGateway, times(1)).findById(agenda.getId());
+    }
+
+    @Test
+    @DisplayName("Should cache unknown agenda IDs")
+    void shouldCacheUnknownAgendaIds() {
+        UUID unknown = UUID.randomUUID();
+        when(agendaGateway.findById(unknown)).thenReturn(Optional.empty());
+
+        assertTrue(cache.find(unknown).isEmpty());
+        assertTrue(cache.find(unknown).isEmpty());
+
+        verify(agendaGateway, times(1)).findById(unknown);
+    }
+
+    @Test
+    @DisplayName("Should reload agendas after their session is invalidated")
+    void shouldReloadAfterSessionInvalidation() {
+        when(agendaGateway.findById(agenda.getId())).thenReturn(Optional.of(agenda));
+
+        cache.find(agenda.getId());
+        cache.invalidateSession(agenda.getSession().getId());
+        cache.find(agenda.getId());
+
+        verify(agendaGateway, times(2)).findById(agenda.getId());
+    }
+}
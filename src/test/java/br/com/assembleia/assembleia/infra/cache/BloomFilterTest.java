@@ -0,0 +1,58 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bloom Filter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never return a false negative")
+    void shouldNeverReturnFalseNegative() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long cpf = 10_000_000_000L; cpf < 10_000_010_000L; cpf++) {
+            filter.put(cpf);
+        }
+
+        for (long cpf = 10_000_000_000L; cpf < 10_000_010_000L; cpf++) {
+            assertTrue(filter.mightContain(cpf));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate close to the configured one")
+    void shouldKeepFalsePositiveRateCloseToConfigured() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long cpf = 10_000_000_000L; cpf < 10_000_010_000L; cpf++) {
+            filter.put(cpf);
+        }
+
+        int falsePositives = 0;
+        for (long cpf = 20_000_000_000L; cpf < 20_000_100_000L; cpf++) {
+            if (filter.mightContain(cpf)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should size the filter from expected insertions and false positive rate")
+    void shouldSizeFilterFromExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+
+        assertTrue(filter.sizeInBytes() >= 100_000 * 9.5 / 8);
+        assertTrue(filter.sizeInBytes() <= 100_000 * 10 / 8);
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid parameters")
+    void shouldRejectInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.assembleia.assembleia.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bounded Eviction Tests")
+class BoundedEvictionTest {
+
+    @Test
+    @DisplayName("Should leave the map alone while it is within the limit")
+    void shouldLeaveMapWithinLimit() {
+        Map<Integer, Long> entries = new ConcurrentHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            entries.put(i, 0L);
+        }
+
+        BoundedEviction.evictIfNeeded(entries, 10, expiresAt -> true);
+
+        assertEquals(10, entries.size());
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries first once over the limit")
+    void shouldDropExpiredEntriesFirst() {
+        Map<Integer, Long> entries = new ConcurrentHashMap<>();
+        for (int i = 0; i < 11; i++) {
+            entries.put(i, i < 5 ? 0L : 100L);
+        }
+
+        BoundedEviction.evictIfNeeded(entries, 10, expiresAt -> expiresAt <= 50);
+
+        assertEquals(6, entries.size());
+        assertTrue(entries.values().stream().allMatch(expiresAt -> expiresAt == 100L));
+    }
+
+    @Test
+    @DisplayName("Should shrink to 90% of the limit when nothing has expired")
+    void shouldShrinkToNinetyPercent() {
+        Map<Integer, Long> entries = new ConcurrentHashMap<>();
+        for (int i = 0; i < 101; i++) {
+            entries.put(i, 100L);
+        }
+
+        BoundedEviction.evictIfNeeded(entries, 100, expiresAt -> expiresAt <= 50);
+
+        assertEquals(90, entries.size());
+    }
+}
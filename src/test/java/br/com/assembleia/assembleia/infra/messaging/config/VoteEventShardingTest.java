@@ -0,0 +1,61 @@
+package br.com.assembleia.assembleia.infra.messaging.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VoteEventSharding Tests")
+class VoteEventShardingTest {
+
+    private final UUID agendaId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should always map the same CPF to the same key")
+    void shouldMapSameCpfToSameKey() {
+        VoteEventSharding sharding = new VoteEventSharding(16);
+
+        assertEquals(sharding.key(agendaId, 8223861941L), sharding.key(agendaId, 8223861941L));
+        assertTrue(sharding.key(agendaId, 8223861941L).startsWith(agendaId + "/"));
+    }
+
+    @Test
+    @DisplayName("Should spread the CPFs of one agenda over every bucket")
+    void shouldSpreadCpfsOverBuckets() {
+        VoteEventSharding sharding = new VoteEventSharding(16);
+
+        Set<Integer> buckets = new HashSet<>();
+        for (long cpf = 10_000_000_000L; cpf < 10_000_001_000L; cpf++) {
+            int bucket = sharding.bucket(cpf);
+            assertTrue(bucket >= 0 && bucket < 16);
+            buckets.add(bucket);
+        }
+        assertEquals(16, buckets.size());
+    }
+
+    @Test
+    @DisplayName("Should key by agenda only with a single bucket")
+    void shouldKeyByAgendaWithSingleBucket() {
+        VoteEventSharding sharding = new VoteEventSharding(1);
+
+        assertEquals(agendaId.toString(), sharding.key(agendaId, 8223861941L));
+        assertEquals(0, sharding.bucket(8223861941L));
+    }
+
+    @Test
+    @DisplayName("Should list one key per bucket, matching the keys used by the votes")
+    void shouldListEveryBucketKey() {
+        VoteEventSharding sharding = new VoteEventSharding(16);
+
+        var keys = sharding.keys(agendaId);
+
+        assertEquals(16, keys.size());
+        assertTrue(keys.contains(sharding.key(agendaId, 8223861941L)));
+        assertEquals(List.of(agendaId.toString()), new VoteEventSharding(1).keys(agendaId));
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.assembleia.assembleia.infra.messaging.consumers;
+
+import br.com.assembleia.assembleia.adapters.gateways.VoteOutboxGateway;
+import br.com.assembleia.assembleia.infra.messaging.config.KafkaTopicConfig;
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.MockAdminClient;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VoteEventBacklog Tests")
+class VoteEventBacklogTest {
+
+    private static final int PARTITIONS = 6;
+
+    @Mock
+    private VoteOutboxGateway voteOutboxGateway;
+
+    private MockAdminClient admin;
+    private VoteEventBacklog backlog;
+    private UUID agendaId;
+
+    @BeforeEach
+    void setUp() {
+        Node broker = new Node(0, "localhost", 9092);
+        admin = new MockAdminClient(List.of(broker), broker);
+        List<TopicPartitionInfo> partitions = new ArrayList<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(new TopicPartitionInfo(i, broker, List.of(broker), List.of(broker)));
+        }
+        admin.addTopic(false, KafkaTopicConfig.VOTE_EVENTS_TOPIC, partitions, Map.of());
+        // Uma fatia só: a agenda inteira cai em uma partição
+        backlog = new VoteEventBacklog(voteOutboxGateway, new VoteEventSharding(1), () -> admin, Duration.ofSeconds(1));
+        agendaId = UUID.randomUUID();
+    }
+
+    private void offsets(long end, long committed) {
+        Map<TopicPartition, Long> ends = new HashMap<>();
+        Map<TopicPartition, Long> commits = new HashMap<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            TopicPartition partition = new TopicPartition(KafkaTopicConfig.VOTE_EVENTS_TOPIC, i);
+            ends.put(partition, end);
+            commits.put(partition, committed);
+        }
+        admin.updateEndOffsets(ends);
+        admin.updateConsumerGroupOffsets(commits);
+    }
+
+    @Test
+    @DisplayName("Should not be drained while the agenda still has votes in the outbox")
+    void shouldWaitForOutbox() {
+        when(voteOutboxGateway.existsPendingByAgendaId(agendaId)).thenReturn(true);
+        offsets(10, 10);
+
+        assertFalse(backlog.isDrained(agendaId));
+    }
+
+    @Test
+    @DisplayName("Should be drained only once the consumer group committed up to the end of the agenda's partitions")
+    void shouldWaitForConsumerLag() {
+        when(voteOutboxGateway.existsPendingByAgendaId(agendaId)).thenReturn(false);
+
+        offsets(10, 7);
+        assertFalse(backlog.isDrained(agendaId));
+
+        offsets(10, 10);
+        assertTrue(backlog.isDrained(agendaId));
+    }
+
+    @Test
+    @DisplayName("Should map the agenda keys to the partitions chosen by the default partitioner")
+    void shouldMapKeysToPartitions() {
+        VoteEventBacklog sharded = new VoteEventBacklog(voteOutboxGateway, new VoteEventSharding(16), () -> admin,
+            Duration.ofSeconds(1));
+
+        Set<Integer> single = backlog.partitionsOf(agendaId, PARTITIONS);
+        Set<Integer> spread = sharded.partitionsOf(agendaId, PARTITIONS);
+
+        assertEquals(1, single.size());
+        assertTrue(spread.size() > 1);
+        assertTrue(spread.stream().allMatch(partition -> partition >= 0 && partition < PARTITIONS));
+    }
+
+    @Test
+    @DisplayName("Should only check the outbox when Kafka is not configured")
+    void shouldOnlyCheckOutboxWithoutKafka() {
+        Supplier<Admin> noKafka = null;
+        VoteEventBacklog withoutKafka = new VoteEventBacklog(voteOutboxGateway, new VoteEventSharding(1), noKafka,
+            Duration.ofSeconds(1));
+        when(voteOutboxGateway.existsPendingByAgendaId(agendaId)).thenReturn(false);
+
+        assertTrue(withoutKafka.isDrained(agendaId));
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.assembleia.assembleia.infra.messaging.consumers;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteProcessingStatus;
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.adapters.gateways.VoteGateway;
+import br.com.assembleia.assembleia.infra.cache.AgendaNearCache;
+import br.com.assembleia.assembleia.infra.cache.AgendaSnapshot;
+import br.com.assembleia.assembleia.infra.cache.PendingVoteRegistry;
+import br.com.assembleia.assembleia.infra.cache.VoteStatusStore;
+import br.com.assembleia.assembleia.infra.db.entities.Agenda;
+import br.com.assembleia.assembleia.infra.db.entities.Session;
+import br.com.assembleia.assembleia.infra.db.entities.Vote;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.redis.RedisVoteCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VoteEventConsumer Batch Tests")
+class VoteEventConsumerTest {
+
+    @Mock
+    private VoteGateway voteGateway;
+
+    @Mock
+    private AgendaNearCache agendaNearCache;
+
+    @Mock
+    private RedisVoteCounter redisVoteCounter;
+
+    @Mock
+    private ObjectProvider<KafkaListenerEndpointRegistry> registryProvider;
+
+    @Mock
+    private ObjectProvider<TaskScheduler> taskSchedulerProvider;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private VoteStatusStore voteStatusStore;
+    private PendingVoteRegistry pendingVoteRegistry;
+    private VoteEventConsumer consumer;
+    private Agenda agenda;
+
+    @BeforeEach
+    void setUp() {
+        voteStatusStore = new VoteStatusStore(Duration.ofMinutes(15), 100);
+        pendingVoteRegistry = new PendingVoteRegistry(Duration.ofMinutes(2), 100);
+        consumer = new VoteEventConsumer(voteGateway, agendaNearCache, redisVoteCounter, voteStatusStore,
+            pendingVoteRegistry, registryProvider, taskSchedulerProvider, Duration.ofSeconds(2), Duration.ofSeconds(5));
+
+        LocalDateTime now = LocalDateTime.now();
+        Session session = new Session(now.minusHours(1), now.plusHours(1));
+        session.setId(UUID.randomUUID());
+        agenda = new Agenda("Agenda", "Description", session);
+        agenda.setId(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Should persist a whole batch with a single insert and a single ack")
+    @SuppressWarnings("unchecked")
+    void shouldPersistBatchWithSingleInsertAndAck() {
+        var first = event(agenda.getId(), 11144477735L, VoteStatus.YES);
+        var duplicate = event(agenda.getId(), 11144477735L, VoteStatus.NO);
+        var second = event(agenda.getId(), 8223861941L, VoteStatus.NO);
+        when(agendaNearCache.find(agenda.getId())).thenReturn(Optional.of(AgendaSnapshot.of(agenda)));
+        when(voteGateway.saveAllIgnoringDuplicates(any())).thenReturn(Set.of(first.voteId(), second.voteId()));
+        pendingVoteRegistry.claim(agenda.getId(), 11144477735L);
+        pendingVoteRegistry.claim(agenda.getId(), 8223861941L);
+
+        consumer.consumeVoteRegisteredEvents(List.of(first, duplicate, second), acknowledgment);
+
+        ArgumentCaptor<List<Vote>> captor = ArgumentCaptor.forClass(List.class);
+        verify(voteGateway, times(1)).saveAllIgnoringDuplicates(captor.capture());
+        List<Vote> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals(first.voteId(), saved.get(0).getId());
+        assertEquals(VoteStatus.YES, saved.get(0).getVote());
+        assertEquals(second.voteId(), saved.get(1).getId());
+        assertEquals(agenda.getId(), saved.get(0).getAgenda().getId());
+        verify(agendaNearCache, times(1)).find(agenda.getId());
+        verify(acknowledgment, times(1)).acknowledge();
+
+        ArgumentCaptor<Map<UUID, long[]>> counts = ArgumentCaptor.forClass(Map.class);
+        verify(redisVoteCounter).increment(counts.capture());
+        assertArrayEquals(new long[] {1, 1}, counts.getValue().get(agenda.getId()));
+
+        assertEquals(Optional.of(VoteProcessingStatus.PERSISTED), voteStatusStore.find(first.voteId()));
+        assertEquals(Optional.of(VoteProcessingStatus.PERSISTED), voteStatusStore.find(second.voteId()));
+        assertEquals(Optional.of(VoteProcessingStatus.REJECTED), voteStatusStore.find(duplicate.voteId()));
+        assertEquals(0, pendingVoteRegistry.size());
+    }
+
+    @Test
+    @DisplayName("Should mark a redelivered vote as persisted and only a second vote of the participant as rejected")
+    void shouldTellRedeliveredVotesFromSecondVotes() {
+        var redelivered = event(agenda.getId(), 11144477735L, VoteStatus.YES);
+        var secondVote = event(agenda.getId(), 8223861941L, VoteStatus.NO);
+        when(agendaNearCache.find(agenda.getId())).thenReturn(Optional.of(AgendaSnapshot.of(agenda)));
+        when(voteGateway.saveAllIgnoringDuplicates(any())).thenReturn(Set.of());
+        when(voteGateway.findExistingIds(any())).thenReturn(Set.of(redelivered.voteId()));
+
+        // O reenvio do outbox pode repetir o mesmo evento dentro do lote
+        consumer.consumeVoteRegisteredEvents(List.of(redelivered, redelivered, secondVote), acknowledgment);
+
+        verify(voteGateway).findExistingIds(List.of(redelivered.voteId(), secondVote.voteId()));
+        assertEquals(Optional.of(VoteProcessingStatus.PERSISTED), voteStatusStore.find(redelivered.voteId()));
+        assertEquals(Optional.of(VoteProcessingStatus.REJECTED), voteStatusStore.find(secondVote.voteId()));
+        verifyNoInteractions(redisVoteCounter);
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should skip votes for unknown agendas")
+    void shouldSkipVotesForUnknownAgendas() {
+        var unknown = event(UUID.randomUUID(), 11144477735L, VoteStatus.YES);
+        when(agendaNearCache.find(unknown.agendaId())).thenReturn(Optional.empty());
+
+        consumer.consumeVoteRegisteredEvents(List.of(unknown), acknowledgment);
+
+        verify(voteGateway, never()).saveAllIgnoringDuplicates(any());
+        verify(acknowledgment).acknowledge();
+        assertEquals(Optional.of(VoteProcessingStatus.REJECTED), voteStatusStore.find(unknown.voteId()));
+    }
+
+    @Test
+    @DisplayName("Should nack the batch instead of failing when the database times out")
+    void shouldNackBatchWhenDatabaseTimesOut() {
+        var vote = event(agenda.getId(), 11144477735L, VoteStatus.YES);
+        when(agendaNearCache.find(agenda.getId())).thenReturn(Optional.of(AgendaSnapshot.of(agenda)));
+        when(voteGateway.saveAllIgnoringDuplicates(any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertDoesNotThrow(() -> consumer.consumeVoteRegisteredEvents(List.of(vote), acknowledgment));
+
+        verify(acknowledgment, never()).acknowledge();
+        verify(acknowledgment).nack(0, Duration.ofSeconds(5));
+        verifyNoInteractions(redisVoteCounter);
+    }
+
+    private static VoteRegisteredEventDTO event(UUID agendaId, long cpf, VoteStatus vote) {
+        return VoteRegisteredEventDTO.from(UUID.randomUUID(), agendaId, cpf, vote, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.assembleia.assembleia.infra.messaging.producers;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.infra.messaging.config.KafkaTopicConfig;
+import br.com.assembleia.assembleia.infra.messaging.config.VoteEventSharding;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AssembleiaEventProducer Tests")
+class AssembleiaEventProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private AssembleiaEventProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        producer = new AssembleiaEventProducer(kafkaTemplate, Runnable::run, new VoteEventSharding(16));
+    }
+
+    private static List<VoteRegisteredEventDTO> events(int count) {
+        UUID agendaId = UUID.randomUUID();
+        return IntStream.range(0, count)
+            .mapToObj(i -> VoteRegisteredEventDTO.from(UUID.randomUUID(), agendaId, 10000000000L + i,
+                VoteStatus.YES, LocalDateTime.now()))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Should stop sending the batch at the first failed send")
+    void shouldStopAtFirstFailedSend() {
+        CompletableFuture<SendResult<String, Object>> sent = CompletableFuture.completedFuture(null);
+        CompletableFuture<SendResult<String, Object>> failed =
+            CompletableFuture.failedFuture(new TimeoutException("metadata not available after max.block.ms"));
+        when(kafkaTemplate.send(eq(KafkaTopicConfig.VOTE_EVENTS_TOPIC), anyString(), any()))
+            .thenReturn(sent, failed, sent);
+
+        CompletableFuture<Void> batch = producer.publishVoteRegisteredEvents(events(5));
+
+        ExecutionException error = assertThrows(ExecutionException.class, batch::get);
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        verify(kafkaTemplate, times(2)).send(eq(KafkaTopicConfig.VOTE_EVENTS_TOPIC), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should complete once every send of the batch is acknowledged")
+    void shouldCompleteWhenAllSendsSucceed() throws Exception {
+        when(kafkaTemplate.send(eq(KafkaTopicConfig.VOTE_EVENTS_TOPIC), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        producer.publishVoteRegisteredEvents(events(3)).get();
+
+        verify(kafkaTemplate, times(3)).send(eq(KafkaTopicConfig.VOTE_EVENTS_TOPIC), anyString(), any());
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.assembleia.assembleia.infra.messaging.serialization;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Vote event serialization Tests")
+class VoteEventSerializationTest {
+
+    private final VoteEventSerializer serializer = new VoteEventSerializer();
+    private final VoteEventDeserializer deserializer = new VoteEventDeserializer();
+
+    @Test
+    @DisplayName("Should round-trip a vote event through the binary format")
+    void shouldRoundTripBinaryEvent() {
+        var event = VoteRegisteredEventDTO.from(UUID.randomUUID(), UUID.randomUUID(), 8223861941L,
+            VoteStatus.NO, LocalDateTime.of(2025, 1, 25, 10, 30, 15, 123_000_000));
+
+        byte[] data = serializer.serialize("vote-events", event);
+
+        assertEquals(VoteEventCodec.ENCODED_SIZE, data.length);
+        assertEquals(VoteEventCodec.VERSION, data[0]);
+        assertEquals(event, deserializer.deserialize("vote-events", data));
+    }
+
+    @Test
+    @DisplayName("Should keep a missing vote ID as null")
+    void shouldKeepMissingVoteIdAsNull() {
+        var event = VoteRegisteredEventDTO.from(null, UUID.randomUUID(), 11144477735L,
+            VoteStatus.YES, LocalDateTime.of(2025, 1, 25, 10, 30));
+
+        var decoded = deserializer.deserialize("vote-events", serializer.serialize("vote-events", event));
+
+        assertNull(decoded.voteId());
+        assertEquals(event.agendaId(), decoded.agendaId());
+    }
+
+    @Test
+    @DisplayName("Should still read events published as JSON")
+    void shouldReadLegacyJsonEvents() throws Exception {
+        var event = VoteRegisteredEventDTO.from(UUID.randomUUID(), UUID.randomUUID(), 8223861941L,
+            VoteStatus.YES, LocalDateTime.of(2025, 1, 25, 10, 30));
+        byte[] json = JsonMapper.builder().findAndAddModules().build().writeValueAsBytes(event);
+
+        assertEquals(event, deserializer.deserialize("vote-events", json));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown schema versions")
+    void shouldRejectUnknownVersions() {
+        byte[] data = new byte[VoteEventCodec.ENCODED_SIZE];
+        data[0] = 2;
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("vote-events", data));
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.assembleia.assembleia.infra.messaging.streams;
+
+import br.com.assembleia.assembleia.adapters.enums.VoteStatus;
+import br.com.assembleia.assembleia.infra.messaging.config.KafkaTopicConfig;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VoteRegisteredEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.dtos.VotingResultUpdatedEventDTO;
+import br.com.assembleia.assembleia.infra.messaging.serialization.VoteEventSerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Voting results topology Tests")
+class VotingResultsTopologyTest {
+
+    private static final Duration EMIT_INTERVAL = Duration.ofMillis(500);
+    private static final Duration VOTERS_RETENTION = Duration.ofHours(1);
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, Object> voteEvents;
+    private TestOutputTopic<String, VotingResultUpdatedEventDTO> votingResults;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StreamsBuilder builder = new StreamsBuilder();
+        VotingResultsTopology.build(builder, EMIT_INTERVAL, VOTERS_RETENTION);
+
+        Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "voting-results-test");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        properties.put(StreamsConfig.STATE_DIR_CONFIG, Files.createTempDirectory("voting-results").toString());
+        properties.put(StreamsConfig.PROCESSING_GUARANTEE_CONFIG, StreamsConfig.EXACTLY_ONCE_V2);
+
+        driver = new TopologyTestDriver(builder.build(), properties);
+        voteEvents = driver.createInputTopic(KafkaTopicConfig.VOTE_EVENTS_TOPIC,
+            new StringSerializer(), new VoteEventSerializer());
+        votingResults = driver.createOutputTopic(KafkaTopicConfig.VOTING_RESULTS_TOPIC,
+            new StringDeserializer(), new JsonDeserializer<>(VotingResultUpdatedEventDTO.class, false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("Should publish running YES/NO totals per agenda")
+    void shouldPublishRunningTotalsPerAgenda() {
+        UUID agendaId = UUID.randomUUID();
+        UUID otherAgendaId = UUID.randomUUID();
+
+        vote(agendaId, 11144477735L, VoteStatus.YES);
+        vote(agendaId, 8223861941L, VoteStatus.NO);
+        vote(otherAgendaId, 11144477735L, VoteStatus.NO);
+        emit();
+
+        vote(agendaId, 52998224725L, VoteStatus.YES);
+        emit();
+
+        List<KeyValue<String, VotingResultUpdatedEventDTO>> results = votingResults.readKeyValuesToList();
+        VotingResultUpdatedEventDTO latest = results.stream()
+            .filter(result -> result.key.equals(agendaId.toString()))
+            .reduce((first, second) -> second).orElseThrow().value;
+
+        assertEquals(2, latest.yesVotes());
+        assertEquals(1, latest.noVotes());
+        assertEquals(3, latest.totalVotes());
+        assertEquals("VOTING_RESULT_UPDATED", latest.eventType());
+        assertTrue(results.stream().anyMatch(result -> result.key.equals(otherAgendaId.toString())
+            && result.value.noVotes() == 1 && result.value.yesVotes() == 0));
+    }
+
+    @Test
+    @DisplayName("Should count a redelivered vote only once")
+    void shouldIgnoreDuplicateVotes() {
+        UUID agendaId = UUID.randomUUID();
+
+        vote(agendaId, 11144477735L, VoteStatus.YES);
+        vote(agendaId, 11144477735L, VoteStatus.YES);
+        vote(agendaId, 11144477735L, VoteStatus.NO);
+        emit();
+
+        VotingResultUpdatedEventDTO result = votingResults.readValue();
+        assertEquals(1, result.yesVotes());
+        assertEquals(0, result.noVotes());
+    }
+
+    @Test
+    @DisplayName("Should publish at most one update per interval per agenda")
+    void shouldThrottleUpdatesPerAgenda() {
+        UUID agendaId = UUID.randomUUID();
+
+        for (long cpf = 1; cpf <= 200; cpf++) {
+            vote(agendaId, cpf, cpf % 2 == 0 ? VoteStatus.YES : VoteStatus.NO);
+        }
+        assertTrue(votingResults.isEmpty());
+
+        emit();
+
+        List<VotingResultUpdatedEventDTO> results = votingResults.readValuesToList();
+        assertTrue(results.size() <= 2, "expected at most one update per punctuation, got " + results.size());
+        assertEquals(200, results.get(results.size() - 1).totalVotes());
+
+        driver.advanceWallClockTime(EMIT_INTERVAL);
+        assertTrue(votingResults.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep changed agendas in a state store until their totals are published")
+    void shouldKeepChangedAgendasInStore() {
+        UUID agendaId = UUID.randomUUID();
+        KeyValueStore<String, Long> changed = driver.getKeyValueStore(VotingResultsTopology.CHANGED_STORE);
+
+        vote(agendaId, 11144477735L, VoteStatus.YES);
+        driver.advanceWallClockTime(EMIT_INTERVAL);
+        assertNotNull(changed.get(agendaId.toString()));
+
+        driver.advanceWallClockTime(EMIT_INTERVAL);
+        assertNull(changed.get(agendaId.toString()));
+        assertEquals(1, votingResults.readValue().yesVotes());
+    }
+
+    @Test
+    @DisplayName("Should drop voters older than the retention from the dedup store")
+    void shouldExpireOldVoters() {
+        UUID agendaId = UUID.randomUUID();
+        Instant votedAt = Instant.now();
+        WindowStore<String, Integer> voters = driver.getWindowStore(VotingResultsTopology.VOTERS_STORE);
+
+        vote(agendaId, 11144477735L, VoteStatus.YES, votedAt);
+        assertNotNull(voters.fetch(agendaId + "/11144477735", votedAt.toEpochMilli()));
+
+        vote(agendaId, 8223861941L, VoteStatus.NO, votedAt.plus(VOTERS_RETENTION.multipliedBy(3)));
+
+        assertNull(voters.fetch(agendaId + "/11144477735", votedAt.toEpochMilli()));
+        assertNotNull(voters.fetch(agendaId + "/8223861941", votedAt.plus(VOTERS_RETENTION.multipliedBy(3)).toEpochMilli()));
+    }
+
+    private void vote(UUID agendaId, long cpf, VoteStatus vote, Instant timestamp) {
+        voteEvents.pipeInput(agendaId + "/0",
+            VoteRegisteredEventDTO.from(UUID.randomUUID(), agendaId, cpf, vote, LocalDateTime.now()), timestamp);
+    }
+
+    private void vote(UUID agendaId, long cpf, VoteStatus vote) {
+        voteEvents.pipeInput(agendaId + "/0",
+            VoteRegisteredEventDTO.from(UUID.randomUUID(), agendaId, cpf, vote, LocalDateTime.now()));
+    }
+
+    /**
+     * Duas pontuações: a primeira repassa as parciais, a segunda publica os totais
+     */
+    private void emit() {
+        driver.advanceWallClockTime(EMIT_INTERVAL);
+        driver.advanceWallClockTime(EMIT_INTERVAL);
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.assembleia.assembleia.infra.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LocalRateLimiter Tests")
+class LocalRateLimiterTest {
+
+    private static BucketConfiguration perPeriod(long capacity, Duration period) {
+        return BucketConfiguration.builder()
+            .addLimit(limit -> limit.capacity(capacity).refillGreedy(capacity, period))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should reject once the bucket of a key is empty")
+    void shouldRejectWhenBucketIsEmpty() {
+        LocalRateLimiter limiter = new LocalRateLimiter(1000);
+        BucketConfiguration configuration = perPeriod(2, Duration.ofMinutes(1));
+
+        assertTrue(limiter.tryConsume("api-ip:10.0.0.1", configuration).isConsumed());
+        assertTrue(limiter.tryConsume("api-ip:10.0.0.1", configuration).isConsumed());
+        assertFalse(limiter.tryConsume("api-ip:10.0.0.1", configuration).isConsumed());
+        assertTrue(limiter.tryConsume("api-ip:10.0.0.2", configuration).isConsumed());
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured size under a scan of distinct keys")
+    void shouldBoundSizeUnderScan() {
+        LocalRateLimiter limiter = new LocalRateLimiter(640);
+        BucketConfiguration configuration = perPeriod(10, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 100_000; i++) {
+            limiter.tryConsume("api-ip:10.0." + (i >> 8) + "." + (i & 255), configuration);
+        }
+
+        assertTrue(limiter.size() <= 640, "size was " + limiter.size());
+    }
+
+    @Test
+    @DisplayName("Should evict buckets idle for longer than a full refill")
+    void shouldEvictIdleBuckets() throws InterruptedException {
+        LocalRateLimiter limiter = new LocalRateLimiter(64_000);
+        BucketConfiguration shortPeriod = perPeriod(1, Duration.ofMillis(20));
+        BucketConfiguration longPeriod = perPeriod(10, Duration.ofMinutes(1));
+
+        limiter.tryConsume("vote-write-cpf:12345678909", shortPeriod);
+        Thread.sleep(50);
+        for (int i = 0; i < 5000; i++) {
+            limiter.tryConsume("api-ip:10.0." + (i >> 8) + "." + (i & 255), longPeriod);
+        }
+
+        assertEquals(5000, limiter.size());
+    }
+}
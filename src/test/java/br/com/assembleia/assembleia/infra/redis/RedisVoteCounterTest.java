@@ -0,0 +1,148 @@
+package br.com.assembleia.assembleia.infra.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Os scripts Lua são executados por um Redis em memória que reproduz a mesma lógica em Java, para
+ * exercitar a intercalação entre incrementos e seed sem um servidor Redis
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisVoteCounter Tests")
+class RedisVoteCounterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final Map<String, Map<String, Long>> redis = new HashMap<>();
+    private RedisVoteCounter counter;
+    private UUID agendaId;
+
+    @BeforeEach
+    void setUp() {
+        counter = new RedisVoteCounter(redisTemplate, true, Duration.ofMinutes(10), Duration.ofSeconds(5));
+        agendaId = UUID.randomUUID();
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenAnswer(invocation -> run(invocation.getArgument(0), invocation.getArgument(1),
+                extraArguments(invocation.getRawArguments())));
+        lenient().doReturn(hashOperations).when(redisTemplate).opsForHash();
+        lenient().when(hashOperations.multiGet(anyString(), anyList())).thenAnswer(invocation -> {
+            Map<String, Long> hash = redis.get(invocation.<String>getArgument(0));
+            List<Object> values = new ArrayList<>();
+            for (Object field : invocation.<List<?>>getArgument(1)) {
+                values.add(hash == null ? null : String.valueOf(hash.get(field)));
+            }
+            return values;
+        });
+    }
+
+    @Test
+    @DisplayName("Should merge an increment that arrives between the database read and the seed")
+    void shouldMergeIncrementBetweenReadAndSeed() {
+        counter.beginSeed(agendaId);
+        long yesInDatabase = 5;
+        long noInDatabase = 2;
+        counter.increment(Map.of(agendaId, new long[] {1, 0}));
+        counter.seed(agendaId, yesInDatabase, noInDatabase);
+
+        assertArrayEquals(new long[] {6, 2}, counter.find(agendaId).orElseThrow());
+        assertEquals(1, redis.size());
+    }
+
+    @Test
+    @DisplayName("Should drop increments while no seed is in progress and apply them once seeded")
+    void shouldIgnoreIncrementsWithoutKey() {
+        counter.increment(Map.of(agendaId, new long[] {1, 0}));
+        assertTrue(counter.find(agendaId).isEmpty());
+
+        counter.beginSeed(agendaId);
+        counter.seed(agendaId, 1, 0);
+        counter.increment(Map.of(agendaId, new long[] {0, 3}));
+
+        assertArrayEquals(new long[] {1, 3}, counter.find(agendaId).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should seed only once when two readers race for an absent key")
+    void shouldSeedOnceForConcurrentReaders() {
+        counter.beginSeed(agendaId);
+        counter.beginSeed(agendaId);
+        counter.increment(Map.of(agendaId, new long[] {0, 1}));
+        counter.seed(agendaId, 4, 4);
+        counter.seed(agendaId, 3, 4);
+
+        assertArrayEquals(new long[] {4, 5}, counter.find(agendaId).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should not seed without a pending key")
+    void shouldNotSeedWithoutPendingKey() {
+        counter.seed(agendaId, 4, 4);
+
+        assertTrue(counter.find(agendaId).isEmpty());
+    }
+
+    private static Object[] extraArguments(Object[] raw) {
+        Object[] arguments = new Object[raw.length - 2];
+        System.arraycopy(raw, 2, arguments, 0, arguments.length);
+        if (arguments.length == 1 && arguments[0] instanceof Object[] varargs) {
+            return varargs;
+        }
+        return arguments;
+    }
+
+    private Long run(RedisScript<?> script, List<String> keys, Object[] args) {
+        String key = keys.get(0);
+        String pending = keys.get(1);
+        if (script == RedisVoteCounter.INCREMENT_IF_PRESENT) {
+            String target = redis.containsKey(key) ? key : redis.containsKey(pending) ? pending : null;
+            if (target == null) {
+                return 0L;
+            }
+            redis.get(target).merge("yes", Long.parseLong((String) args[0]), Long::sum);
+            redis.get(target).merge("no", Long.parseLong((String) args[1]), Long::sum);
+            return 1L;
+        }
+        if (script == RedisVoteCounter.BEGIN_SEED) {
+            if (redis.containsKey(key) || redis.containsKey(pending)) {
+                return 0L;
+            }
+            redis.put(pending, new HashMap<>(Map.of("yes", 0L, "no", 0L)));
+            return 1L;
+        }
+        if (script == RedisVoteCounter.SEED_IF_ABSENT) {
+            if (redis.containsKey(key) || !redis.containsKey(pending)) {
+                return 0L;
+            }
+            Map<String, Long> queued = redis.remove(pending);
+            redis.put(key, new HashMap<>(Map.of(
+                "yes", Long.parseLong((String) args[0]) + queued.get("yes"),
+                "no", Long.parseLong((String) args[1]) + queued.get("no"))));
+            return 1L;
+        }
+        throw new IllegalArgumentException("Unexpected script");
+    }
+}
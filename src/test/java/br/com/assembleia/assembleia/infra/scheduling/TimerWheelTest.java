@@ -0,0 +1,52 @@
+package br.com.assembleia.assembleia.infra.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimerWheel Tests")
+class TimerWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should fire each deadline once its tick has passed")
+    void shouldFireDeadlinesInTheirTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofSeconds(1), 8, START);
+        wheel.schedule("open", START + 2_500);
+        wheel.schedule("close", START + 4_000);
+
+        assertEquals(List.of(), wheel.advance(START + 2_000));
+        assertEquals(List.of("open"), wheel.advance(START + 3_000));
+        assertEquals(List.of("close"), wheel.advance(START + 4_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should keep deadlines several rounds ahead in the same slot")
+    void shouldKeepDeadlinesOfLaterRounds() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofSeconds(1), 8, START);
+        wheel.schedule("this-round", START + 3_000);
+        wheel.schedule("two-rounds-later", START + 19_000);
+
+        assertEquals(List.of("this-round"), wheel.advance(START + 10_000));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(START + 18_000));
+        assertEquals(List.of("two-rounds-later"), wheel.advance(START + 19_000));
+    }
+
+    @Test
+    @DisplayName("Should fire past deadlines on the next advance and catch up after a long pause")
+    void shouldFirePastDeadlinesAndCatchUp() {
+        TimerWheel<String> wheel = new TimerWheel<>(Duration.ofSeconds(1), 8, START);
+        wheel.schedule("past", START - 60_000);
+        wheel.schedule("later", START + 30_000);
+
+        assertEquals(List.of("past"), wheel.advance(START + 1_000));
+        assertEquals(List.of("later"), wheel.advance(START + 3_600_000));
+    }
+}